@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+#
+# Build an AppCDS (class-data sharing) archive for the fast-startup jar.
+#
+# Usage (from backend/):
+#   mvn -Pfast-startup package
+#   scripts/build-cds-archive.sh [jar] [out-dir]
+#
+# The training run starts the Spring context once and exits as soon as it is refreshed, so it
+# needs the same SPRING_DATASOURCE_* environment as a normal start (run it on the instance, e.g.
+# from an Elastic Beanstalk predeploy hook). Start the app afterwards with:
+#   java -XX:SharedArchiveFile=<out-dir>/application.jsa -Dspring.aot.enabled=true \
+#        -jar <out-dir>/backend-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod,fast
+set -euo pipefail
+
+JAR="${1:-target/backend-0.0.1-SNAPSHOT.jar}"
+OUT="${2:-target/cds}"
+PROFILES="${SPRING_PROFILES_ACTIVE:-prod,fast}"
+
+# CDS needs a stable classpath of plain jars, so extract the Boot fat jar first
+rm -rf "$OUT"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT"
+
+# Training run: load everything a real start loads, then dump the archive on exit
+java \
+  -XX:ArchiveClassesAtExit="$OUT/application.jsa" \
+  -Dspring.aot.enabled=true \
+  -Dspring.context.exit=onRefresh \
+  -jar "$OUT/$(basename "$JAR")" \
+  --spring.profiles.active="$PROFILES"
+
+echo "CDS archive written to $OUT/application.jsa"
@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: time-to-first-request and RSS for the default and optimized modes.
+#
+# Usage (from backend/, with SPRING_DATASOURCE_* exported):
+#   mvn -Pfast-startup package
+#   scripts/build-cds-archive.sh
+#   scripts/startup-benchmark.sh [runs]
+#
+# Modes:
+#   default   - plain fat jar, prod profile (what Elastic Beanstalk runs today)
+#   optimized - extracted jar + AppCDS archive + AOT + prod,fast profiles
+#
+# "Time to first request" is measured from process launch until GET /api/health answers 200.
+# RSS is sampled right after that first successful request.
+# Results are appended to target/startup-benchmark.csv.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-5055}"
+JAR="${JAR:-target/backend-0.0.1-SNAPSHOT.jar}"
+CDS_DIR="${CDS_DIR:-target/cds}"
+CSV="target/startup-benchmark.csv"
+
+now_ms() { date +%s%3N; }
+
+rss_kb() {
+  if [[ -r "/proc/$1/status" ]]; then
+    awk '/VmRSS/ {print $2}' "/proc/$1/status"
+  else
+    ps -o rss= -p "$1" | tr -d ' '
+  fi
+}
+
+run_once() {
+  local mode="$1" run="$2"
+  shift 2
+
+  local start pid elapsed rss
+  start=$(now_ms)
+  "$@" --server.port="$PORT" > "target/startup-$mode-$run.log" 2>&1 &
+  pid=$!
+
+  until curl -fs "http://localhost:$PORT/api/health" > /dev/null 2>&1; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "$mode run $run: app exited early, see target/startup-$mode-$run.log" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+
+  elapsed=$(( $(now_ms) - start ))
+  rss=$(rss_kb "$pid")
+  kill "$pid" && wait "$pid" 2> /dev/null || true
+
+  echo "$mode,$run,$elapsed,$rss" >> "$CSV"
+  printf '%-9s run %d: first request after %5d ms, RSS %7d KB\n' "$mode" "$run" "$elapsed" "$rss"
+}
+
+[[ -f "$CSV" ]] || echo "mode,run,time_to_first_request_ms,rss_kb" > "$CSV"
+
+for run in $(seq 1 "$RUNS"); do
+  run_once default "$run" \
+    java -jar "$JAR" --spring.profiles.active=prod
+  run_once optimized "$run" \
+    java -XX:SharedArchiveFile="$CDS_DIR/application.jsa" -Dspring.aot.enabled=true \
+      -jar "$CDS_DIR/$(basename "$JAR")" --spring.profiles.active=prod,fast
+done
+
+echo "Results appended to $CSV"
@@ -0,0 +1,17 @@
+package org.example.backend.activity;
+
+import java.time.Instant;
+import org.example.backend.model.PetAction;
+
+/**
+ * One "user did something to a pet" entry of the activity feed.
+ *
+ * @param id database id ({@code 0} until persisted)
+ */
+public record ActivityEvent(
+        long id, long userId, long petId, String petName, PetAction action, Instant occurredAt) {
+
+    ActivityEvent withId(long id) {
+        return new ActivityEvent(id, userId, petId, petName, action, occurredAt);
+    }
+}
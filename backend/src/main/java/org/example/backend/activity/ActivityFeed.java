@@ -0,0 +1,324 @@
+package org.example.backend.activity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import javax.sql.DataSource;
+import org.example.backend.changelog.ChangeListener;
+import org.example.backend.changelog.ChangeLog;
+import org.example.backend.model.PetAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * Asynchronous "recent activity" feed.
+ *
+ * <p>Flow:
+ * <ul>
+ *   <li>{@link #publish} (request threads, after the action committed) only offers the event to an
+ *       {@link MpscRingBuffer}: no I/O, no locks, never blocks.</li>
+ *   <li>One consumer thread drains the buffer and batch-inserts into {@code pet_activity}, then
+ *       prepends the new events to the per-user recent lists it has cached.</li>
+ *   <li>{@link #recent} serves {@code GET /api/users/{id}/activity} from that cache, loading a user
+ *       from the table on first access and again once the entry is older than {@code cacheTtl}.
+ *       The TTL bounds how long events written by other instances (or missed while a load was in
+ *       flight) stay invisible here.</li>
+ *   <li>Registered as a {@link ChangeListener}: a change to a user drops their cached list.</li>
+ *   <li>{@link #deleteUser} also makes the consumer skip that user's events still in the
+ *       buffer.</li>
+ * </ul>
+ *
+ * <p>Overflow: when the buffer is full the event is dropped and counted
+ * ({@code pixelpets.activity.dropped}); the feed is best-effort, the action itself is unaffected.
+ *
+ * <p>Shutdown: stopped after the web server (late lifecycle phase), so in-flight requests can
+ * still publish; the consumer then drains everything left before the datasource closes.
+ */
+public class ActivityFeed implements SmartLifecycle, ChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityFeed.class);
+
+    private static final String INSERT =
+            "INSERT INTO pet_activity (user_id, pet_id, pet_name, action, occurred_at)"
+                    + " VALUES (?, ?, ?, ?, ?)";
+
+    /** A user's cached recent events, with the {@code nanoTime} they were loaded at. */
+    private record Cached(List<ActivityEvent> events, long loadedAtNanos) {
+
+        Cached withEvents(List<ActivityEvent> updated) {
+            return new Cached(updated, loadedAtNanos);
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+    private final Clock clock;
+    private final MpscRingBuffer<ActivityEvent> buffer;
+    private final int batchSize;
+    private final int recentPerUser;
+    private final int maxCachedUsers;
+    private final long cacheTtlNanos;
+    private final ConcurrentMap<Long, Cached> recentByUser = new ConcurrentHashMap<>();
+
+    /**
+     * Recently deleted users (id → deleted at, nanoTime), whose queued events are skipped; kept for
+     * one {@code cacheTtl}, far longer than an event stays in the buffer.
+     */
+    private final ConcurrentMap<Long, Long> deletedUsers = new ConcurrentHashMap<>();
+    private final Counter published;
+    private final Counter dropped;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread consumer;
+
+    /**
+     * @param dataSource database holding {@code pet_activity}
+     * @param registry meter registry for the published/dropped counts
+     * @param clock source of event timestamps
+     * @param capacity ring buffer capacity
+     * @param batchSize most events per insert batch
+     * @param recentPerUser events kept per user
+     * @param maxCachedUsers most users cached
+     * @param cacheTtl how long a user's cached list is served before it is reloaded
+     */
+    public ActivityFeed(
+            DataSource dataSource,
+            MeterRegistry registry,
+            Clock clock,
+            int capacity,
+            int batchSize,
+            int recentPerUser,
+            int maxCachedUsers,
+            Duration cacheTtl) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.clock = clock;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.recentPerUser = recentPerUser;
+        this.maxCachedUsers = maxCachedUsers;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        this.published = registry.counter("pixelpets.activity.published");
+        this.dropped = registry.counter("pixelpets.activity.dropped");
+        registry.gauge("pixelpets.activity.buffered", buffer, MpscRingBuffer::size);
+    }
+
+    // ===== Producers =====
+
+    /**
+     * Queue an activity event (any thread, non-blocking).
+     *
+     * @return {@code false} if it was dropped (buffer full or feed stopped)
+     */
+    public boolean publish(long userId, long petId, String petName, PetAction action) {
+        ActivityEvent event = new ActivityEvent(0, userId, petId, petName, action, clock.instant());
+        if (accepting && buffer.offer(event)) {
+            published.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    // ===== Reads =====
+
+    /** @return the user's most recent events, newest first */
+    public List<ActivityEvent> recent(long userId) {
+        long now = System.nanoTime();
+        Cached cached = recentByUser.get(userId);
+        if (cached != null && !expired(cached, now)) {
+            return cached.events();
+        }
+        // Load outside the map: a slow query must not block the consumer or other users' reads
+        Cached loaded = new Cached(load(userId), now);
+        Cached result =
+                recentByUser.compute(
+                        userId,
+                        (user, current) ->
+                                (current != null && !expired(current, now)) ? current : loaded);
+        trimCache(now);
+        return result.events();
+    }
+
+    /**
+     * Delete a user's feed (account deletion). Their events still in the buffer are skipped rather
+     * than written.
+     */
+    public void deleteUser(long userId) {
+        long now = System.nanoTime();
+        deletedUsers.values().removeIf(deletedAt -> now - deletedAt > cacheTtlNanos);
+        deletedUsers.put(userId, now);
+        jdbc.update("DELETE FROM pet_activity WHERE user_id = ?", userId);
+        recentByUser.remove(userId);
+    }
+
+    @Override
+    public void invalidate(ChangeLog.Entity entity, Set<Long> ids) {
+        if (entity == ChangeLog.Entity.USER) {
+            ids.forEach(recentByUser::remove);
+        }
+    }
+
+    private List<ActivityEvent> load(long userId) {
+        return List.copyOf(
+                jdbc.query(
+                        "SELECT id, user_id, pet_id, pet_name, action, occurred_at FROM pet_activity"
+                                + " WHERE user_id = ? ORDER BY id DESC LIMIT ?",
+                        (rs, i) ->
+                                new ActivityEvent(
+                                        rs.getLong("id"),
+                                        rs.getLong("user_id"),
+                                        rs.getLong("pet_id"),
+                                        rs.getString("pet_name"),
+                                        PetAction.fromCode(rs.getInt("action")),
+                                        rs.getTimestamp("occurred_at").toInstant()),
+                        userId,
+                        recentPerUser));
+    }
+
+    private boolean expired(Cached cached, long now) {
+        return now - cached.loadedAtNanos() > cacheTtlNanos;
+    }
+
+    /** Over capacity: drop expired entries first, then arbitrary ones. */
+    private void trimCache(long now) {
+        if (recentByUser.size() <= maxCachedUsers) {
+            return;
+        }
+        recentByUser.values().removeIf(cached -> expired(cached, now));
+        Iterator<Long> it = recentByUser.keySet().iterator();
+        while (recentByUser.size() > maxCachedUsers && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    // ===== Consumer =====
+
+    private void drain() {
+        List<ActivityEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            ActivityEvent event;
+            while (batch.size() < batchSize && (event = buffer.poll()) != null) batch.add(event);
+
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            } else if (!running) {
+                return; // stopped and fully drained
+            } else {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+            }
+        }
+    }
+
+    /** Insert one batch, then fold it into the cached per-user lists. */
+    private void write(List<ActivityEvent> batch) {
+        if (!deletedUsers.isEmpty()) {
+            batch.removeIf(e -> deletedUsers.containsKey(e.userId()));
+            if (batch.isEmpty()) {
+                return;
+            }
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        try {
+            jdbc.batchUpdate(
+                    con -> con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ActivityEvent e = batch.get(i);
+                            ps.setLong(1, e.userId());
+                            ps.setLong(2, e.petId());
+                            ps.setString(3, e.petName());
+                            ps.setInt(4, e.action().code());
+                            ps.setTimestamp(5, Timestamp.from(e.occurredAt()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keys);
+        } catch (RuntimeException e) {
+            log.warn("Dropping {} activity event(s): insert failed", batch.size(), e);
+            dropped.increment(batch.size());
+            return;
+        }
+
+        List<Map<String, Object>> ids = keys.getKeyList();
+        for (int i = 0; i < batch.size(); i++) {
+            long id = ((Number) ids.get(i).values().iterator().next()).longValue();
+            ActivityEvent saved = batch.get(i).withId(id);
+            recentByUser.computeIfPresent(
+                    saved.userId(),
+                    (user, cached) -> cached.withEvents(prepend(saved, cached.events())));
+        }
+    }
+
+    /** New list with {@code event} first (skipped if a concurrent load already has it). */
+    private List<ActivityEvent> prepend(ActivityEvent event, List<ActivityEvent> list) {
+        if (!list.isEmpty() && list.get(0).id() >= event.id()) {
+            return list;
+        }
+        List<ActivityEvent> updated = new ArrayList<>(recentPerUser);
+        updated.add(event);
+        updated.addAll(list.subList(0, Math.min(list.size(), recentPerUser - 1)));
+        return List.copyOf(updated);
+    }
+
+    // ===== Lifecycle =====
+
+    @Override
+    public void start() {
+        running = true;
+        accepting = true;
+        consumer = new Thread(this::drain, "activity-feed-writer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (buffer.size() > 0) {
+            log.warn("Activity feed stopped with {} event(s) unwritten", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Stop after the web server has finished its in-flight requests. */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
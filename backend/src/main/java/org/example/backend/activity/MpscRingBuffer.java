@@ -0,0 +1,87 @@
+package org.example.backend.activity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free multi-producer / single-consumer ring buffer.
+ *
+ * <p>Each slot carries a sequence number (Vyukov's bounded queue): a producer claims the next
+ * position with one CAS on {@code tail}, writes the element, then publishes it by advancing the
+ * slot's sequence; the consumer only reads slots whose sequence says they are published.
+ *
+ * <p>Overflow policy: {@link #offer} never blocks or overwrites. When the buffer is full it returns
+ * {@code false} and the caller drops the element (drop-newest).
+ *
+ * @param <E> element type
+ */
+public class MpscRingBuffer<E> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // written by the consumer thread only
+
+    /** @param capacity slot count, rounded up to a power of two */
+    public MpscRingBuffer(int capacity) {
+        int size = (capacity <= 2) ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+    }
+
+    /**
+     * Publish {@code element} (any thread).
+     *
+     * @return {@code false} if the buffer is full and the element was not added
+     */
+    public boolean offer(E element) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index] = element;
+                    sequences.lazySet(index, pos + 1); // publish
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // slot still holds an unconsumed element: full
+            } else {
+                pos = tail.get(); // another producer took this position
+            }
+        }
+    }
+
+    /**
+     * Take the next published element (consumer thread only).
+     *
+     * @return the element, or {@code null} if none is ready
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = (E) slots[index];
+        slots[index] = null;
+        sequences.lazySet(index, head + slots.length); // free the slot for the next lap
+        head++;
+        return element;
+    }
+
+    /** @return approximate number of elements waiting */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    /** @return slot count */
+    public int capacity() {
+        return slots.length;
+    }
+}
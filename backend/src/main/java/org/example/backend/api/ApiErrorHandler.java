@@ -2,6 +2,9 @@ package org.example.backend.api;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import org.example.backend.resilience.DatabaseUnavailableException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,6 +16,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  * <p>Currently handles:
  * <ul>
  *   <li>Bean Validation failures (@Valid) → 400 + per-field messages</li>
+ *   <li>Calls rejected by the database circuit breaker or bulkhead → 503 + Retry-After</li>
  * </ul>
  */
 @RestControllerAdvice
@@ -48,4 +52,19 @@ public class ApiErrorHandler {
 
         return ResponseEntity.badRequest().body(body);
     }
+
+    /**
+     * Handle calls rejected without touching the database (circuit breaker open or bulkhead full).
+     *
+     * <p>Response: 503 with {@code Retry-After} (whole seconds, at least 1) and
+     * {@code {"message": "..."}}.
+     */
+    @ExceptionHandler(DatabaseUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleDatabaseUnavailable(
+            DatabaseUnavailableException ex) {
+        long retryAfter = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter))
+                .body(Map.of("message", ex.getMessage()));
+    }
 }
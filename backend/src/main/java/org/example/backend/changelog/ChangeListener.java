@@ -0,0 +1,20 @@
+package org.example.backend.changelog;
+
+import java.util.Set;
+
+/**
+ * A local cache that drops entries when another instance (or this one) changes them; register a
+ * bean of this type and {@link ChangeLogPoller} calls it.
+ */
+@FunctionalInterface
+public interface ChangeListener {
+
+    /**
+     * Invalidate cached state for the given entities. Called on the poller thread; may see the
+     * same change more than once, so must be idempotent.
+     *
+     * @param entity kind of entity
+     * @param ids changed entity ids
+     */
+    void invalidate(ChangeLog.Entity entity, Set<Long> ids);
+}
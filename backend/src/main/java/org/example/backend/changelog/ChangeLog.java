@@ -0,0 +1,129 @@
+package org.example.backend.changelog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Write side of the {@code change_log} table: records which pets and users a transaction changed,
+ * so other instances can invalidate their caches (see {@link ChangeLogPoller}).
+ *
+ * <p>Changes are collected per transaction and written in one JDBC batch just before it commits,
+ * on the transaction's own connection (and so on the owner's shard for pet writes): a change is
+ * logged if and only if it commits. Repeated changes to the same entity in one transaction are
+ * logged once. Outside a transaction each call writes immediately.
+ */
+public class ChangeLog {
+
+    /** Kinds of logged entities (stored as {@link #code()}). */
+    public enum Entity {
+        /** A pet's state changed, or it was deleted. */
+        PET(1),
+        /**
+         * A user changed or was deleted, or their set of pets changed (id = user id). Bulk pet
+         * deletes only log the owner, so per-pet caches should drop the owner's pets as well.
+         */
+        USER(2);
+
+        private final int code;
+
+        Entity(int code) {
+            this.code = code;
+        }
+
+        public int code() {
+            return code;
+        }
+
+        public static Entity fromCode(int code) {
+            for (Entity entity : values()) {
+                if (entity.code == code) {
+                    return entity;
+                }
+            }
+            throw new IllegalArgumentException("Unknown change log entity: " + code);
+        }
+    }
+
+    /** One logged change. */
+    public record Change(Entity entity, long id) {}
+
+    private static final String INSERT = "INSERT INTO change_log (entity, entity_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbc;
+
+    /** @param dataSource the application datasource, so writes join the current transaction */
+    public ChangeLog(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    /** Record a change to one entity. */
+    public void record(Entity entity, long id) {
+        record(entity, List.of(id));
+    }
+
+    /** Record a change to several entities of one kind. */
+    public void record(Entity entity, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Change> changes = new ArrayList<>(ids.size());
+            ids.forEach(id -> changes.add(new Change(entity, id)));
+            write(changes);
+            return;
+        }
+        Pending pending = pending();
+        ids.forEach(id -> pending.changes.add(new Change(entity, id)));
+    }
+
+    // ===== Helpers =====
+
+    /** The current transaction's collector, registered on first use. */
+    private Pending pending() {
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof Pending pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        Pending pending = new Pending();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void write(Collection<Change> changes) {
+        jdbc.batchUpdate(
+                INSERT,
+                changes,
+                changes.size(),
+                (ps, change) -> {
+                    ps.setInt(1, change.entity().code());
+                    ps.setLong(2, change.id());
+                });
+    }
+
+    /**
+     * Changes of one transaction, flushed before commit. Suspended and resumed with its
+     * transaction, so an inner {@code REQUIRES_NEW} transaction collects its own.
+     */
+    private final class Pending implements TransactionSynchronization {
+        final Set<Change> changes = new LinkedHashSet<>();
+
+        ChangeLog owner() {
+            return ChangeLog.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!changes.isEmpty()) {
+                write(changes);
+            }
+        }
+    }
+}
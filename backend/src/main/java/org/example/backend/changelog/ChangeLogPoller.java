@@ -0,0 +1,190 @@
+package org.example.backend.changelog;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Read side of the {@code change_log} table: every instance polls each database (primary, then
+ * each shard) for changes above its high-water mark and passes them to the local
+ * {@link ChangeListener}s, one call per entity kind and batch.
+ *
+ * <p>Versions come from {@code AUTO_INCREMENT}, which hands them out at insert time rather than
+ * commit time, so a version can become visible after a higher one was already read. Each poll
+ * therefore also rescans the last {@code settle} of the log (by database time, using
+ * {@code idx_change_log_changed_at}) and delivers rows it has not seen yet. Change log rows are
+ * written just before commit, so {@code settle} only has to cover the commit itself.
+ *
+ * <p>A new poller starts at the current end of the log: a fresh instance has nothing cached.
+ */
+public class ChangeLogPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogPoller.class);
+
+    private static final String SELECT_AFTER =
+            "SELECT version, entity, entity_id FROM change_log WHERE version > ? ORDER BY version"
+                    + " LIMIT ?";
+
+    private static final String SELECT_RECENT =
+            "SELECT version, entity, entity_id FROM change_log"
+                    + " WHERE changed_at >= TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3))"
+                    + " AND version <= ?";
+
+    private static final String PRUNE =
+            "DELETE FROM change_log WHERE changed_at < TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3))";
+
+    /** Polling position in one database. */
+    private static final class Source {
+        final JdbcTemplate jdbc;
+        long highWaterMark = -1; // -1 = not initialized yet
+
+        /** Versions delivered within the settle window (version → delivered at, nanoTime). */
+        final Map<Long, Long> recentlySeen = new LinkedHashMap<>();
+
+        Source(DataSource dataSource) {
+            this.jdbc = new JdbcTemplate(dataSource);
+        }
+    }
+
+    /** A change log row. */
+    private record Row(long version, ChangeLog.Entity entity, long id) {}
+
+    private final Map<String, Source> sources = new LinkedHashMap<>();
+    private final List<ChangeListener> listeners;
+    private final int batchSize;
+    private final Duration settle;
+    private final Duration retention;
+
+    /**
+     * @param dataSources raw datasources to poll, by name (the primary and each shard)
+     * @param listeners local caches to invalidate
+     * @param batchSize most rows read per database and query
+     * @param settle how far back each poll rescans for late commits
+     * @param retention how long rows are kept before {@link #prune}
+     */
+    public ChangeLogPoller(
+            Map<String, DataSource> dataSources,
+            List<ChangeListener> listeners,
+            int batchSize,
+            Duration settle,
+            Duration retention) {
+        dataSources.forEach((name, dataSource) -> sources.put(name, new Source(dataSource)));
+        this.listeners = List.copyOf(listeners);
+        this.batchSize = batchSize;
+        this.settle = settle;
+        this.retention = retention;
+    }
+
+    /**
+     * Deliver every change committed since the previous poll.
+     *
+     * @return number of changes delivered
+     */
+    @Scheduled(fixedDelayString = "${pixelpets.change-log.poll-interval:PT1S}")
+    public synchronized int poll() {
+        int delivered = 0;
+        for (Map.Entry<String, Source> entry : sources.entrySet()) {
+            try {
+                delivered += poll(entry.getValue());
+            } catch (RuntimeException e) {
+                log.warn("Change log poll of {} failed; retrying next round", entry.getKey(), e);
+            }
+        }
+        return delivered;
+    }
+
+    /** Drop rows older than the retention period, in every database. */
+    @Scheduled(
+            initialDelayString = "${pixelpets.change-log.prune-interval:PT10M}",
+            fixedDelayString = "${pixelpets.change-log.prune-interval:PT10M}")
+    public void prune() {
+        for (Source source : sources.values()) {
+            source.jdbc.update(PRUNE, -retention.toSeconds());
+        }
+    }
+
+    // ===== Polling =====
+
+    private int poll(Source source) {
+        if (source.highWaterMark < 0) {
+            Long max = source.jdbc.queryForObject("SELECT MAX(version) FROM change_log", Long.class);
+            source.highWaterMark = (max != null) ? max : 0;
+            return 0;
+        }
+        long now = System.nanoTime();
+        expireSeen(source, now);
+
+        Set<Row> fresh = new LinkedHashSet<>();
+        List<Row> recent =
+                source.jdbc.query(
+                        SELECT_RECENT,
+                        ChangeLogPoller::toRow,
+                        -Math.max(1, settle.toSeconds()),
+                        source.highWaterMark);
+        for (Row row : recent) {
+            if (!source.recentlySeen.containsKey(row.version())) {
+                fresh.add(row); // committed late, below the high-water mark
+            }
+        }
+        List<Row> rows;
+        do {
+            rows =
+                    source.jdbc.query(
+                            SELECT_AFTER, ChangeLogPoller::toRow, source.highWaterMark, batchSize);
+            fresh.addAll(rows);
+            if (!rows.isEmpty()) {
+                source.highWaterMark = rows.get(rows.size() - 1).version();
+            }
+        } while (rows.size() == batchSize);
+
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+        fresh.forEach(row -> source.recentlySeen.put(row.version(), now));
+        dispatch(fresh);
+        return fresh.size();
+    }
+
+    /** Forget delivered versions once they are older than the rescan window. */
+    private void expireSeen(Source source, long now) {
+        long horizon = now - settle.toNanos() * 2; // DB and local clocks drift a little apart
+        Iterator<Long> deliveredAt = source.recentlySeen.values().iterator();
+        while (deliveredAt.hasNext() && deliveredAt.next() < horizon) {
+            deliveredAt.remove();
+        }
+    }
+
+    /** Hand changes to the listeners, grouped by entity kind. */
+    private void dispatch(Set<Row> rows) {
+        Map<ChangeLog.Entity, Set<Long>> byEntity = new EnumMap<>(ChangeLog.Entity.class);
+        for (Row row : rows) {
+            byEntity.computeIfAbsent(row.entity(), e -> new LinkedHashSet<>()).add(row.id());
+        }
+        byEntity.forEach(
+                (entity, ids) -> {
+                    for (ChangeListener listener : listeners) {
+                        try {
+                            listener.invalidate(entity, ids);
+                        } catch (RuntimeException e) {
+                            log.warn("Change listener {} failed", listener, e);
+                        }
+                    }
+                });
+    }
+
+    private static Row toRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Row(rs.getLong(1), ChangeLog.Entity.fromCode(rs.getInt(2)), rs.getLong(3));
+    }
+}
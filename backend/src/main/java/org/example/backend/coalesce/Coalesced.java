@@ -0,0 +1,23 @@
+package org.example.backend.coalesce;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read method whose concurrent calls with equal arguments may share one execution
+ * (see {@link CoalescingAspect}).
+ *
+ * <p>Callers of a coalesced method may receive the same result objects, so they must treat them as
+ * read-only.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+
+    /** Name of the single-flight group (also the metrics tag), e.g. {@code "pet"}. */
+    String value();
+}
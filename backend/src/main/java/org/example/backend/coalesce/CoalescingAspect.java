@@ -0,0 +1,46 @@
+package org.example.backend.coalesce;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs {@link Coalesced} methods through a per-name {@link SingleFlight}, keyed by their arguments.
+ *
+ * <p>Ordered ahead of the database guard, shard routing and the transaction advice, so a coalesced
+ * burst takes one bulkhead permit, opens one transaction and costs one round trip. Calls made from
+ * inside an existing transaction are not coalesced: they must see that transaction's own state.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // just inside stale reads
+public class CoalescingAspect {
+
+    private final MeterRegistry registry;
+    private final Map<String, SingleFlight> groups = new ConcurrentHashMap<>();
+
+    public CoalescingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("@annotation(org.example.backend.coalesce.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint pjp) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return pjp.proceed();
+        }
+        Coalesced coalesced =
+                ((MethodSignature) pjp.getSignature()).getMethod().getAnnotation(Coalesced.class);
+        SingleFlight group =
+                groups.computeIfAbsent(coalesced.value(), name -> new SingleFlight(name, registry));
+        List<Object> key = Arrays.asList(pjp.getArgs());
+        return group.run(key, pjp::proceed);
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.backend.coalesce;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collapses concurrent identical loads into one ("single flight").
+ *
+ * <p>The first caller for a key runs the load; callers arriving while it is in flight wait for and
+ * share its result (or exception). Nothing is cached: once the load finishes the key is free again.
+ *
+ * <p>Metrics ({@code name} tag = this group's name):
+ * <ul>
+ *   <li>{@code pixelpets.singleflight.loads}: loads actually executed.</li>
+ *   <li>{@code pixelpets.singleflight.coalesced}: calls served by another caller's load.</li>
+ * </ul>
+ */
+public class SingleFlight {
+
+    /** A load that may throw anything (e.g. {@code ProceedingJoinPoint::proceed}). */
+    @FunctionalInterface
+    public interface Load<T> {
+        T run() throws Throwable;
+    }
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight =
+            new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry registry) {
+        this.loads = registry.counter("pixelpets.singleflight.loads", "name", name);
+        this.coalesced = registry.counter("pixelpets.singleflight.coalesced", "name", name);
+    }
+
+    /** Run {@code load} for {@code key}, or join the run already in flight. */
+    @SuppressWarnings("unchecked")
+    public <T> T run(Object key, Load<T> load) throws Throwable {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalesced.increment();
+            try {
+                return (T) leader.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+
+        loads.increment();
+        try {
+            T result = load.run();
+            mine.complete(result);
+            return result;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+}
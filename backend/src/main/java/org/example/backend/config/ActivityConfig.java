@@ -0,0 +1,45 @@
+package org.example.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.example.backend.activity.ActivityFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Recent-activity feed (see {@link ActivityFeed}); on unless
+ * {@code pixelpets.activity.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(
+        prefix = "pixelpets.activity",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class ActivityConfig {
+
+    @Bean
+    public ActivityFeed activityFeed(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${pixelpets.activity.buffer-capacity:8192}") int capacity,
+            @Value("${pixelpets.activity.batch-size:500}") int batchSize,
+            @Value("${pixelpets.activity.recent-per-user:20}") int recentPerUser,
+            @Value("${pixelpets.activity.max-cached-users:10000}") int maxCachedUsers,
+            @Value("${pixelpets.activity.cache-ttl:PT30S}") Duration cacheTtl) {
+        return new ActivityFeed(
+                dataSource,
+                meterRegistry,
+                clock,
+                capacity,
+                batchSize,
+                recentPerUser,
+                maxCachedUsers,
+                cacheTtl);
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.backend.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import org.example.backend.service.PetArchiver;
+import org.example.backend.service.PetService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Cold archive job for dormant pets ({@code pixelpets.archive.enabled=true}).
+ *
+ * <p>Wiring:
+ * <ul>
+ *   <li>{@link PetArchiver} moves pets not ticked for {@code pixelpets.archive.dormant-after} into
+ *       {@code pets_archive} on a schedule.</li>
+ *   <li>Rehydration follows {@code pixelpets.archive.rehydrate}, which defaults to this switch:
+ *       set it to {@code true} when turning the job off while archived pets remain, so they stay
+ *       reachable.</li>
+ * </ul>
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "pixelpets.archive", name = "enabled", havingValue = "true")
+public class ArchiveConfig {
+
+    @Bean
+    public PetArchiver petArchiver(
+            PetService petService,
+            Clock clock,
+            @Value("${pixelpets.archive.dormant-after:P90D}") Duration dormantAfter,
+            @Value("${pixelpets.archive.batch-size:500}") int batchSize) {
+        return new PetArchiver(petService, clock, dormantAfter, batchSize);
+    }
+}
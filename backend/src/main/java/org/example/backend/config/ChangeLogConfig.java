@@ -0,0 +1,64 @@
+package org.example.backend.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.example.backend.changelog.ChangeListener;
+import org.example.backend.changelog.ChangeLog;
+import org.example.backend.changelog.ChangeLogPoller;
+import org.example.backend.shard.ShardContext;
+import org.example.backend.shard.ShardDataSources;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Cross-instance cache invalidation through the {@code change_log} table; on unless
+ * {@code pixelpets.change-log.enabled=false}.
+ *
+ * <p>Wiring:
+ * <ul>
+ *   <li>{@link ChangeLog} is used by {@code PetService}/{@code UserService} to log changed
+ *       entities in the writing transaction.</li>
+ *   <li>{@link ChangeLogPoller} polls the primary and every shard each
+ *       {@code pixelpets.change-log.poll-interval} and calls the {@link ChangeListener} beans.</li>
+ * </ul>
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(
+        prefix = "pixelpets.change-log",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class ChangeLogConfig {
+
+    @Bean
+    public ChangeLog changeLog(DataSource dataSource) {
+        return new ChangeLog(dataSource);
+    }
+
+    @Bean
+    public ChangeLogPoller changeLogPoller(
+            DataSource dataSource,
+            ObjectProvider<ShardDataSources> shardDataSources,
+            ObjectProvider<ChangeListener> listeners,
+            @Value("${pixelpets.change-log.batch-size:1000}") int batchSize,
+            @Value("${pixelpets.change-log.settle:PT5S}") Duration settle,
+            @Value("${pixelpets.change-log.retention:PT1H}") Duration retention) {
+        Map<String, DataSource> sources = new LinkedHashMap<>();
+        ShardDataSources shards = shardDataSources.getIfAvailable();
+        if (shards != null) {
+            sources.put(ShardContext.PRIMARY, shards.primary());
+            sources.putAll(shards.shards());
+        } else {
+            sources.put(ShardContext.PRIMARY, dataSource); // outside a transaction: the primary
+        }
+        return new ChangeLogPoller(
+                sources, listeners.orderedStream().toList(), batchSize, settle, retention);
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.backend.config;
+
+import java.time.Clock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The application {@link Clock}: every "now" in the pet model (decay ticks, creation stamps,
+ * attention cutoffs) comes from this bean rather than the system time directly.
+ *
+ * <p>Simulation mode replaces it with a faster-running clock (see {@link SimulationConfig}).
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
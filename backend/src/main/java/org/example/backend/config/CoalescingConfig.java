@@ -0,0 +1,27 @@
+package org.example.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.coalesce.CoalescingAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Single-flight coalescing of hot reads ({@code @Coalesced} methods, see {@link CoalescingAspect}).
+ *
+ * <p>On unless {@code pixelpets.single-flight.enabled=false}. Hit/coalesce counters are published
+ * as {@code pixelpets.singleflight.*} under {@code /actuator/metrics}.
+ */
+@Configuration
+@ConditionalOnProperty(
+        prefix = "pixelpets.single-flight",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class CoalescingConfig {
+
+    @Bean
+    public CoalescingAspect coalescingAspect(MeterRegistry meterRegistry) {
+        return new CoalescingAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.example.backend.datasource.DataSourceRole;
+import org.example.backend.datasource.PrimaryPinFilter;
+import org.example.backend.datasource.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Primary/replica datasource routing.
+ *
+ * <p>Only active when {@code pixelpets.datasource.replica.url} is set; otherwise Spring Boot's
+ * single auto-configured datasource is used as before.
+ *
+ * <p>Wiring:
+ * <ul>
+ *   <li>Primary pool: {@code spring.datasource.*} (+ {@code spring.datasource.hikari.*}).</li>
+ *   <li>Replica pool: {@code pixelpets.datasource.replica.*} (+ {@code .hikari.*}).</li>
+ *   <li>Both sit behind {@link ReadWriteRoutingDataSource} wrapped in a
+ *       {@link LazyConnectionDataSourceProxy}, which is the only {@link DataSource} that JPA,
+ *       Flyway and {@code JdbcTemplate} see.</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pixelpets.datasource.replica", name = "url")
+public class DataSourceConfig {
+
+    /** Connection settings for the read replica. */
+    @Bean(defaultCandidate = false)
+    @Qualifier("replica")
+    @ConfigurationProperties("pixelpets.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /** Read-write pool built from the regular {@code spring.datasource.*} settings. */
+    @Bean(defaultCandidate = false)
+    @Qualifier("primary")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /** Read-only pool for replica traffic. */
+    @Bean(defaultCandidate = false)
+    @Qualifier("replica")
+    @ConfigurationProperties("pixelpets.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Qualifier("replica") DataSourceProperties properties) {
+        HikariDataSource replica =
+                properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    /** The application-wide datasource: lazy proxy over the primary/replica router. */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primary") DataSource primary, @Qualifier("replica") DataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(
+                Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /** Scope the read-your-writes pin to a single HTTP request. */
+    @Bean
+    public FilterRegistrationBean<PrimaryPinFilter> primaryPinFilter() {
+        FilterRegistrationBean<PrimaryPinFilter> registration =
+                new FilterRegistrationBean<>(new PrimaryPinFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Set;
+import org.example.backend.service.AttentionRepredictor;
+import org.example.backend.service.PetService;
+import org.example.backend.shard.ShardContext;
+import org.example.backend.shard.ShardDataSources;
+import org.example.backend.tuning.DecayTuningFileWatcher;
+import org.example.backend.tuning.DecayTuningRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Hot-reloadable decay tuning (see {@link DecayTuningRegistry}).
+ *
+ * <p>Wiring:
+ * <ul>
+ *   <li>The registry always exists and starts on the built-in defaults.</li>
+ *   <li>{@code pixelpets.tuning.file} (optional): a properties file of overrides, watched and
+ *       re-applied on change by {@link DecayTuningFileWatcher}. Mount the same file on every
+ *       instance to retune the whole fleet.</li>
+ *   <li>{@code pixelpets.tuning.admin-token} (optional): enables
+ *       {@code PUT /api/admin/decay-tuning} for one-instance changes.</li>
+ *   <li>{@link AttentionRepredictor} re-predicts stored {@code attention_at} values after a
+ *       change (every {@code pixelpets.tuning.repredict-interval}); off with
+ *       {@code pixelpets.tuning.repredict-enabled=false}.</li>
+ * </ul>
+ */
+@Configuration
+@EnableScheduling
+public class DecayTuningConfig {
+
+    @Bean
+    public DecayTuningRegistry decayTuningRegistry(Clock clock, MeterRegistry meterRegistry) {
+        return new DecayTuningRegistry(clock, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "pixelpets.tuning", name = "file")
+    public DecayTuningFileWatcher decayTuningFileWatcher(
+            @Value("${pixelpets.tuning.file}") String file, DecayTuningRegistry decayTuningRegistry)
+            throws IOException {
+        return new DecayTuningFileWatcher(Path.of(file), decayTuningRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "pixelpets.tuning",
+            name = "repredict-enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    public AttentionRepredictor attentionRepredictor(
+            PetService petService,
+            DecayTuningRegistry decayTuningRegistry,
+            ObjectProvider<ShardDataSources> shardDataSources,
+            @Value("${pixelpets.tuning.repredict-batch:500}") int batchSize) {
+        ShardDataSources shards = shardDataSources.getIfAvailable();
+        Set<String> databases = (shards != null) ? shards.names() : Set.of(ShardContext.PRIMARY);
+        return new AttentionRepredictor(petService, decayTuningRegistry, databases, batchSize);
+    }
+}
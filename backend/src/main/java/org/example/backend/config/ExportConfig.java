@@ -0,0 +1,32 @@
+package org.example.backend.config;
+
+import javax.sql.DataSource;
+import org.example.backend.export.PetExporter;
+import org.example.backend.shard.ShardDataSources;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Bulk export of pets for analytics ({@code GET /api/admin/export/pets}).
+ *
+ * <p>{@link PetExporter} reads through the regular datasource (so a read replica is used when
+ * configured) plus every shard when sharding is enabled. {@code pixelpets.export.fetch-size}
+ * defaults to {@link Integer#MIN_VALUE}, MySQL Connector/J's row-by-row streaming mode; other
+ * drivers need a positive value (the test profile sets one for H2).
+ */
+@Configuration
+public class ExportConfig {
+
+    @Bean
+    public PetExporter petExporter(
+            DataSource dataSource,
+            ObjectProvider<ShardDataSources> shardDataSources,
+            PlatformTransactionManager transactionManager,
+            @Value("${pixelpets.export.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize) {
+        return new PetExporter(
+                dataSource, shardDataSources.getIfAvailable(), transactionManager, fetchSize);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.backend.config;
+
+import java.time.Duration;
+import org.example.backend.idempotency.IdempotencyFilter;
+import org.example.backend.idempotency.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@code Idempotency-Key} support for pet action and adopt POSTs (see {@link IdempotencyFilter}).
+ *
+ * <p>Settings:
+ * <ul>
+ *   <li>{@code pixelpets.idempotency.ttl}: how long a stored response is replayed.</li>
+ *   <li>{@code pixelpets.idempotency.max-entries}: store bound; oldest keys are dropped first.</li>
+ *   <li>{@code pixelpets.idempotency.wait-timeout}: how long a duplicate waits for the original
+ *       before getting 409 Conflict.</li>
+ * </ul>
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(
+            @Value("${pixelpets.idempotency.ttl:PT10M}") Duration ttl,
+            @Value("${pixelpets.idempotency.max-entries:10000}") int maxEntries) {
+        return new IdempotencyStore(ttl, maxEntries);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            @Value("${pixelpets.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyStore, waitTimeout));
+        registration.addUrlPatterns("/api/pets/*");
+        return registration;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import javax.sql.DataSource;
+import org.example.backend.service.UserImporter;
+import org.example.backend.shard.ShardDataSources;
+import org.example.backend.shard.ShardDirectory;
+import org.example.backend.tuning.DecayTuningRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Bulk import of users and pets ({@code POST /api/admin/import/users}, see {@link UserImporter}).
+ *
+ * <p>{@code pixelpets.import.hash-threads} bounds the BCrypt pool (default: one per core);
+ * {@code pixelpets.import.batch-size} is the number of lines per chunk, transaction and JDBC batch.
+ */
+@Configuration
+public class ImportConfig {
+
+    @Bean
+    public UserImporter userImporter(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            PasswordEncoder passwordEncoder,
+            ObjectMapper objectMapper,
+            Clock clock,
+            DecayTuningRegistry decayTuningRegistry,
+            ObjectProvider<ShardDataSources> shardDataSources,
+            ObjectProvider<ShardDirectory> shardDirectory,
+            @Value("${pixelpets.import.hash-threads:0}") int hashThreads,
+            @Value("${pixelpets.import.batch-size:500}") int batchSize) {
+        return new UserImporter(
+                dataSource,
+                transactionManager,
+                passwordEncoder,
+                objectMapper,
+                clock,
+                decayTuningRegistry,
+                shardDataSources.getIfAvailable(),
+                shardDirectory.getIfAvailable(),
+                (hashThreads > 0) ? hashThreads : Runtime.getRuntime().availableProcessors(),
+                batchSize);
+    }
+}
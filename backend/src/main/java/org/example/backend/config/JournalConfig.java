@@ -0,0 +1,31 @@
+package org.example.backend.config;
+
+import javax.sql.DataSource;
+import org.example.backend.journal.PetActionJournal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Event-sourced pet actions ({@code pixelpets.journal.enabled=true}).
+ *
+ * <p>Wiring:
+ * <ul>
+ *   <li>{@link PetActionJournal} appends action events in the action's own transaction, through
+ *       the regular datasource, so it follows read/write and shard routing like everything
+ *       else.</li>
+ *   <li>{@link org.example.backend.service.PetJournalCompactor} folds pending events into pet
+ *       snapshots on a schedule.</li>
+ * </ul>
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "pixelpets.journal", name = "enabled", havingValue = "true")
+public class JournalConfig {
+
+    @Bean
+    public PetActionJournal petActionJournal(DataSource dataSource) {
+        return new PetActionJournal(dataSource);
+    }
+}
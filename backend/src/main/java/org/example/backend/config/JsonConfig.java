@@ -0,0 +1,18 @@
+package org.example.backend.config;
+
+import org.example.backend.json.ApiJsonModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Streaming serializers for the API's list-heavy DTOs (see {@link ApiJsonModule}); picked up by
+ * Spring Boot's {@code ObjectMapper}.
+ */
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    public ApiJsonModule apiJsonModule() {
+        return new ApiJsonModule();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.backend.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.example.backend.latency.DbPingProbe;
+import org.example.backend.latency.LatencyInterceptor;
+import org.example.backend.latency.LatencyRecorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Rolling latency histograms and the cached DB ping behind {@code GET /api/health/details}; on
+ * unless {@code pixelpets.latency.enabled=false}.
+ *
+ * <p>Wiring:
+ * <ul>
+ *   <li>{@link LatencyInterceptor} times {@code PetController}, {@code UserController} and
+ *       {@code AuthController} requests into {@link LatencyRecorder}.</li>
+ *   <li>The recorder's slices rotate every {@code pixelpets.latency.slice-interval}; the window is
+ *       {@code slices} intervals.</li>
+ *   <li>{@link DbPingProbe} pings the database at most once per
+ *       {@code pixelpets.latency.db-ping-interval}.</li>
+ * </ul>
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(
+        prefix = "pixelpets.latency",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class LatencyConfig {
+
+    @Bean
+    public LatencyRecorder latencyRecorder(
+            @Value("${pixelpets.latency.slice-interval:PT10S}") Duration sliceInterval,
+            @Value("${pixelpets.latency.slices:6}") int slices) {
+        return new LatencyRecorder(sliceInterval, slices);
+    }
+
+    @Bean
+    public DbPingProbe dbPingProbe(
+            DataSource dataSource,
+            Clock clock,
+            @Value("${pixelpets.latency.db-ping-interval:PT10S}") Duration interval,
+            @Value("${pixelpets.latency.db-ping-timeout:PT2S}") Duration timeout) {
+        return new DbPingProbe(dataSource, clock, interval, timeout);
+    }
+
+    @Bean
+    public WebMvcConfigurer latencyConfigurer(LatencyRecorder latencyRecorder) {
+        LatencyInterceptor interceptor = new LatencyInterceptor(latencyRecorder);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor)
+                        .addPathPatterns("/api/pets/**", "/api/users/**", "/api/auth/**")
+                        .order(Integer.MIN_VALUE); // ahead of rate limiting, so 429s are timed too
+            }
+        };
+    }
+}
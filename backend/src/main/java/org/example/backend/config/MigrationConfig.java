@@ -0,0 +1,18 @@
+package org.example.backend.config;
+
+import org.example.backend.repository.UnmappedSpeciesCallback;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway callbacks for the primary database; Spring Boot hands every {@code Callback} bean to its
+ * Flyway. The shards get the same callbacks in {@link ShardingConfig}.
+ */
+@Configuration
+public class MigrationConfig {
+
+    @Bean
+    public UnmappedSpeciesCallback unmappedSpeciesCallback() {
+        return new UnmappedSpeciesCallback();
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.backend.config;
+
+import org.example.backend.ratelimit.RateLimitInterceptor;
+import org.example.backend.ratelimit.RateLimitProperties;
+import org.example.backend.ratelimit.TokenBucketLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-client / per-pet rate limiting in front of {@code PetController} and
+ * {@code AuthController} (see {@link RateLimitInterceptor}).
+ *
+ * <p>On unless {@code pixelpets.rate-limit.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(
+        prefix = "pixelpets.rate-limit",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    @ConfigurationProperties("pixelpets.rate-limit")
+    public RateLimitProperties rateLimitProperties() {
+        return new RateLimitProperties();
+    }
+
+    @Bean
+    public TokenBucketLimiter tokenBucketLimiter(RateLimitProperties rateLimitProperties) {
+        return new TokenBucketLimiter(rateLimitProperties.getSweepInterval());
+    }
+
+    @Bean
+    public WebMvcConfigurer rateLimitConfigurer(
+            TokenBucketLimiter tokenBucketLimiter, RateLimitProperties rateLimitProperties) {
+        RateLimitInterceptor interceptor =
+                new RateLimitInterceptor(tokenBucketLimiter, rateLimitProperties);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/auth/**", "/api/pets/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.example.backend.resilience.CircuitBreaker;
+import org.example.backend.resilience.DatabaseGuardAspect;
+import org.example.backend.resilience.PetStateCache;
+import org.example.backend.resilience.StaleReadAspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Circuit breaker and bulkhead around database work (see {@link DatabaseGuardAspect}), with
+ * stale pet reads from a local cache while the database is unavailable (see
+ * {@link StaleReadAspect}).
+ *
+ * <p>On unless {@code pixelpets.resilience.enabled=false}. The breaker state and rejection counts
+ * are published as {@code pixelpets.db.*} under {@code /actuator/metrics}.
+ */
+@Configuration
+@ConditionalOnProperty(
+        prefix = "pixelpets.resilience",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class ResilienceConfig {
+
+    @Bean
+    public CircuitBreaker databaseCircuitBreaker(
+            @Value("${pixelpets.resilience.breaker.window-size:50}") int windowSize,
+            @Value("${pixelpets.resilience.breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${pixelpets.resilience.breaker.failure-rate-threshold:0.5}") double failureRate,
+            @Value("${pixelpets.resilience.breaker.open-duration:PT10S}") Duration openDuration,
+            @Value("${pixelpets.resilience.breaker.half-open-calls:5}") int halfOpenCalls) {
+        return new CircuitBreaker(
+                windowSize, minimumCalls, failureRate, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    @Bean
+    public DatabaseGuardAspect databaseGuardAspect(
+            CircuitBreaker databaseCircuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${pixelpets.resilience.bulkhead.max-concurrent:20}") int maxConcurrent,
+            @Value("${pixelpets.resilience.bulkhead.max-wait:PT0.1S}") Duration maxWait,
+            @Value("${pixelpets.resilience.breaker.slow-call-threshold:PT2S}") Duration slowCall) {
+        return new DatabaseGuardAspect(
+                databaseCircuitBreaker, maxConcurrent, maxWait, slowCall, meterRegistry);
+    }
+
+    @Bean
+    public PetStateCache petStateCache(
+            @Value("${pixelpets.resilience.stale-cache.max-pets:10000}") int maxPets) {
+        return new PetStateCache(maxPets);
+    }
+
+    @Bean
+    public StaleReadAspect staleReadAspect(PetStateCache petStateCache, MeterRegistry meterRegistry) {
+        return new StaleReadAspect(petStateCache, meterRegistry);
+    }
+}
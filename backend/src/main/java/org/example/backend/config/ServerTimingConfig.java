@@ -0,0 +1,51 @@
+package org.example.backend.config;
+
+import org.example.backend.timing.ServerTiming;
+import org.example.backend.timing.ServerTimingAspect;
+import org.example.backend.timing.ServerTimingFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-request {@code Server-Timing} breakdown (see {@link ServerTiming}); on unless
+ * {@code pixelpets.server-timing.enabled=false}.
+ *
+ * <p>Wiring:
+ * <ul>
+ *   <li>{@link ServerTimingFilter} times pet, user and auth requests that send
+ *       {@code X-Server-Timing} with an {@code X-Admin-Token} matching
+ *       {@code pixelpets.server-timing.admin-token} (defaulting to
+ *       {@code pixelpets.tuning.admin-token}; unset means no client can ask), or all of them with
+ *       {@code pixelpets.server-timing.always=true} (debugging only: every client sees them).</li>
+ *   <li>{@link ServerTimingAspect} charges service, repository and commit time.</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(
+        prefix = "pixelpets.server-timing",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class ServerTimingConfig {
+
+    @Bean
+    public ServerTimingAspect serverTimingAspect() {
+        return new ServerTimingAspect();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${pixelpets.server-timing.always:false}") boolean always,
+            @Value("${pixelpets.server-timing.admin-token:${pixelpets.tuning.admin-token:}}")
+                    String adminToken) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(always, adminToken));
+        registration.addUrlPatterns("/api/pets/*", "/api/users/*", "/api/auth/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE); // outermost: total covers the whole request
+        return registration;
+    }
+}
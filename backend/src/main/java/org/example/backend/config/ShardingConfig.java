@@ -0,0 +1,149 @@
+package org.example.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.example.backend.repository.UnmappedSpeciesCallback;
+import org.example.backend.shard.ShardContext;
+import org.example.backend.shard.ShardDataSources;
+import org.example.backend.shard.ShardDirectory;
+import org.example.backend.shard.ShardMap;
+import org.example.backend.shard.ShardRebalancer;
+import org.example.backend.shard.ShardRoutingAspect;
+import org.example.backend.shard.ShardRoutingDataSource;
+import org.example.backend.shard.ShardingProperties;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Sharding of pets by owner across several datasources.
+ *
+ * <p>Only active with {@code pixelpets.sharding.enabled=true} (see {@link ShardingProperties}).
+ *
+ * <p>Wiring:
+ * <ul>
+ *   <li>The regular {@code dataSource} bean is wrapped in a {@link ShardRoutingDataSource}
+ *       (behind a {@link LazyConnectionDataSourceProxy}); unbound work still goes to it.</li>
+ *   <li>Each shard gets its own Hikari pool and is migrated from {@code db/shard}.</li>
+ *   <li>{@link ShardRoutingAspect} binds the owner's shard around {@code @ShardRouted} methods.</li>
+ *   <li>{@code pixelpets.sharding.rebalance=true} runs the {@link ShardRebalancer} on startup.</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pixelpets.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /** Settings bound straight from the environment (needed before regular beans exist). */
+    private static ShardingProperties bind(Environment env) {
+        return Binder.get(env)
+                .bind("pixelpets.sharding", ShardingProperties.class)
+                .orElseGet(ShardingProperties::new);
+    }
+
+    /** One migrated Hikari pool per configured shard. */
+    @Bean
+    public static ShardDataSources shardDataSources(Environment env) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        bind(env)
+                .getShards()
+                .forEach(
+                        (name, shard) -> {
+                            HikariDataSource pool =
+                                    DataSourceBuilder.create()
+                                            .type(HikariDataSource.class)
+                                            .url(shard.getUrl())
+                                            .username(shard.getUsername())
+                                            .password(shard.getPassword())
+                                            .driverClassName(shard.getDriverClassName())
+                                            .build();
+                            pool.setPoolName("shard-" + name);
+                            if (shard.getUrl() != null && shard.getUrl().startsWith("jdbc:mysql:")) {
+                                // tick drift is flushed in JDBC batches: one round trip each
+                                pool.addDataSourceProperty("rewriteBatchedStatements", "true");
+                            }
+
+                            Flyway.configure()
+                                    .dataSource(pool)
+                                    .locations("classpath:db/shard")
+                                    .placeholders(Map.of("idOffset", String.valueOf(shard.getIdOffset())))
+                                    .callbacks(new UnmappedSpeciesCallback())
+                                    .load()
+                                    .migrate();
+                            pools.put(name, pool);
+                        });
+        return new ShardDataSources(pools);
+    }
+
+    /** Wrap the regular datasource so JPA transactions follow {@link ShardContext}. */
+    @Bean
+    public static BeanPostProcessor shardRoutingPostProcessor(
+            ObjectProvider<ShardDataSources> shardDataSources) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                    return bean;
+                }
+                ShardDataSources shards = shardDataSources.getObject();
+                shards.setPrimary(primary);
+
+                Map<Object, Object> targets = new LinkedHashMap<>(shards.shards());
+                targets.put(ShardContext.PRIMARY, primary);
+
+                ShardRoutingDataSource routing = new ShardRoutingDataSource();
+                routing.setTargetDataSources(targets);
+                routing.setDefaultTargetDataSource(primary);
+                routing.afterPropertiesSet();
+                return new LazyConnectionDataSourceProxy(routing);
+            }
+        };
+    }
+
+    @Bean
+    public ShardMap shardMap(Environment env) {
+        ShardingProperties props = bind(env);
+        return new ShardMap(props.getRing(), props.getVirtualNodes());
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(
+            ShardDataSources shardDataSources, ShardMap shardMap, Environment env) {
+        return new ShardDirectory(
+                new JdbcTemplate(shardDataSources.primary()),
+                shardMap,
+                bind(env).getPlacementCacheTtl());
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(
+            ShardDirectory shardDirectory,
+            ShardDataSources shardDataSources,
+            PlatformTransactionManager transactionManager) {
+        return new ShardRoutingAspect(shardDirectory, shardDataSources, transactionManager);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(
+            ShardDataSources shardDataSources, ShardDirectory shardDirectory, ShardMap shardMap) {
+        return new ShardRebalancer(shardDataSources, shardDirectory, shardMap);
+    }
+
+    /** One-off resharding run: {@code --pixelpets.sharding.rebalance=true}. */
+    @Bean
+    @ConditionalOnProperty(prefix = "pixelpets.sharding", name = "rebalance", havingValue = "true")
+    public ApplicationRunner shardRebalanceRunner(ShardRebalancer shardRebalancer) {
+        return args -> shardRebalancer.rebalance();
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Clock;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.example.backend.simulation.DecaySimulation;
+import org.example.backend.simulation.SimulatedClock;
+import org.example.backend.simulation.SimulationProperties;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Accelerated decay simulation ({@code pixelpets.simulation.enabled=true}, or the
+ * {@code simulation} profile, see {@code application-simulation.properties}).
+ *
+ * <p>Wiring:
+ * <ul>
+ *   <li>A {@link SimulatedClock} replaces the system {@link Clock} from {@link ClockConfig}, so
+ *       the whole pet model runs on simulated time.</li>
+ *   <li>{@link DecaySimulation} runs once on startup and logs its report.</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pixelpets.simulation", name = "enabled", havingValue = "true")
+public class SimulationConfig {
+
+    @Bean
+    @ConfigurationProperties("pixelpets.simulation")
+    public SimulationProperties simulationProperties() {
+        return new SimulationProperties();
+    }
+
+    /** Starts at the real current time and only moves when the simulation advances it. */
+    @Bean
+    @Primary
+    public SimulatedClock simulatedClock() {
+        return new SimulatedClock(Clock.systemUTC().instant());
+    }
+
+    @Bean
+    public DecaySimulation decaySimulation(
+            PetService petService,
+            UserService userService,
+            UserRepository userRepository,
+            SimulatedClock simulatedClock,
+            SimulationProperties simulationProperties,
+            EntityManagerFactory entityManagerFactory) {
+        return new DecaySimulation(
+                petService,
+                userService,
+                userRepository,
+                simulatedClock,
+                simulationProperties,
+                entityManagerFactory);
+    }
+
+    @Bean
+    public ApplicationRunner decaySimulationRunner(DecaySimulation decaySimulation) {
+        return args -> decaySimulation.run();
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.example.backend.tuning.DecayTuningFileWatcher;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Startup tuning for the {@code fast} profile (see {@code application-fast.properties}).
+ *
+ * <p>With {@code spring.main.lazy-initialization=true}, everything not listed here is created on
+ * first use. The beans on the request-critical path stay eager so the first request after a
+ * scale-out does not pay for them:
+ * <ul>
+ *   <li>{@link DataSource} and {@link EntityManagerFactory} (connection pool + Hibernate boot)</li>
+ *   <li>{@link FlywayMigrationInitializer} (schema must be migrated before traffic)</li>
+ *   <li>{@link SecurityFilterChain} (every request passes through it)</li>
+ *   <li>{@link DecayTuningFileWatcher}: nothing ever asks for it, so lazily it would never start
+ *       and tuning file edits would go unnoticed</li>
+ * </ul>
+ *
+ * <p>{@code @Scheduled} beans need no entry: Spring Boot keeps them eager itself.
+ */
+@Configuration
+@Profile("fast")
+public class StartupConfig {
+
+    /** Keep the request-critical infrastructure and background watchers eager. */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerCriticalBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class,
+                EntityManagerFactory.class,
+                FlywayMigrationInitializer.class,
+                SecurityFilterChain.class,
+                DecayTuningFileWatcher.class);
+    }
+}
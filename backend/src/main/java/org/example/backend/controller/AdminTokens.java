@@ -0,0 +1,30 @@
+package org.example.backend.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Shared check for the {@code X-Admin-Token} header on admin endpoints (and on admin-only
+ * diagnostics such as {@link org.example.backend.timing.ServerTimingFilter}).
+ */
+public final class AdminTokens {
+
+    /** Header carrying the admin token. */
+    public static final String HEADER = "X-Admin-Token";
+
+    private AdminTokens() {}
+
+    /**
+     * @param given header value (may be {@code null})
+     * @param expected configured token; empty means the endpoint is disabled
+     * @return whether {@code given} matches, compared in constant time so response timing does not
+     *     leak the token
+     */
+    public static boolean matches(String given, String expected) {
+        return !expected.isEmpty()
+                && given != null
+                && MessageDigest.isEqual(
+                        given.getBytes(StandardCharsets.UTF_8),
+                        expected.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.backend.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.example.backend.dto.DecayTuningDto;
+import org.example.backend.mapper.DecayTuningMapper;
+import org.example.backend.tuning.DecayTuningRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller for the hot-reloadable decay tuning (see {@link DecayTuningRegistry}).
+ *
+ * <p>All endpoints are routed under {@code /api/admin/decay-tuning}. Changes made here apply to
+ * the instance that receives them only; use {@code pixelpets.tuning.file} for fleet-wide changes.
+ */
+@RestController
+@RequestMapping("/api/admin/decay-tuning")
+public class DecayTuningController {
+
+    /** Header carrying {@code pixelpets.tuning.admin-token}. */
+    static final String TOKEN_HEADER = AdminTokens.HEADER;
+
+    // ===== Dependencies =====
+
+    private final DecayTuningRegistry registry;
+    private final String adminToken; // empty = changes disabled
+
+    public DecayTuningController(
+            DecayTuningRegistry registry,
+            @Value("${pixelpets.tuning.admin-token:}") String adminToken) {
+        this.registry = registry;
+        this.adminToken = adminToken;
+    }
+
+    /**
+     * GET /api/admin/decay-tuning
+     *
+     * @return the active snapshot: version, source and every effective value
+     */
+    @GetMapping
+    public DecayTuningDto getTuning() {
+        return DecayTuningMapper.toDecayTuningDto(registry.current());
+    }
+
+    /**
+     * PUT /api/admin/decay-tuning
+     *
+     * <p>Replaces the active snapshot with the defaults plus the given overrides, e.g.
+     * {@code {"cat.fullness-decay-per-min": 0.25}}; an empty object restores the defaults.
+     *
+     * @param token admin token header
+     * @param overrides override key → value
+     * @return the new snapshot
+     * @throws ResponseStatusException with 403 if the token is missing, wrong or not configured,
+     *     400 if an override is unknown or invalid
+     */
+    @PutMapping
+    public DecayTuningDto replaceTuning(
+            @RequestHeader(value = TOKEN_HEADER, required = false) String token,
+            @RequestBody Map<String, Object> overrides) {
+        if (!AdminTokens.matches(token, adminToken)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin token required");
+        }
+
+        Map<String, String> values = new LinkedHashMap<>();
+        overrides.forEach((key, value) -> values.put(key, String.valueOf(value)));
+        try {
+            return DecayTuningMapper.toDecayTuningDto(registry.apply(values, "admin"));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
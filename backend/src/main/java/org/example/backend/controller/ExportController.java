@@ -0,0 +1,92 @@
+package org.example.backend.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.example.backend.export.ExportFormat;
+import org.example.backend.export.PetExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller for bulk exports (see {@link PetExporter}).
+ *
+ * <p>All endpoints are routed under {@code /api/admin/export} and require the
+ * {@code X-Admin-Token} header ({@code pixelpets.export.admin-token}, defaulting to
+ * {@code pixelpets.tuning.admin-token}).
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+public class ExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportController.class);
+
+    // ===== Dependencies =====
+
+    private final PetExporter petExporter;
+    private final String adminToken; // empty = exports disabled
+
+    public ExportController(
+            PetExporter petExporter,
+            @Value("${pixelpets.export.admin-token:${pixelpets.tuning.admin-token:}}") String adminToken) {
+        this.petExporter = petExporter;
+        this.adminToken = adminToken;
+    }
+
+    /**
+     * GET /api/admin/export/pets?format=ndjson|csv
+     *
+     * <p>Streams every pet with its owner's username, stats as stored (not ticked). The body is
+     * gzip-compressed on the fly when the client sends {@code Accept-Encoding: gzip}.
+     *
+     * <p>Written straight to the response on the request thread (no async timeout); an error after
+     * the first bytes can only abort the connection, so clients should check the row count or
+     * stream end.
+     *
+     * @param token admin token header
+     * @param format {@code ndjson} (default) or {@code csv}
+     * @param acceptEncoding client's accepted encodings
+     * @param response servlet response the export is written to
+     * @throws ResponseStatusException with 403 if the token is missing, wrong or not configured,
+     *     400 if the format is unknown
+     */
+    @GetMapping("/pets")
+    public void exportPets(
+            @RequestHeader(value = AdminTokens.HEADER, required = false) String token,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response)
+            throws IOException {
+        if (!AdminTokens.matches(token, adminToken)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin token required");
+        }
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        response.setContentType(exportFormat.contentType() + ";charset=UTF-8");
+        response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"pets." + exportFormat.extension() + "\"");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream body = response.getOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(body, 64 * 1024, true) : body) {
+            long rows = petExporter.export(exportFormat, out);
+            log.info("Exported {} pet(s) as {}{}", rows, exportFormat, gzip ? " (gzip)" : "");
+        }
+    }
+}
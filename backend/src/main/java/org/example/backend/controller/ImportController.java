@@ -0,0 +1,139 @@
+package org.example.backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import org.example.backend.dto.ImportCheckpointDto;
+import org.example.backend.dto.ImportReportDto;
+import org.example.backend.mapper.ImportMapper;
+import org.example.backend.service.UserImporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller for bulk imports (see {@link UserImporter}).
+ *
+ * <p>All endpoints are routed under {@code /api/admin/import} and require the
+ * {@code X-Admin-Token} header ({@code pixelpets.import.admin-token}, defaulting to
+ * {@code pixelpets.tuning.admin-token}).
+ */
+@RestController
+@RequestMapping("/api/admin/import")
+public class ImportController {
+
+    // ===== Dependencies =====
+
+    private final UserImporter userImporter;
+    private final String adminToken; // empty = imports disabled
+    private final String directory; // empty = no file imports
+
+    public ImportController(
+            UserImporter userImporter,
+            @Value("${pixelpets.import.admin-token:${pixelpets.tuning.admin-token:}}")
+                    String adminToken,
+            @Value("${pixelpets.import.directory:}") String directory) {
+        this.userImporter = userImporter;
+        this.adminToken = adminToken;
+        this.directory = directory;
+    }
+
+    /**
+     * POST /api/admin/import/users[?jobId=...][&file=...]
+     *
+     * <p>Imports NDJSON users (with their pets) from the request body, or from {@code file} inside
+     * {@code pixelpets.import.directory}. Runs to completion on the request thread; re-posting with
+     * the same {@code jobId} resumes after the last committed chunk. Progress of a running job:
+     * {@code GET /api/admin/import/{jobId}}.
+     *
+     * @param token admin token header
+     * @param jobId checkpoint name (default: {@code file:<name>} for files, random for bodies)
+     * @param file file name relative to the import directory, instead of the body
+     * @param request the request whose body is read when no file is given
+     * @return counts, job totals and the first rejected lines
+     * @throws ResponseStatusException with 403 if the token is missing, wrong or not configured,
+     *     400 if file imports are disabled or the file is outside the import directory, 404 if the
+     *     file does not exist, 409 if the job is already running
+     */
+    @PostMapping("/users")
+    public ImportReportDto importUsers(
+            @RequestHeader(value = AdminTokens.HEADER, required = false) String token,
+            @RequestParam(required = false) String jobId,
+            @RequestParam(required = false) String file,
+            HttpServletRequest request)
+            throws IOException {
+        requireAdmin(token);
+
+        BufferedReader input;
+        if (file != null) {
+            Path path = resolveImportFile(file);
+            input = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+            jobId = (jobId != null) ? jobId : "file:" + file;
+        } else {
+            input =
+                    new BufferedReader(
+                            new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+            jobId = (jobId != null) ? jobId : UUID.randomUUID().toString();
+        }
+
+        try (input) {
+            return ImportMapper.toImportReportDto(userImporter.importNdjson(jobId, input));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/admin/import/{jobId}
+     *
+     * @param token admin token header
+     * @param jobId import job id
+     * @return the job's progress as of its last committed chunk
+     * @throws ResponseStatusException with 403 if the token is missing or wrong, 404 if the job is
+     *     unknown
+     */
+    @GetMapping("/{jobId}")
+    public ImportCheckpointDto getProgress(
+            @RequestHeader(value = AdminTokens.HEADER, required = false) String token,
+            @PathVariable String jobId) {
+        requireAdmin(token);
+        return userImporter
+                .checkpoint(jobId)
+                .map(ImportMapper::toImportCheckpointDto)
+                .orElseThrow(
+                        () ->
+                                new ResponseStatusException(
+                                        HttpStatus.NOT_FOUND, "Import job not found: " + jobId));
+    }
+
+    // ===== Helpers =====
+
+    private void requireAdmin(String token) {
+        if (!AdminTokens.matches(token, adminToken)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin token required");
+        }
+    }
+
+    /** Resolve {@code file} inside the import directory; no absolute paths or {@code ..} escapes. */
+    private Path resolveImportFile(String file) {
+        if (directory.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File imports are disabled");
+        }
+        Path base = Path.of(directory).toAbsolutePath().normalize();
+        Path path = base.resolve(file).normalize();
+        if (!path.startsWith(base)) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "File must be inside the import directory");
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import file not found: " + file);
+        }
+        return path;
+    }
+}
@@ -1,7 +1,18 @@
 package org.example.backend.controller;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.example.backend.dto.AdoptPetRequest;
+import org.example.backend.dto.PetBatchDto;
 import org.example.backend.dto.PetDto;
 import org.example.backend.mapper.PetMapper;
 import org.example.backend.model.Pet;
@@ -21,14 +32,23 @@ import org.springframework.web.server.ResponseStatusException;
 @RequestMapping("/api/pets")
 public class PetController {
 
+    /** Most ids accepted by the multi-get endpoint. */
+    static final int MAX_BATCH_IDS = 100;
+
+    /** Bounds for the "needs attention" lookup. */
+    private static final long MAX_ATTENTION_WINDOW_MINUTES = 7L * 24 * 60;
+    private static final int MAX_ATTENTION_LIMIT = 500;
+
     // ===== Dependencies =====
 
     private final PetService petService;
     private final UserService userService;
+    private final Clock clock;
 
-    public PetController(PetService petService, UserService userService) {
+    public PetController(PetService petService, UserService userService, Clock clock) {
         this.petService = petService;
         this.userService = userService;
+        this.clock = clock;
     }
 
     // ===== Read =====
@@ -45,6 +65,43 @@ public class PetController {
         return petService.getAllPets().stream().map(PetMapper::toPetDto).toList();
     }
 
+    /**
+     * GET /api/pets?ids=1,2,3
+     *
+     * <p>Returns several pets in one request (one {@code IN} query), in the order requested.
+     * Unknown ids are reported in {@code missing}; more than {@value #MAX_BATCH_IDS} distinct ids is
+     * a 400.
+     *
+     * @param ids comma-separated pet ids
+     * @return found pets plus missing ids
+     * @throws ResponseStatusException with 400 if too many ids are requested
+     */
+    @GetMapping(params = "ids")
+    public PetBatchDto getPetsByIds(@RequestParam List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > MAX_BATCH_IDS) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_IDS + " ids per request");
+        }
+
+        Map<Long, Pet> found =
+                petService.getPetsByIds(requested).stream()
+                        .collect(Collectors.toMap(Pet::getId, Function.identity()));
+
+        List<PetDto> pets = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            Pet pet = found.get(id);
+            if (pet != null) {
+                pets.add(PetMapper.toPetDto(pet));
+            } else {
+                missing.add(id);
+            }
+        }
+        return new PetBatchDto(pets, missing);
+    }
+
     /**
      * GET /api/pets/{id}
      *
@@ -63,6 +120,60 @@ public class PetController {
         return PetMapper.toPetDto(pet);
     }
 
+    /**
+     * GET /api/pets/attention?withinMinutes=60[&lowForMinutes=1440][&userId=1][&limit=100]
+     *
+     * <p>Returns pets predicted to have a stat at or below the "low" threshold within the window,
+     * or that got low at most {@code lowForMinutes} ago, soonest first (a range lookup on the
+     * stored prediction; see {@link PetService#getPetsNeedingAttention}).
+     *
+     * @param withinMinutes look-ahead window in minutes (1 to 7 days)
+     * @param lowForMinutes how long a pet may already have been low and still be listed (0 to 7
+     *     days); pets left low for longer are considered abandoned
+     * @param userId optional owner filter
+     * @param limit most pets returned
+     * @return pet DTOs, soonest first
+     * @throws ResponseStatusException with 400 if the window or limit is out of range
+     */
+    @GetMapping("/attention")
+    public List<PetDto> getPetsNeedingAttention(
+            @RequestParam(defaultValue = "60") long withinMinutes,
+            @RequestParam(defaultValue = "1440") long lowForMinutes,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (withinMinutes < 0 || withinMinutes > MAX_ATTENTION_WINDOW_MINUTES) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "withinMinutes must be 0-" + MAX_ATTENTION_WINDOW_MINUTES);
+        }
+        if (lowForMinutes < 0 || lowForMinutes > MAX_ATTENTION_WINDOW_MINUTES) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "lowForMinutes must be 0-" + MAX_ATTENTION_WINDOW_MINUTES);
+        }
+        if (limit < 1 || limit > MAX_ATTENTION_LIMIT) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "limit must be 1-" + MAX_ATTENTION_LIMIT);
+        }
+
+        Instant now = clock.instant();
+        Instant since = now.minus(Duration.ofMinutes(lowForMinutes));
+        Instant cutoff = now.plus(Duration.ofMinutes(withinMinutes));
+        List<Pet> pets =
+                (userId != null)
+                        ? petService.getPetsNeedingAttentionForUser(userId, since, cutoff)
+                        : petService.getPetsNeedingAttention(since, cutoff, limit);
+
+        // Shards return their own slices: merge, order, then cap
+        return pets.stream()
+                .sorted(
+                        Comparator.comparing(
+                                Pet::getAttentionAt, Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(limit)
+                .map(PetMapper::toPetDto)
+                .toList();
+    }
+
     /**
      * GET /api/pets/user/{userId}
      *
@@ -86,11 +197,17 @@ public class PetController {
      *
      * @param petDto pet data including owner user id
      * @return saved pet DTO
-     * @throws ResponseStatusException with 404 if the owner user is not found
+     * @throws ResponseStatusException with 400 if the DTO carries an id (this endpoint only
+     *     creates) or the type is not a known species, 404 if the owner user is not found
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public PetDto createPet(@RequestBody PetDto petDto) {
+        if (petDto.getId() != null) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Pet id is assigned by the server; omit it to create");
+        }
+
         // Ensure owner exists
         User owner = userService.getUserById(petDto.getUserId());
         if (owner == null) {
@@ -99,7 +216,12 @@ public class PetController {
         }
 
         // Map DTO -> entity, attach owner, persist, map back -> DTO
-        Pet toSave = PetMapper.toEntity(petDto, owner);
+        Pet toSave;
+        try {
+            toSave = PetMapper.toEntity(petDto, owner);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
         Pet saved = petService.savePet(toSave);
         return PetMapper.toPetDto(saved);
     }
@@ -112,7 +234,8 @@ public class PetController {
      *
      * @param request adopt-pet request (userId, name, type)
      * @return newly adopted pet DTO
-     * @throws ResponseStatusException with 404 if the owner user is not found
+     * @throws ResponseStatusException with 404 if the owner user is not found, 400 if the type is
+     *     not a known species
      */
     @PostMapping("/adopt")
     @ResponseStatus(HttpStatus.CREATED)
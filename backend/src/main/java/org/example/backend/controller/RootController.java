@@ -9,10 +9,17 @@ import org.springframework.web.bind.annotation.RestController;
  *
  * <p>Useful for quick production checks and platform health monitoring.
  * Example: GET / → {"status":"ok", "app":"Pixel Pets Backend", ...}
+ * Performance details live at GET /api/health/details.
  */
 @RestController
 public class RootController {
 
+    private static final Map<String, String> ROOT =
+            Map.of(
+                    "status", "ok",
+                    "app", "Pixel Pets Backend",
+                    "message", "Backend is running 🎉");
+
     /**
      * Root endpoint for the backend.
      *
@@ -20,10 +27,6 @@ public class RootController {
      */
     @GetMapping("/")
     public Map<String, String> root() {
-        return Map.of(
-                "status", "ok",
-                "app", "Pixel Pets Backend",
-                "message", "Backend is running 🎉"
-        );
+        return ROOT;
     }
 }
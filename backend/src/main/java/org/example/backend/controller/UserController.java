@@ -1,8 +1,13 @@
 package org.example.backend.controller;
 
 import java.util.List;
+import org.example.backend.activity.ActivityEvent;
+import org.example.backend.dto.ActivityDto;
+import org.example.backend.dto.DashboardDto;
 import org.example.backend.dto.UserDto;
 import org.example.backend.dto.UserUpdateRequest;
+import org.example.backend.mapper.ActivityMapper;
+import org.example.backend.mapper.PetMapper;
 import org.example.backend.mapper.UserMapper;
 import org.example.backend.model.User;
 import org.example.backend.service.UserService;
@@ -66,6 +71,45 @@ public class UserController {
         return UserMapper.toUserDto(user);
     }
 
+    /**
+     * GET /api/users/{id}/dashboard
+     *
+     * <p>Returns the user plus their pets in one response (what the dashboard page needs).
+     *
+     * @param id user id
+     * @return user DTO and pet DTOs
+     * @throws ResponseStatusException with 404 if the user is not found
+     */
+    @GetMapping("/{id}/dashboard")
+    public DashboardDto getDashboard(@PathVariable Long id) {
+        UserService.Dashboard dashboard = userService.getDashboard(id);
+        if (dashboard == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found: " + id);
+        }
+        return new DashboardDto(
+                UserMapper.toUserDto(dashboard.user()),
+                dashboard.pets().stream().map(PetMapper::toPetDto).toList());
+    }
+
+    /**
+     * GET /api/users/{id}/activity
+     *
+     * <p>Returns the user's recent pet actions, newest first. The feed is written asynchronously,
+     * so an action can take a moment to show up.
+     *
+     * @param id user id
+     * @return recent activity entries
+     * @throws ResponseStatusException with 404 if the user is not found
+     */
+    @GetMapping("/{id}/activity")
+    public List<ActivityDto> getRecentActivity(@PathVariable Long id) {
+        List<ActivityEvent> events = userService.getRecentActivity(id);
+        if (events == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found: " + id);
+        }
+        return events.stream().map(ActivityMapper::toActivityDto).toList();
+    }
+
     // ===== Create =====
 
     /**
@@ -0,0 +1,10 @@
+package org.example.backend.datasource;
+
+/** Lookup keys for {@link ReadWriteRoutingDataSource}. */
+public enum DataSourceRole {
+    /** Read-write primary; all writes and pinned reads. */
+    PRIMARY,
+
+    /** Read-only replica; {@code @Transactional(readOnly = true)} work that is not pinned. */
+    REPLICA
+}
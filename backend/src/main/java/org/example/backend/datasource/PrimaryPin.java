@@ -0,0 +1,41 @@
+package org.example.backend.datasource;
+
+/**
+ * Per-request "read your own writes" flag for {@link ReadWriteRoutingDataSource}.
+ *
+ * <p>Once a request has used the primary for a read-write transaction (e.g. {@code feedPet}), any
+ * later read-only transaction in the same request is pinned to the primary as well, so it cannot
+ * observe replica lag. The pin only exists between {@link #begin()} and {@link #end()} (opened by
+ * {@link PrimaryPinFilter}); outside a request it is a no-op.
+ */
+public final class PrimaryPin {
+
+    private static final ThreadLocal<boolean[]> PINNED = new ThreadLocal<>();
+
+    // Prevent instantiation
+    private PrimaryPin() {}
+
+    /** Open a pin scope for the current thread (start of a request). */
+    public static void begin() {
+        PINNED.set(new boolean[1]);
+    }
+
+    /** Close the pin scope for the current thread (end of a request). */
+    public static void end() {
+        PINNED.remove();
+    }
+
+    /** Pin the rest of the current scope to the primary. */
+    public static void pin() {
+        boolean[] state = PINNED.get();
+        if (state != null) {
+            state[0] = true;
+        }
+    }
+
+    /** @return {@code true} if the current scope already wrote through the primary */
+    public static boolean isPinned() {
+        boolean[] state = PINNED.get();
+        return state != null && state[0];
+    }
+}
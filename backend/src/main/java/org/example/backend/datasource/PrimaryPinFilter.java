@@ -0,0 +1,24 @@
+package org.example.backend.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/** Opens a {@link PrimaryPin} scope for each request and clears it afterwards. */
+public class PrimaryPinFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PrimaryPin.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PrimaryPin.end();
+        }
+    }
+}
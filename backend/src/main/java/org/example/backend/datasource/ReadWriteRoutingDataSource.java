@@ -0,0 +1,32 @@
+package org.example.backend.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections between the primary and a read replica.
+ *
+ * <p>Rules:
+ * <ul>
+ *   <li>{@code @Transactional(readOnly = true)} work goes to {@link DataSourceRole#REPLICA}.</li>
+ *   <li>Everything else (writes, non-transactional access) goes to {@link DataSourceRole#PRIMARY}.</li>
+ *   <li>A read-write transaction pins the rest of the request to the primary ({@link PrimaryPin}).</li>
+ * </ul>
+ *
+ * <p>Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the read-only flag is only published after the transaction manager has asked for a connection,
+ * so the physical connection has to be fetched lazily on the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PrimaryPin.isPinned() ? DataSourceRole.PRIMARY : DataSourceRole.REPLICA;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            PrimaryPin.pin();
+        }
+        return DataSourceRole.PRIMARY;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.backend.dto;
+
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One activity feed entry (API shape), e.g. {@code {"action":"feed","petName":"Mochi",...}}.
+ */
+@Getter
+@Setter
+public class ActivityDto {
+
+    private Long petId;
+    private String petName;
+
+    /** Lowercase action name: {@code feed}, {@code play} or {@code rest}. */
+    private String action;
+
+    private Instant occurredAt;
+
+    // ===== Constructors =====
+
+    /** Default constructor for Jackson/deserialization. */
+    public ActivityDto() {
+        // for Jackson
+    }
+
+    public ActivityDto(Long petId, String petName, String action, Instant occurredAt) {
+        this.petId = petId;
+        this.petName = petName;
+        this.action = action;
+        this.occurredAt = occurredAt;
+    }
+}
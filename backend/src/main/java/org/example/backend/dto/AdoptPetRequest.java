@@ -12,7 +12,7 @@ import lombok.Setter;
  * <p>Validation:
  * <ul>
  *   <li>{@code name}: required, 2–50 characters</li>
- *   <li>{@code type}: required (pet type/species)</li>
+ *   <li>{@code type}: required (pet type/species; unknown species get a 400)</li>
  *   <li>{@code userId}: required (owning user)</li>
  * </ul>
  */
@@ -25,7 +25,7 @@ public class AdoptPetRequest {
     @Size(min = 2, max = 50)
     private String name;
 
-    /** Pet type/species (e.g., "cat", "dog", "slime"). */
+    /** Pet type/species, one of the species catalog (e.g., "cat", "Dragon"; case-insensitive). */
     @NotBlank
     private String type;
 
@@ -0,0 +1,34 @@
+package org.example.backend.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Dashboard payload (API shape): the user's profile plus their pets, in one response.
+ *
+ * <p>Served by {@code GET /api/users/{id}/dashboard} so the dashboard page needs one round trip
+ * instead of separate user and pet requests.
+ */
+@Getter
+@Setter
+public class DashboardDto {
+
+    /** The user's public profile. */
+    private UserDto user;
+
+    /** The user's pets, with time-based decay applied. */
+    private List<PetDto> pets;
+
+    // ===== Constructors =====
+
+    /** Default constructor for Jackson/deserialization. */
+    public DashboardDto() {
+        // for Jackson
+    }
+
+    public DashboardDto(UserDto user, List<PetDto> pets) {
+        this.user = user;
+        this.pets = pets;
+    }
+}
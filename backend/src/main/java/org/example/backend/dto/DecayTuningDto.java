@@ -0,0 +1,41 @@
+package org.example.backend.dto;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The active decay tuning snapshot (API shape), e.g.
+ * {@code {"version":3,"source":"admin","values":{"cat.fullness-decay-per-min":0.2,...}}}.
+ */
+@Getter
+@Setter
+public class DecayTuningDto {
+
+    /** Increases with every reload on the instance that answered. */
+    private long version;
+
+    /** {@code defaults}, {@code file:<path>} or {@code admin}. */
+    private String source;
+
+    private Instant loadedAt;
+
+    /** Every effective knob under its override key. */
+    private Map<String, Object> values;
+
+    // ===== Constructors =====
+
+    /** Default constructor for Jackson/deserialization. */
+    public DecayTuningDto() {
+        // for Jackson
+    }
+
+    public DecayTuningDto(
+            long version, String source, Instant loadedAt, Map<String, Object> values) {
+        this.version = version;
+        this.source = source;
+        this.loadedAt = loadedAt;
+        this.values = values;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.backend.dto;
+
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Detailed health (API shape): database ping plus per-endpoint latency over the rolling window.
+ * {@code status} is {@code UP}, or {@code DEGRADED} when the database ping failed.
+ */
+@Getter
+@Setter
+public class HealthDetailsDto {
+
+    private String status;
+    private long windowSeconds;
+    private DatabaseDto database;
+
+    /** Latency per endpoint ({@code METHOD /route/pattern}), sorted by name. */
+    private Map<String, EndpointLatencyDto> endpoints;
+
+    /** Latest (cached) database ping. */
+    @Getter
+    @Setter
+    public static class DatabaseDto {
+        private boolean up;
+        private double latencyMs;
+        private String checkedAt;
+
+        /** Default constructor for Jackson/deserialization. */
+        public DatabaseDto() {
+            // for Jackson
+        }
+
+        public DatabaseDto(boolean up, double latencyMs, String checkedAt) {
+            this.up = up;
+            this.latencyMs = latencyMs;
+            this.checkedAt = checkedAt;
+        }
+    }
+
+    /** One endpoint's requests over the window. */
+    @Getter
+    @Setter
+    public static class EndpointLatencyDto {
+        private long count;
+        private double errorRate;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+        private double maxMs;
+
+        /** Default constructor for Jackson/deserialization. */
+        public EndpointLatencyDto() {
+            // for Jackson
+        }
+
+        public EndpointLatencyDto(
+                long count, double errorRate, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+            this.count = count;
+            this.errorRate = errorRate;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+        }
+    }
+
+    // ===== Constructors =====
+
+    /** Default constructor for Jackson/deserialization. */
+    public HealthDetailsDto() {
+        // for Jackson
+    }
+
+    public HealthDetailsDto(
+            String status,
+            long windowSeconds,
+            DatabaseDto database,
+            Map<String, EndpointLatencyDto> endpoints) {
+        this.status = status;
+        this.windowSeconds = windowSeconds;
+        this.database = database;
+        this.endpoints = endpoints;
+    }
+}
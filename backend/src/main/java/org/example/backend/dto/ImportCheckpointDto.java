@@ -0,0 +1,46 @@
+package org.example.backend.dto;
+
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+
+/** Progress of a bulk import job as of its last committed chunk (API shape). */
+@Getter
+@Setter
+public class ImportCheckpointDto {
+
+    private String jobId;
+
+    /** Last input line covered by a committed chunk; a resumed run starts after it. */
+    private long lastLine;
+
+    private long usersImported;
+    private long petsImported;
+
+    /** Lines rejected so far. */
+    private long failed;
+
+    private Instant updatedAt;
+
+    // ===== Constructors =====
+
+    /** Default constructor for Jackson/deserialization. */
+    public ImportCheckpointDto() {
+        // for Jackson
+    }
+
+    public ImportCheckpointDto(
+            String jobId,
+            long lastLine,
+            long usersImported,
+            long petsImported,
+            long failed,
+            Instant updatedAt) {
+        this.jobId = jobId;
+        this.lastLine = lastLine;
+        this.usersImported = usersImported;
+        this.petsImported = petsImported;
+        this.failed = failed;
+        this.updatedAt = updatedAt;
+    }
+}
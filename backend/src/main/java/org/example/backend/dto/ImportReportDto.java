@@ -0,0 +1,72 @@
+package org.example.backend.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Outcome of one bulk import run (API shape). Counts cover this run; {@code total} covers the job
+ * including earlier (interrupted) runs.
+ */
+@Getter
+@Setter
+public class ImportReportDto {
+
+    private String jobId;
+    private long linesRead;
+
+    /** Lines skipped because an earlier run already committed them. */
+    private long skipped;
+
+    private long usersImported;
+    private long petsImported;
+    private long failed;
+    private ImportCheckpointDto total;
+
+    /** The first rejected lines of this run (capped; {@code failed} has the full count). */
+    private List<LineError> errors;
+
+    /** A rejected input line. */
+    @Getter
+    @Setter
+    public static class LineError {
+        private long line;
+        private String message;
+
+        /** Default constructor for Jackson/deserialization. */
+        public LineError() {
+            // for Jackson
+        }
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+
+    // ===== Constructors =====
+
+    /** Default constructor for Jackson/deserialization. */
+    public ImportReportDto() {
+        // for Jackson
+    }
+
+    public ImportReportDto(
+            String jobId,
+            long linesRead,
+            long skipped,
+            long usersImported,
+            long petsImported,
+            long failed,
+            ImportCheckpointDto total,
+            List<LineError> errors) {
+        this.jobId = jobId;
+        this.linesRead = linesRead;
+        this.skipped = skipped;
+        this.usersImported = usersImported;
+        this.petsImported = petsImported;
+        this.failed = failed;
+        this.total = total;
+        this.errors = errors;
+    }
+}
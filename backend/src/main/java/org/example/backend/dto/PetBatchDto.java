@@ -0,0 +1,34 @@
+package org.example.backend.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Multi-get result (API shape) for {@code GET /api/pets?ids=...}.
+ *
+ * <p>{@code pets} follows the order of the requested ids (duplicates collapsed); ids that do not
+ * exist are listed in {@code missing} instead of failing the whole request.
+ */
+@Getter
+@Setter
+public class PetBatchDto {
+
+    /** Found pets, in request order. */
+    private List<PetDto> pets;
+
+    /** Requested ids with no matching pet. */
+    private List<Long> missing;
+
+    // ===== Constructors =====
+
+    /** Default constructor for Jackson/deserialization. */
+    public PetBatchDto() {
+        // for Jackson
+    }
+
+    public PetBatchDto(List<PetDto> pets, List<Long> missing) {
+        this.pets = pets;
+        this.missing = missing;
+    }
+}
@@ -32,7 +32,7 @@ public class PetDto {
     @Size(min = 2, max = 50)
     private String name;
 
-    /** Pet type/species (e.g., cat, dog, dragon). */
+    /** Pet type/species: a species catalog name (Cat, Dog, Dragon, Bunny, Blob). */
     @NotBlank
     private String type;
 
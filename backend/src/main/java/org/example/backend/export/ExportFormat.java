@@ -0,0 +1,40 @@
+package org.example.backend.export;
+
+/** Output formats of {@link PetExporter}. */
+public enum ExportFormat {
+    /** One JSON object per line. */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /** RFC 4180 CSV with a header row. */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Resolve a format name (case-insensitive).
+     *
+     * @throws IllegalArgumentException if the name is not a known format
+     */
+    public static ExportFormat fromName(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + name);
+    }
+}
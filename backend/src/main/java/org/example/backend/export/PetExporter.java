@@ -0,0 +1,331 @@
+package org.example.backend.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.example.backend.model.Species;
+import org.example.backend.shard.ShardDataSources;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams every pet (hot and archived) with its owner's username, for analytics.
+ *
+ * <p>Rows come from a forward-only JDBC cursor and are written out as they arrive, so memory use
+ * does not depend on the number of pets:
+ * <ul>
+ *   <li>Stats are exported as stored, with {@code lastTickAt}: nothing is ticked or saved.</li>
+ *   <li>The primary's pets are read in one read-only transaction, so the export goes to the read
+ *       replica when one is configured, and takes no locks.</li>
+ *   <li>With sharding enabled each shard is streamed in turn (autocommit, one statement per table);
+ *       usernames come from the primary through a small cache.</li>
+ * </ul>
+ *
+ * <p>The JDBC fetch size is configurable: {@link Integer#MIN_VALUE} makes MySQL Connector/J stream
+ * row by row instead of buffering the whole result.
+ */
+public class PetExporter {
+
+    /** Output fields, in order (also the CSV header). */
+    static final List<String> FIELDS =
+            List.of(
+                    "id",
+                    "name",
+                    "type",
+                    "level",
+                    "fullness",
+                    "happiness",
+                    "energy",
+                    "lastTickAt",
+                    "userId",
+                    "username",
+                    "archived");
+
+    private static final String COLUMNS =
+            "p.id, p.name, p.species_id, p.level, p.hunger, p.happiness, p.energy, p.last_tick_at,"
+                    + " p.user_id";
+
+    /** Rows flushed to the client at a time. */
+    private static final int FLUSH_EVERY = 1_000;
+
+    /** Most usernames cached while exporting a shard. */
+    private static final int MAX_CACHED_USERNAMES = 10_000;
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /** One exported pet. */
+    private record Row(
+            long id,
+            String name,
+            Species species,
+            int level,
+            int fullness,
+            int happiness,
+            int energy,
+            Instant lastTickAt,
+            Long userId,
+            String username,
+            boolean archived) {}
+
+    /** Serializes rows in one {@link ExportFormat}. */
+    private interface RowWriter extends AutoCloseable {
+        void write(Row row) throws IOException;
+
+        void flush() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private final DataSource dataSource;
+    private final ShardDataSources shards; // null unless sharding is enabled
+    private final TransactionTemplate readOnly;
+    private final int fetchSize;
+
+    /**
+     * @param dataSource the application datasource (primary, or replica for read-only work)
+     * @param shards shard datasources, or {@code null} if sharding is off
+     * @param transactionManager used for the read-only transaction around the primary's rows
+     * @param fetchSize JDBC fetch size for the cursors
+     */
+    public PetExporter(
+            DataSource dataSource,
+            ShardDataSources shards,
+            PlatformTransactionManager transactionManager,
+            int fetchSize) {
+        this.dataSource = dataSource;
+        this.shards = shards;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Write every pet to {@code out} in {@code format}. The stream is flushed but not closed.
+     *
+     * @return number of pets written
+     */
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter writer = open(format, out)) {
+            long[] written = {0};
+            readOnly.executeWithoutResult(status -> streamJoined(cursor(dataSource), writer, written));
+            if (shards != null) {
+                JdbcTemplate users = new JdbcTemplate(shards.primary());
+                for (DataSource shard : shards.shards().values()) {
+                    streamShard(cursor(shard), users, writer, written);
+                }
+            }
+            return written[0];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // ===== Sources =====
+
+    private JdbcTemplate cursor(DataSource source) {
+        JdbcTemplate jdbc = new JdbcTemplate(source);
+        jdbc.setFetchSize(fetchSize);
+        return jdbc;
+    }
+
+    /** Pets on the primary, usernames joined in. */
+    private void streamJoined(JdbcTemplate jdbc, RowWriter writer, long[] written) {
+        for (String table : List.of("pets", "pets_archive")) {
+            boolean archived = table.equals("pets_archive");
+            jdbc.query(
+                    "SELECT " + COLUMNS + ", u.user_name FROM " + table + " p"
+                            + " LEFT JOIN users u ON u.id = p.user_id",
+                    (RowCallbackHandler)
+                            rs -> emit(writer, toRow(rs, rs.getString(10), archived), written));
+        }
+    }
+
+    /** Pets on one shard; owners live on the primary, so usernames are looked up (and cached). */
+    private void streamShard(JdbcTemplate jdbc, JdbcTemplate users, RowWriter writer, long[] written) {
+        Map<Long, String> usernames =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                        return size() > MAX_CACHED_USERNAMES;
+                    }
+                };
+        for (String table : List.of("pets", "pets_archive")) {
+            boolean archived = table.equals("pets_archive");
+            jdbc.query(
+                    "SELECT " + COLUMNS + " FROM " + table + " p",
+                    (RowCallbackHandler)
+                            rs -> {
+                                long userId = rs.getLong(9);
+                                String username =
+                                        rs.wasNull() ? null : username(users, usernames, userId);
+                                emit(writer, toRow(rs, username, archived), written);
+                            });
+        }
+    }
+
+    private static String username(JdbcTemplate users, Map<Long, String> cache, long userId) {
+        return cache.computeIfAbsent(
+                userId,
+                id ->
+                        users.queryForList("SELECT user_name FROM users WHERE id = ?", String.class, id)
+                                .stream()
+                                .findFirst()
+                                .orElse(null));
+    }
+
+    private static Row toRow(ResultSet rs, String username, boolean archived) throws SQLException {
+        Timestamp lastTick = rs.getTimestamp(8);
+        long userId = rs.getLong(9);
+        return new Row(
+                rs.getLong(1),
+                rs.getString(2),
+                Species.fromId(rs.getInt(3)),
+                rs.getInt(4),
+                rs.getInt(5),
+                rs.getInt(6),
+                rs.getInt(7),
+                (lastTick != null) ? lastTick.toInstant() : null,
+                rs.wasNull() ? null : userId,
+                username,
+                archived);
+    }
+
+    private static void emit(RowWriter writer, Row row, long[] written) {
+        try {
+            writer.write(row);
+            if (++written[0] % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // e.g. client went away: abort the cursor
+        }
+    }
+
+    // ===== Formats =====
+
+    private static RowWriter open(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(out);
+            case CSV -> new CsvWriter(out);
+        };
+    }
+
+    private static final class NdjsonWriter implements RowWriter {
+        private final JsonGenerator json;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            json = JSON.createGenerator(out);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setPrettyPrinter(new MinimalPrettyPrinter("")); // no separator between root values
+        }
+
+        @Override
+        public void write(Row row) throws IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", row.id());
+            json.writeStringField("name", row.name());
+            json.writeStringField("type", row.species().displayName());
+            json.writeNumberField("level", row.level());
+            json.writeNumberField("fullness", row.fullness());
+            json.writeNumberField("happiness", row.happiness());
+            json.writeNumberField("energy", row.energy());
+            json.writeStringField(
+                    "lastTickAt", (row.lastTickAt() != null) ? row.lastTickAt().toString() : null);
+            if (row.userId() != null) {
+                json.writeNumberField("userId", row.userId());
+            } else {
+                json.writeNullField("userId");
+            }
+            json.writeStringField("username", row.username());
+            json.writeBooleanField("archived", row.archived());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            json.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.close(); // flushes; the target stays open
+        }
+    }
+
+    private static final class CsvWriter implements RowWriter {
+        private final Writer out;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            this.out.write(String.join(",", FIELDS));
+            this.out.write("\r\n");
+        }
+
+        @Override
+        public void write(Row row) throws IOException {
+            out.write(Long.toString(row.id()));
+            out.write(',');
+            out.write(quote(row.name()));
+            out.write(',');
+            out.write(row.species().displayName());
+            out.write(',');
+            out.write(Integer.toString(row.level()));
+            out.write(',');
+            out.write(Integer.toString(row.fullness()));
+            out.write(',');
+            out.write(Integer.toString(row.happiness()));
+            out.write(',');
+            out.write(Integer.toString(row.energy()));
+            out.write(',');
+            out.write((row.lastTickAt() != null) ? row.lastTickAt().toString() : "");
+            out.write(',');
+            out.write((row.userId() != null) ? row.userId().toString() : "");
+            out.write(',');
+            out.write(quote(row.username()));
+            out.write(',');
+            out.write(Boolean.toString(row.archived()));
+            out.write("\r\n");
+        }
+
+        /** RFC 4180 quoting, only where needed; {@code null} is an empty field. */
+        static String quote(String value) {
+            if (value == null) {
+                return "";
+            }
+            boolean needsQuotes =
+                    value.indexOf(',') >= 0
+                            || value.indexOf('"') >= 0
+                            || value.indexOf('\n') >= 0
+                            || value.indexOf('\r') >= 0;
+            return needsQuotes ? '"' + value.replace("\"", "\"\"") + '"' : value;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush(); // the target stays open
+        }
+    }
+}
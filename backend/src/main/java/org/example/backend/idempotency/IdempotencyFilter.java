@@ -0,0 +1,246 @@
+package org.example.backend.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import org.example.backend.idempotency.IdempotencyStore.StoredResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes retried pet action / adopt POSTs safe via the {@value #HEADER} request header.
+ *
+ * <p>For {@code POST /api/pets/{id}/feed|play|rest} and {@code POST /api/pets/adopt}:
+ * <ul>
+ *   <li>No header: the request runs normally.</li>
+ *   <li>First request with a key: runs, and its response is stored if it succeeded (2xx).</li>
+ *   <li>Keys are scoped to the client (its address, as the rate limiter sees it) and the path, so
+ *       two clients picking the same key never see each other's responses.</li>
+ *   <li>Repeats with the same key on the same path: get the stored response replayed, marked with
+ *       {@value #REPLAYED_HEADER}; concurrent repeats wait for the first one to finish.</li>
+ *   <li>A repeat whose body differs from the first request's (compared by SHA-256) gets 422
+ *       Unprocessable Entity: the key was reused for a different operation. Bodies over
+ *       {@value #MAX_BODY_BYTES} bytes get 413.</li>
+ *   <li>If the first request does not succeed (4xx such as a 429 or 409, 5xx, or an exception),
+ *       the key is released so a retry can run again: only a completed write is pinned.</li>
+ *   <li>If the store is full of requests still in flight, a new key gets 503 with
+ *       {@code Retry-After}.</li>
+ * </ul>
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+    private static final Pattern GUARDED_PATHS =
+            Pattern.compile("/api/pets/(adopt|\\d+/(feed|play|rest))/?");
+
+    private final IdempotencyStore store;
+    private final Duration waitTimeout;
+
+    public IdempotencyFilter(IdempotencyStore store, Duration waitTimeout) {
+        this.store = store;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !GUARDED_PATHS.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HEADER);
+        if (header.isBlank() || header.length() > MAX_KEY_LENGTH) {
+            response.sendError(
+                    HttpStatus.BAD_REQUEST.value(),
+                    HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            response.sendError(
+                    HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                    "Requests with an " + HEADER + " are limited to " + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+        String key = request.getRemoteAddr() + "|" + request.getRequestURI() + "|" + header;
+        String fingerprint = sha256(body);
+
+        while (true) {
+            CompletableFuture<StoredResponse> first;
+            try {
+                first = store.claim(key, fingerprint);
+            } catch (IdempotencyStore.FullException e) {
+                response.setHeader("Retry-After", "1");
+                response.sendError(
+                        HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "Too many requests with an " + HEADER + " in progress");
+                return;
+            } catch (IdempotencyStore.MismatchException e) {
+                response.sendError(
+                        HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                        HEADER + " was already used with a different request body");
+                return;
+            }
+            if (first == null) {
+                runAndStore(key, new BufferedBodyRequest(request, body), response, chain);
+                return;
+            }
+            StoredResponse stored;
+            try {
+                stored = await(first);
+            } catch (TimeoutException e) {
+                response.sendError(
+                        HttpStatus.CONFLICT.value(),
+                        "A request with this " + HEADER + " is still in progress");
+                return;
+            }
+            if (stored == null) {
+                continue; // first attempt failed or expired: run as a new request
+            }
+            replay(stored, response);
+            return;
+        }
+    }
+
+    // ===== Helpers =====
+
+    private void runAndStore(
+            String key, HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            store.abandon(key);
+            throw e;
+        }
+        if (!HttpStatusCode.valueOf(wrapper.getStatus()).is2xxSuccessful()) {
+            store.abandon(key);
+        } else {
+            store.complete(
+                    key,
+                    new StoredResponse(
+                            wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray()));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> first)
+            throws ServletException, TimeoutException {
+        try {
+            return first.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for the original request", e);
+        } catch (ExecutionException e) {
+            throw new ServletException(e.getCause());
+        }
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response)
+            throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+
+    /** Replays the body this filter already read, so the handler can still parse it. */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Body is already buffered");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.backend.idempotency;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded, TTL-expiring in-memory store of responses by idempotency key.
+ *
+ * <p>Every entry remembers the fingerprint of the request that claimed it (a hash of its body);
+ * claiming a known key with a different fingerprint is refused ({@link MismatchException}) rather
+ * than replaying a response that belongs to another payload.
+ *
+ * <p>Each key moves through two states:
+ * <ul>
+ *   <li><b>In flight</b>: the first request {@link #claim claimed} it and is still running; later
+ *       duplicates get its future and wait for the result.</li>
+ *   <li><b>Completed</b>: the stored response is replayed until the entry expires.</li>
+ * </ul>
+ *
+ * <p>Entries are kept in insertion order (which, with one fixed TTL, is also expiry order), so
+ * expired entries and overflow beyond {@code maxEntries} are trimmed from the head. Only completed
+ * entries are ever dropped: forgetting an in-flight key would let a retry run the write a second
+ * time. When every entry is in flight, new keys are refused ({@link FullException}). All access is
+ * under one short lock; the waiting itself happens outside it.
+ */
+public class IdempotencyStore {
+
+    /** A captured response: status, content type and body bytes. */
+    public record StoredResponse(int status, String contentType, byte[] body) {}
+
+    /** Thrown by {@link #claim} when the store is full of in-flight keys. */
+    public static class FullException extends RuntimeException {
+        FullException() {
+            super("Idempotency store is full", null, false, false);
+        }
+    }
+
+    /** Thrown by {@link #claim} when the key is known but was claimed for another payload. */
+    public static class MismatchException extends RuntimeException {
+        MismatchException() {
+            super("Idempotency key reused with a different payload", null, false, false);
+        }
+    }
+
+    private record Entry(
+            String fingerprint, CompletableFuture<StoredResponse> result, long expiresAtNanos) {
+
+        boolean inFlight() {
+            return !result.isDone();
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public IdempotencyStore(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Claim {@code key} for the calling request.
+     *
+     * @param fingerprint identifies the request payload; repeats must present the same one
+     * @return {@code null} if the caller now owns the key and must {@link #complete} or
+     *     {@link #abandon} it; otherwise the (possibly still running) result of the first request
+     * @throws FullException if the key is new and {@code maxEntries} keys are in flight
+     * @throws MismatchException if the key is held for a different fingerprint
+     */
+    public CompletableFuture<StoredResponse> claim(String key, String fingerprint) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            expire(now);
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                if (!existing.fingerprint().equals(fingerprint)) {
+                    throw new MismatchException();
+                }
+                return existing.result();
+            }
+            trim(maxEntries - 1);
+            if (entries.size() >= maxEntries) {
+                throw new FullException();
+            }
+            entries.put(key, new Entry(fingerprint, new CompletableFuture<>(), now + ttlNanos));
+            return null;
+        }
+    }
+
+    /** Store the owner's response and release any waiting duplicates. */
+    public void complete(String key, StoredResponse response) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            entry.result().complete(response);
+        }
+    }
+
+    /**
+     * Forget {@code key} (the owner failed); waiting duplicates receive {@code null} and retry as
+     * new requests.
+     */
+    public void abandon(String key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.remove(key);
+        }
+        if (entry != null) {
+            entry.result().complete(null);
+        }
+    }
+
+    /** @return number of entries currently held (in flight + completed) */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // ===== Helpers (hold the lock) =====
+
+    /** Drop expired completed entries; an expired in-flight one stays until its owner finishes. */
+    private void expire(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.expiresAtNanos() - now > 0) {
+                break; // insertion order = expiry order
+            }
+            if (!entry.inFlight()) {
+                it.remove();
+            }
+        }
+    }
+
+    /** Drop the oldest completed entries until at most {@code limit} remain (if possible). */
+    private void trim(int limit) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > limit && it.hasNext()) {
+            if (!it.next().inFlight()) {
+                it.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.backend.journal;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.example.backend.model.PetAction;
+import org.example.backend.shard.ShardContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * Append-only journal of pet actions ({@code pet_actions}), used in event-sourced mode.
+ *
+ * <p>Appends and reads run on the calling thread, so they join the caller's transaction and
+ * shard: an event commits if and only if the action that produced it does. An append only inserts
+ * a small row instead of rewriting (and exclusively locking) the pet row, so concurrent actions on
+ * one pet don't serialize on it.
+ *
+ * <p>Event ids come from {@code AUTO_INCREMENT}, which hands them out at insert time, not commit
+ * time: a lower id can still be uncommitted when a higher one is visible. Readers that advance a
+ * pet's {@code journal_seq} must first settle the pet's journal by taking its row lock exclusively
+ * (appenders hold it shared until they commit); see {@code PetService#compactJournal}.
+ *
+ * <p>Pets with events not yet folded are listed in {@code pet_actions_pending}: every append adds
+ * its pet, and compaction removes it under that exclusive lock ({@link #settled}).
+ */
+public class PetActionJournal {
+
+    private static final String INSERT =
+            "INSERT INTO pet_actions (pet_id, action, occurred_at) VALUES (?, ?, ?)";
+
+    private static final String MARK_PENDING =
+            "INSERT IGNORE INTO pet_actions_pending (pet_id) VALUES (?)";
+
+    private static final RowMapper<Event> EVENT =
+            (rs, i) ->
+                    new Event(
+                            rs.getLong("id"),
+                            rs.getLong("pet_id"),
+                            PetAction.fromCode(rs.getInt("action")),
+                            rs.getTimestamp("occurred_at").toInstant());
+
+    /** One journaled action. */
+    public record Event(long id, long petId, PetAction action, Instant occurredAt) {}
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+
+    /** @param dataSource the application datasource (follows {@link ShardContext} when sharded) */
+    public PetActionJournal(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.named = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    // ===== Appends (caller's transaction) =====
+
+    /**
+     * Journal one action in the caller's transaction, and mark its pet pending.
+     *
+     * @return the event id (pets fold events in id order)
+     */
+    public long append(long petId, PetAction action, Instant occurredAt) {
+        KeyHolder key = new GeneratedKeyHolder();
+        jdbc.update(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS);
+                    ps.setLong(1, petId);
+                    ps.setInt(2, action.code());
+                    ps.setTimestamp(3, Timestamp.from(occurredAt));
+                    return ps;
+                },
+                key);
+        jdbc.update(MARK_PENDING, petId);
+        return key.getKey().longValue();
+    }
+
+    // ===== Reads (caller's transaction) =====
+
+    /** @return events for {@code petId} after {@code afterId}, oldest first */
+    public List<Event> eventsAfter(long petId, long afterId) {
+        return jdbc.query(
+                "SELECT id, pet_id, action, occurred_at FROM pet_actions"
+                        + " WHERE pet_id = ? AND id > ? ORDER BY id",
+                EVENT,
+                petId,
+                afterId);
+    }
+
+    /**
+     * Events not yet folded into each pet's stored row ({@code journal_seq}), for a whole list of
+     * pets in one query.
+     *
+     * @return pet id → its pending events, oldest first (pets without any are absent)
+     */
+    public Map<Long, List<Event>> pendingEvents(Collection<Long> petIds) {
+        if (petIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<Event>> byPet = new HashMap<>();
+        named.query(
+                        "SELECT a.id, a.pet_id, a.action, a.occurred_at FROM pet_actions a"
+                                + " JOIN pets p ON p.id = a.pet_id"
+                                + " WHERE a.pet_id IN (:ids) AND a.id > p.journal_seq"
+                                + " ORDER BY a.id",
+                        Map.of("ids", petIds),
+                        EVENT)
+                .forEach(e -> byPet.computeIfAbsent(e.petId(), id -> new ArrayList<>()).add(e));
+        return byPet;
+    }
+
+    /** @return up to {@code limit} pets whose row may lag behind their journal */
+    public List<Long> petsWithPendingEvents(int limit) {
+        return jdbc.queryForList(
+                "SELECT pet_id FROM pet_actions_pending LIMIT ?", Long.class, limit);
+    }
+
+    /**
+     * Unmark a pet whose events have all been folded. The caller must hold the pet's row lock
+     * exclusively, so no append for it is still in flight.
+     */
+    public void settled(long petId) {
+        jdbc.update("DELETE FROM pet_actions_pending WHERE pet_id = ?", petId);
+    }
+}
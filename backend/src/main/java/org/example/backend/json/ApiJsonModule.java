@@ -0,0 +1,23 @@
+package org.example.backend.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.example.backend.dto.PetDto;
+import org.example.backend.dto.UserDto;
+
+/**
+ * Jackson module with hand-written serializers for the DTOs that appear in large lists
+ * ({@code /api/pets}, {@code /api/users}, dashboards and multi-gets).
+ *
+ * <p>Only serialization is replaced; reading (including the legacy {@code "hunger"} alias on
+ * {@link PetDto}) still goes through Jackson's annotations. Spring Boot registers every
+ * {@code Module} bean with the application {@code ObjectMapper} (see
+ * {@link org.example.backend.config.JsonConfig}).
+ */
+public class ApiJsonModule extends SimpleModule {
+
+    public ApiJsonModule() {
+        super("pixelpets-api-json");
+        addSerializer(PetDto.class, new PetDtoSerializer());
+        addSerializer(UserDto.class, new UserDtoSerializer());
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.backend.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import org.example.backend.dto.PetDto;
+
+/**
+ * Writes {@link PetDto} straight to the {@link JsonGenerator}: no bean introspection, property
+ * writers or per-field reflective getter calls, and field names are pre-encoded once.
+ *
+ * <p>Output is byte-for-byte what Jackson's reflective serializer produces for {@link PetDto}
+ * (same field order, with the {@code @JsonProperty}-named {@code "fullness"} last; nulls
+ * written). Keep the two in sync when adding fields; {@code ApiJsonModuleTests} compares them.
+ */
+public class PetDtoSerializer extends StdSerializer<PetDto> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString LEVEL = new SerializedString("level");
+    private static final SerializableString HAPPINESS = new SerializedString("happiness");
+    private static final SerializableString ENERGY = new SerializedString("energy");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString FULLNESS = new SerializedString("fullness");
+
+    public PetDtoSerializer() {
+        super(PetDto.class);
+    }
+
+    @Override
+    public void serialize(PetDto pet, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject(pet);
+        writeNumber(gen, ID, pet.getId());
+        writeString(gen, NAME, pet.getName());
+        writeString(gen, TYPE, pet.getType());
+        writeNumber(gen, LEVEL, pet.getLevel());
+        writeNumber(gen, HAPPINESS, pet.getHappiness());
+        writeNumber(gen, ENERGY, pet.getEnergy());
+        writeNumber(gen, USER_ID, pet.getUserId());
+        writeNumber(gen, FULLNESS, pet.getFullness()); // Jackson puts the renamed property last
+        gen.writeEndObject();
+    }
+
+    // ===== Helpers (shared with UserDtoSerializer) =====
+
+    static void writeNumber(JsonGenerator gen, SerializableString name, Long value)
+            throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, SerializableString name, Integer value)
+            throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    static void writeString(JsonGenerator gen, SerializableString name, String value)
+            throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.backend.json;
+
+import static org.example.backend.json.PetDtoSerializer.writeNumber;
+import static org.example.backend.json.PetDtoSerializer.writeString;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import org.example.backend.dto.UserDto;
+
+/**
+ * Writes {@link UserDto} straight to the {@link JsonGenerator}, with output identical to
+ * Jackson's reflective serializer (see {@link PetDtoSerializer}).
+ */
+public class UserDtoSerializer extends StdSerializer<UserDto> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString USERNAME = new SerializedString("username");
+    private static final SerializableString EMAIL = new SerializedString("email");
+
+    public UserDtoSerializer() {
+        super(UserDto.class);
+    }
+
+    @Override
+    public void serialize(UserDto user, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject(user);
+        writeNumber(gen, ID, user.getId());
+        writeString(gen, USERNAME, user.getUsername());
+        writeString(gen, EMAIL, user.getEmail());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.backend.latency;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import javax.sql.DataSource;
+
+/**
+ * Database round-trip check for {@code GET /api/health/details}.
+ *
+ * <p>The ping ({@link Connection#isValid}) runs at most once per {@code interval}; callers in
+ * between get the cached result, so polling the details endpoint does not add database load.
+ * Concurrent callers after expiry wait for the one refreshing ping instead of each pinging.
+ */
+public class DbPingProbe {
+
+    /** Outcome of the latest ping. */
+    public record Result(boolean up, double latencyMs, Instant checkedAt) {}
+
+    private final DataSource dataSource;
+    private final Clock clock;
+    private final Duration interval;
+    private final int timeoutSeconds;
+
+    private volatile Result last;
+
+    /**
+     * @param dataSource the application datasource (outside a transaction: the primary)
+     * @param clock time source for the cache
+     * @param interval how long a result is reused
+     * @param timeout longest a ping may take before the database counts as down
+     */
+    public DbPingProbe(DataSource dataSource, Clock clock, Duration interval, Duration timeout) {
+        this.dataSource = dataSource;
+        this.clock = clock;
+        this.interval = interval;
+        this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+    }
+
+    /** The latest ping, refreshed first if it is older than the interval. */
+    public Result ping() {
+        Result result = last;
+        if (result != null && !expired(result)) {
+            return result;
+        }
+        synchronized (this) {
+            result = last;
+            if (result == null || expired(result)) {
+                result = pingNow();
+                last = result;
+            }
+            return result;
+        }
+    }
+
+    // ===== Helpers =====
+
+    private boolean expired(Result result) {
+        return !clock.instant().isBefore(result.checkedAt().plus(interval));
+    }
+
+    private Result pingNow() {
+        long start = System.nanoTime();
+        boolean up;
+        try (Connection connection = dataSource.getConnection()) {
+            up = connection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            up = false;
+        }
+        return new Result(up, (System.nanoTime() - start) / 1_000_000.0, clock.instant());
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.backend.latency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times requests into a {@link LatencyRecorder}, one endpoint per method and route pattern (e.g.
+ * {@code POST /api/pets/{id}/feed}), so path ids do not create new endpoints.
+ *
+ * <p>A request counts as an error when it ends with a 5xx status or an unhandled exception;
+ * client errors (4xx, including rate-limit rejections) are timed but not counted as errors.
+ */
+public class LatencyInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_AT = LatencyInterceptor.class.getName() + ".startedAt";
+
+    private final LatencyRecorder recorder;
+
+    public LatencyInterceptor(LatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(STARTED_AT) instanceof Long startedAt)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint =
+                request.getMethod() + " " + ((pattern != null) ? pattern : request.getRequestURI());
+        boolean error = ex != null || response.getStatus() >= 500;
+        recorder.record(endpoint, System.nanoTime() - startedAt, error);
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.backend.latency;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Per-endpoint request latencies over a rolling window, for {@code GET /api/health/details}.
+ *
+ * <p>Each endpoint has an HdrHistogram {@link Recorder} (wait-free, no allocation on
+ * {@link #record}) and a ring of {@code slices} interval histograms:
+ * <ul>
+ *   <li>{@link #rotate} runs every slice interval and moves what was recorded since into the oldest
+ *       slot of the ring, recycling that slot's histogram.</li>
+ *   <li>{@link #snapshot} adds up the ring, so it covers the last {@code slices} intervals; the
+ *       slice still being recorded is not included.</li>
+ * </ul>
+ *
+ * <p>Latencies are kept in microseconds with two significant digits; errors are counted per slice
+ * next to the histogram.
+ */
+public class LatencyRecorder {
+
+    /** Latency summary of one endpoint over the window. */
+    public record Snapshot(
+            long count, long errors, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+        /** Share of requests that failed, 0 when there were none. */
+        public double errorRate() {
+            return (count == 0) ? 0 : (double) errors / count;
+        }
+    }
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    /** One endpoint's recorder and ring of closed slices. */
+    private static final class Endpoint {
+        final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        final LongAdder errors = new LongAdder();
+        final Histogram[] slices;
+        final long[] sliceErrors;
+        int next;
+
+        Endpoint(int slices) {
+            this.slices = new Histogram[slices];
+            this.sliceErrors = new long[slices];
+        }
+    }
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final int slices;
+    private final Duration window;
+
+    /**
+     * @param sliceInterval how often {@link #rotate} runs
+     * @param slices closed slices kept (window = {@code slices × sliceInterval})
+     */
+    public LatencyRecorder(Duration sliceInterval, int slices) {
+        this.slices = Math.max(1, slices);
+        this.window = sliceInterval.multipliedBy(this.slices);
+    }
+
+    /** The period {@link #snapshot} covers. */
+    public Duration window() {
+        return window;
+    }
+
+    /**
+     * Record one request.
+     *
+     * @param endpoint endpoint name, e.g. {@code GET /api/pets/{id}}
+     * @param nanos time taken
+     * @param error whether the request failed
+     */
+    public void record(String endpoint, long nanos, boolean error) {
+        Endpoint e = endpoints.computeIfAbsent(endpoint, name -> new Endpoint(slices));
+        e.recorder.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        if (error) {
+            e.errors.increment();
+        }
+    }
+
+    /** Close the current slice of every endpoint. */
+    @Scheduled(
+            initialDelayString = "${pixelpets.latency.slice-interval:PT10S}",
+            fixedRateString = "${pixelpets.latency.slice-interval:PT10S}")
+    public void rotate() {
+        for (Endpoint e : endpoints.values()) {
+            synchronized (e) {
+                int slot = e.next;
+                e.slices[slot] = e.recorder.getIntervalHistogram(e.slices[slot]);
+                e.sliceErrors[slot] = e.errors.sumThenReset();
+                e.next = (slot + 1) % slices;
+            }
+        }
+    }
+
+    /** Latency per endpoint over the window, by name; endpoints without requests are left out. */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        endpoints.forEach(
+                (name, e) -> {
+                    Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+                    long errors = 0;
+                    synchronized (e) {
+                        for (int i = 0; i < slices; i++) {
+                            if (e.slices[i] != null) {
+                                total.add(e.slices[i]);
+                                errors += e.sliceErrors[i];
+                            }
+                        }
+                    }
+                    if (total.getTotalCount() > 0) {
+                        result.put(
+                                name,
+                                new Snapshot(
+                                        total.getTotalCount(),
+                                        errors,
+                                        millis(total.getValueAtPercentile(50)),
+                                        millis(total.getValueAtPercentile(95)),
+                                        millis(total.getValueAtPercentile(99)),
+                                        millis(total.getMaxValue())));
+                    }
+                });
+        return result;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.backend.mapper;
+
+import java.util.Locale;
+import org.example.backend.activity.ActivityEvent;
+import org.example.backend.dto.ActivityDto;
+
+/** Maps activity feed events to API objects. */
+public final class ActivityMapper {
+
+    // Prevent instantiation
+    private ActivityMapper() {}
+
+    /** Convert a feed event to an API-facing ActivityDto. */
+    public static ActivityDto toActivityDto(ActivityEvent event) {
+        return new ActivityDto(
+                event.petId(),
+                event.petName(),
+                event.action().name().toLowerCase(Locale.ROOT),
+                event.occurredAt());
+    }
+}
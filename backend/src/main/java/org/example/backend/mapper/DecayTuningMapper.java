@@ -0,0 +1,17 @@
+package org.example.backend.mapper;
+
+import org.example.backend.dto.DecayTuningDto;
+import org.example.backend.tuning.DecayTuning;
+
+/** Maps decay tuning snapshots to API objects. */
+public final class DecayTuningMapper {
+
+    // Prevent instantiation
+    private DecayTuningMapper() {}
+
+    /** Convert a snapshot to an API-facing DecayTuningDto. */
+    public static DecayTuningDto toDecayTuningDto(DecayTuning tuning) {
+        return new DecayTuningDto(
+                tuning.version(), tuning.source(), tuning.loadedAt(), tuning.values());
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.backend.mapper;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.example.backend.dto.HealthDetailsDto;
+import org.example.backend.latency.DbPingProbe;
+import org.example.backend.latency.LatencyRecorder;
+
+/** Maps health probes and latency snapshots to API objects. */
+public final class HealthMapper {
+
+    // Prevent instantiation
+    private HealthMapper() {}
+
+    /** Combine a DB ping and per-endpoint snapshots into an API-facing HealthDetailsDto. */
+    public static HealthDetailsDto toHealthDetailsDto(
+            DbPingProbe.Result ping, Duration window, Map<String, LatencyRecorder.Snapshot> latencies) {
+        Map<String, HealthDetailsDto.EndpointLatencyDto> endpoints = new LinkedHashMap<>();
+        latencies.forEach((name, snapshot) -> endpoints.put(name, toEndpointLatencyDto(snapshot)));
+        return new HealthDetailsDto(
+                ping.up() ? "UP" : "DEGRADED",
+                window.toSeconds(),
+                new HealthDetailsDto.DatabaseDto(
+                        ping.up(), ping.latencyMs(), ping.checkedAt().toString()),
+                endpoints);
+    }
+
+    /** Convert one endpoint's snapshot to an API-facing EndpointLatencyDto. */
+    public static HealthDetailsDto.EndpointLatencyDto toEndpointLatencyDto(
+            LatencyRecorder.Snapshot snapshot) {
+        return new HealthDetailsDto.EndpointLatencyDto(
+                snapshot.count(),
+                snapshot.errorRate(),
+                snapshot.p50Ms(),
+                snapshot.p95Ms(),
+                snapshot.p99Ms(),
+                snapshot.maxMs());
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.backend.mapper;
+
+import org.example.backend.dto.ImportCheckpointDto;
+import org.example.backend.dto.ImportReportDto;
+import org.example.backend.service.UserImporter;
+
+/** Maps bulk import results to API objects. */
+public final class ImportMapper {
+
+    // Prevent instantiation
+    private ImportMapper() {}
+
+    /** Convert a job checkpoint to an API-facing ImportCheckpointDto. */
+    public static ImportCheckpointDto toImportCheckpointDto(UserImporter.Checkpoint checkpoint) {
+        return new ImportCheckpointDto(
+                checkpoint.jobId(),
+                checkpoint.lastLine(),
+                checkpoint.usersImported(),
+                checkpoint.petsImported(),
+                checkpoint.failed(),
+                checkpoint.updatedAt());
+    }
+
+    /** Convert a run report to an API-facing ImportReportDto. */
+    public static ImportReportDto toImportReportDto(UserImporter.Report report) {
+        return new ImportReportDto(
+                report.jobId(),
+                report.linesRead(),
+                report.skipped(),
+                report.usersImported(),
+                report.petsImported(),
+                report.failed(),
+                toImportCheckpointDto(report.total()),
+                report.errors().stream()
+                        .map(e -> new ImportReportDto.LineError(e.line(), e.message()))
+                        .toList());
+    }
+}
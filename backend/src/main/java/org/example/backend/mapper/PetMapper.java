@@ -2,6 +2,7 @@ package org.example.backend.mapper;
 
 import org.example.backend.dto.PetDto;
 import org.example.backend.model.Pet;
+import org.example.backend.model.Species;
 import org.example.backend.model.User;
 
 /**
@@ -29,7 +30,7 @@ public final class PetMapper {
         return new PetDto(
                 pet.getId(),
                 pet.getName(),
-                pet.getType(),
+                pet.getSpecies().displayName(),
                 pet.getLevel(),
                 pet.getFullness(),
                 pet.getHappiness(),
@@ -44,23 +45,22 @@ public final class PetMapper {
      *
      * <p>Notes:
      * <ul>
-     *   <li>If the DTO provides an id, it is copied (for update flows).</li>
+     *   <li>The DTO's id is ignored: ids are assigned on insert.</li>
      *   <li>Level and stats are nullable in the DTO; missing values are defaulted
      *       (e.g., level 1, 80/80/80 for stats).</li>
+     *   <li>{@code type} is resolved against the {@link Species} catalog.</li>
      *   <li>Owner is required and injected as a {@link User} entity.</li>
      *   <li>{@code lastTickAt} is not managed here; it is set by {@code @PrePersist}
      *       and/or the service layer.</li>
      * </ul>
+     *
+     * @throws IllegalArgumentException if the type is not a known species
      */
     public static Pet toEntity(PetDto dto, User owner) {
         Pet pet = new Pet();
 
-        if (dto.getId() != null) {
-            pet.setId(dto.getId());
-        }
-
         pet.setName(dto.getName());
-        pet.setType(dto.getType());
+        pet.setSpecies(Species.fromName(dto.getType()));
 
         // Level & stats (nullable in DTO → default if missing)
         pet.setLevel(defaultOr(dto.getLevel(), 1));
@@ -14,16 +14,46 @@ import lombok.Setter;
  *   <li>Tracks {@code lastTickAt} so the service can apply time-based stat decay.</li>
  *   <li>Uses safe defaults on creation so new pets are always playable.</li>
  * </ul>
+ *
+ * <p>Creation defaults are applied by {@link PetLifecycleListener}, which supplies the
+ * application {@link java.time.Clock}'s time for {@code lastTickAt}.
+ *
+ * <p>Name, species and owner are fixed at creation ({@code updatable = false}), so updates only
+ * write the stat, tick and journal columns. The column set is the same for every pet, which keeps
+ * a flush of many ticked pets in one JDBC batch ({@code @DynamicUpdate} would not: its per-row SQL
+ * splits the batch wherever two pets changed different stats).
  */
 @Getter
 @Setter
 @Entity
-@Table(name = "pets") // Ensure this matches your actual table name
+@EntityListeners(PetLifecycleListener.class)
+@Table(
+        name = "pets", // Ensure this matches your actual table name
+        indexes = {
+            // Created by Flyway (V2__access_path_indexes.sql); declared here for documentation
+            @Index(name = "idx_pets_user_id", columnList = "user_id"),
+            @Index(name = "idx_pets_last_tick_at", columnList = "last_tick_at"),
+            @Index(name = "idx_pets_attention_at", columnList = "attention_at"), // V6
+            @Index(name = "idx_pets_species_id", columnList = "species_id") // V7
+        })
 public class Pet {
 
     // ===== Identity =====
+
+    /**
+     * Allocated from the {@code id_allocations} row of the database the pet is written to (see
+     * {@code V11__pet_id_allocator.sql}), one id per insert: a pooled block would be shared by
+     * every shard behind the routing datasource.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "pet_ids")
+    @TableGenerator(
+            name = "pet_ids",
+            table = "id_allocations",
+            pkColumnName = "name",
+            valueColumnName = "last_id",
+            pkColumnValue = "pets",
+            allocationSize = 1)
     private Long id;
 
     // Overloads to help JPA/mapper code that might pass primitive or wrapper
@@ -36,11 +66,16 @@ public class Pet {
     }
 
     // ===== Basic info =====
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private String name;
 
-    @Column(nullable = false)
-    private String type;
+    /**
+     * Species, stored as its compact id in {@code species_id} (see {@link Species}); exposed as
+     * {@code type} over the API.
+     */
+    @Convert(converter = SpeciesConverter.class)
+    @Column(name = "species_id", nullable = false, updatable = false)
+    private Species species;
 
     /** Pet level; defaults to 1 if unset. */
     private int level;
@@ -64,9 +99,23 @@ public class Pet {
     @Column(name = "last_tick_at", nullable = false)
     private Instant lastTickAt;
 
+    /**
+     * Predicted time at which the first stat drops to the "low" threshold, from the decay model
+     * (maintained by the service on every write; {@code null} until the pet is next written).
+     */
+    @Column(name = "attention_at")
+    private Instant attentionAt;
+
+    /**
+     * Id of the last {@code pet_actions} event folded into this row (event-sourced mode). The row
+     * is the snapshot; events with a higher id still have to be applied on top of it.
+     */
+    @Column(name = "journal_seq", nullable = false)
+    private long journalSeq;
+
     // ===== Relationships =====
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id")
+    @JoinColumn(name = "user_id", updatable = false)
     private User user;
 
     // ===== Constructors =====
@@ -77,19 +126,24 @@ public class Pet {
     }
 
     /** Convenience constructor for quickly creating a new pet with friendly defaults. */
-    public Pet(String name, String type) {
+    public Pet(String name, Species species) {
         this.name = name;
-        this.type = type;
+        this.species = species;
         this.level = 1;
         this.fullness = 80;
         this.happiness = 80;
         this.energy = 80;
-        // lastTickAt is set in @PrePersist
+        // lastTickAt is set on persist (see onCreate)
     }
 
     // ===== Lifecycle hooks =====
-    @PrePersist
-    protected void onCreate() {
+
+    /**
+     * Fill in creation defaults; called before insert by {@link PetLifecycleListener}.
+     *
+     * @param now current time from the application clock
+     */
+    void onCreate(Instant now) {
         // Ensure stats are initialized (covers cases when created via mapper with missing values)
         if (level <= 0) {
             level = 1;
@@ -104,7 +158,7 @@ public class Pet {
 
         // Stamp last tick time if missing
         if (lastTickAt == null) {
-            lastTickAt = Instant.now();
+            lastTickAt = now;
         }
     }
 }
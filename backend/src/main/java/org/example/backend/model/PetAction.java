@@ -0,0 +1,31 @@
+package org.example.backend.model;
+
+/**
+ * Player actions on a pet, as stored in the {@code pet_actions} journal.
+ *
+ * <p>Each action is persisted as its compact {@link #code()} (a {@code TINYINT}).
+ */
+public enum PetAction {
+    FEED(1),
+    PLAY(2),
+    REST(3);
+
+    private final int code;
+
+    PetAction(int code) {
+        this.code = code;
+    }
+
+    /** @return the compact code stored in the journal */
+    public int code() {
+        return code;
+    }
+
+    /** @return the action for a stored journal code */
+    public static PetAction fromCode(int code) {
+        for (PetAction action : values()) {
+            if (action.code == code) return action;
+        }
+        throw new IllegalArgumentException("Unknown pet action code: " + code);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.backend.model;
+
+import jakarta.persistence.PrePersist;
+import java.time.Clock;
+
+/**
+ * JPA lifecycle callbacks for {@link Pet}.
+ *
+ * <p>Instantiated by Hibernate through Spring's bean container, so it can take the application
+ * {@link Clock} (system time normally, a simulated clock in simulation mode) instead of reading
+ * the system time directly.
+ */
+public class PetLifecycleListener {
+
+    private final Clock clock;
+
+    public PetLifecycleListener(Clock clock) {
+        this.clock = clock;
+    }
+
+    @PrePersist
+    void onCreate(Pet pet) {
+        pet.onCreate(clock.instant());
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.backend.model;
+
+import java.util.Locale;
+
+/**
+ * Species catalog: every pet type with its own decay profile.
+ *
+ * <p>An immutable in-memory table, built once at class load. Pets store only the compact
+ * {@link #id()} (a {@code SMALLINT}, see {@link SpeciesConverter}); {@link #fromId} and the
+ * per-species decay profiles are array lookups by id, so ticking never compares strings.
+ *
+ * <p>The rates and caps here are the built-in defaults; the values in effect can be overridden at
+ * runtime (see {@link org.example.backend.tuning.DecayTuning}). Cat keeps the original model's
+ * numbers; the others are tuned around it. Ids are stored in the database: never reuse or
+ * renumber them.
+ */
+public enum Species {
+    // id, name, decay per minute (fullness, energy, happiness), caps in minutes (per tick, backdated)
+    CAT(1, "Cat", 0.20, 0.10, 0.05, 24 * 60, 3 * 24 * 60),
+    DOG(2, "Dog", 0.25, 0.12, 0.04, 24 * 60, 3 * 24 * 60),
+    DRAGON(3, "Dragon", 0.15, 0.08, 0.06, 24 * 60, 4 * 24 * 60),
+    BUNNY(4, "Bunny", 0.30, 0.15, 0.05, 12 * 60, 2 * 24 * 60),
+    BLOB(5, "Blob", 0.10, 0.05, 0.03, 24 * 60, 5 * 24 * 60);
+
+    private static final Species[] BY_ID = new Species[6];
+
+    static {
+        for (Species species : values()) BY_ID[species.id] = species;
+    }
+
+    private final short id;
+    private final String displayName;
+    private final double fullnessDecayPerMin;
+    private final double energyDecayPerMin;
+    private final double happinessDecayPerMin;
+    private final long maxMinutesPerTick;
+    private final long maxBackdatedMinutes;
+
+    Species(
+            int id,
+            String displayName,
+            double fullnessDecayPerMin,
+            double energyDecayPerMin,
+            double happinessDecayPerMin,
+            long maxMinutesPerTick,
+            long maxBackdatedMinutes) {
+        this.id = (short) id;
+        this.displayName = displayName;
+        this.fullnessDecayPerMin = fullnessDecayPerMin;
+        this.energyDecayPerMin = energyDecayPerMin;
+        this.happinessDecayPerMin = happinessDecayPerMin;
+        this.maxMinutesPerTick = maxMinutesPerTick;
+        this.maxBackdatedMinutes = maxBackdatedMinutes;
+    }
+
+    /** @return the compact id stored in {@code pets.species_id} */
+    public short id() {
+        return id;
+    }
+
+    /** @return the name used over the API (e.g. "Cat") */
+    public String displayName() {
+        return displayName;
+    }
+
+    /** Fullness lost per minute. */
+    public double fullnessDecayPerMin() {
+        return fullnessDecayPerMin;
+    }
+
+    /** Energy lost per minute. */
+    public double energyDecayPerMin() {
+        return energyDecayPerMin;
+    }
+
+    /** Happiness lost per minute (before mood effects). */
+    public double happinessDecayPerMin() {
+        return happinessDecayPerMin;
+    }
+
+    /** Most minutes of decay applied by a single tick. */
+    public long maxMinutesPerTick() {
+        return maxMinutesPerTick;
+    }
+
+    /** Most minutes of decay applied for one absence (0 = no cap). */
+    public long maxBackdatedMinutes() {
+        return maxBackdatedMinutes;
+    }
+
+    /** @return the species for a stored id */
+    public static Species fromId(int id) {
+        if (id <= 0 || id >= BY_ID.length || BY_ID[id] == null) {
+            throw new IllegalArgumentException("Unknown species id: " + id);
+        }
+        return BY_ID[id];
+    }
+
+    /** @return the species for an API type name, case-insensitive (e.g. "cat", "Cat") */
+    public static Species fromName(String name) {
+        if (name != null) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ignored) {
+                // fall through to the descriptive error
+            }
+        }
+        throw new IllegalArgumentException("Unknown pet type: " + name);
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.backend.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/** Stores a {@link Species} as its compact id ({@code SMALLINT}). */
+@Converter
+public class SpeciesConverter implements AttributeConverter<Species, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Species species) {
+        return (species == null) ? null : species.id();
+    }
+
+    @Override
+    public Species convertToEntityAttribute(Short id) {
+        return (id == null) ? null : Species.fromId(id);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.backend.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Rate limits {@code /api/auth/**} and {@code /api/pets/**} with {@link TokenBucketLimiter}.
+ *
+ * <p>Endpoint classes (keys of {@code pixelpets.rate-limit.limits}):
+ * <ul>
+ *   <li>{@value #AUTH}: login/register, per client.</li>
+ *   <li>{@value #PET_ACTION}: {@code POST /api/pets/{id}/feed|play|rest}, per client <i>and</i>
+ *       per pet, so one pet cannot be hammered from many clients either.</li>
+ *   <li>{@value #PETS}: every other pet endpoint, per client.</li>
+ * </ul>
+ *
+ * <p>There is no authentication yet, so "client" is the remote address as resolved by the
+ * container: behind a proxy, {@code server.forward-headers-strategy} must be set (the prod profile
+ * does) or every caller shares the proxy's bucket. A request rejected by its pet's bucket gets its
+ * client token back, so only admitted requests count against the client. Rejected requests get
+ * {@code 429 Too Many Requests} with {@code Retry-After} in whole seconds.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String AUTH = "auth";
+    public static final String PET_ACTION = "pet-action";
+    public static final String PETS = "pets";
+
+    private final TokenBucketLimiter limiter;
+    private final Map<String, TokenBucketLimiter.Limit> limits = new HashMap<>();
+
+    public RateLimitInterceptor(TokenBucketLimiter limiter, RateLimitProperties properties) {
+        this.limiter = limiter;
+        properties.getLimits().forEach((name, limit) -> limits.put(name, limit.toBucketLimit()));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String client = request.getRemoteAddr(); // the forwarded client behind a trusted proxy
+        String endpointClass = classify(request);
+
+        String clientKey = endpointClass + ":client:" + client;
+        long waitNanos = acquire(endpointClass, clientKey);
+        if (waitNanos == 0 && PET_ACTION.equals(endpointClass)) {
+            waitNanos = acquire(endpointClass, endpointClass + ":pet:" + pathVariable(request, "id"));
+            if (waitNanos > 0) {
+                limiter.refund(clientKey, limits.get(endpointClass));
+            }
+        }
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests\"}");
+        return false;
+    }
+
+    // ===== Helpers =====
+
+    private long acquire(String endpointClass, String key) {
+        TokenBucketLimiter.Limit limit = limits.get(endpointClass);
+        return (limit == null) ? 0 : limiter.tryAcquire(key, limit);
+    }
+
+    private static String classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if ("POST".equals(request.getMethod()) && path.matches("/api/pets/\\d+/(feed|play|rest)/?")) {
+            return PET_ACTION;
+        }
+        return PETS;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String pathVariable(HttpServletRequest request, String name) {
+        Map<String, String> vars =
+                (Map<String, String>)
+                        request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return (vars == null) ? null : vars.get(name);
+    }
+}
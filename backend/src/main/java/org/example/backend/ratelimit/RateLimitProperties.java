@@ -0,0 +1,43 @@
+package org.example.backend.ratelimit;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings for API rate limiting ({@code pixelpets.rate-limit.*}).
+ *
+ * <p>Limits are per endpoint class (see {@link RateLimitInterceptor}); a class without an entry is
+ * not limited. Example:
+ * <pre>
+ * pixelpets.rate-limit.limits.pet-action.rate-per-second=5
+ * pixelpets.rate-limit.limits.pet-action.burst=10
+ * </pre>
+ */
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    /** Turns rate limiting on. */
+    private boolean enabled = true;
+
+    /** How often idle (full) buckets are dropped. */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /** Bucket shape per endpoint class. */
+    private Map<String, Limit> limits = new LinkedHashMap<>();
+
+    /** Sustained rate and burst for one endpoint class. */
+    @Getter
+    @Setter
+    public static class Limit {
+        private double ratePerSecond = 10;
+        private int burst = 20;
+
+        public TokenBucketLimiter.Limit toBucketLimit() {
+            return new TokenBucketLimiter.Limit(ratePerSecond, burst);
+        }
+    }
+}
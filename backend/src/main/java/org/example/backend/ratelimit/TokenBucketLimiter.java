@@ -0,0 +1,88 @@
+package org.example.backend.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key token buckets without a global lock.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding its "theoretical arrival time" (GCRA, the
+ * generic cell rate algorithm): the instant at which the bucket would be full again. Taking a token
+ * pushes it one emission interval ({@code 1 / rate}) into the future; a request is rejected when
+ * that would put it more than {@code burst} intervals ahead of now. Refill is therefore implicit in
+ * the clock, and each acquire is one CAS loop on its own key.
+ *
+ * <p>Buckets that are full again are idle and carry no state worth keeping; they are swept out at
+ * most once per {@code sweepInterval}, by whichever caller notices first. A request racing with the
+ * sweep of its key may see a fresh (full) bucket, which at worst admits one extra burst.
+ */
+public class TokenBucketLimiter {
+
+    /** A bucket shape: sustained rate and burst size. */
+    public record Limit(double ratePerSecond, int burst) {
+
+        long intervalNanos() {
+            return (long) (1_000_000_000L / ratePerSecond);
+        }
+    }
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long sweepIntervalNanos;
+    private final AtomicLong nextSweep;
+
+    public TokenBucketLimiter(Duration sweepInterval) {
+        this.sweepIntervalNanos = sweepInterval.toNanos();
+        this.nextSweep = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+    }
+
+    /**
+     * Take one token from {@code key}'s bucket.
+     *
+     * @return {@code 0} if allowed; otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, Limit limit) {
+        long now = System.nanoTime();
+        sweepIfDue(now);
+
+        long interval = limit.intervalNanos();
+        long tolerance = interval * limit.burst();
+        AtomicLong tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            long ahead = next - now;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken by {@link #tryAcquire} for a request that was rejected by another
+     * limit after all.
+     */
+    public void refund(String key, Limit limit) {
+        AtomicLong tat = buckets.get(key);
+        if (tat != null) {
+            tat.addAndGet(-limit.intervalNanos()); // below now just means a full bucket
+        }
+    }
+
+    /** @return number of tracked (non-idle) buckets */
+    public int size() {
+        return buckets.size();
+    }
+
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+            return;
+        }
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+    }
+}
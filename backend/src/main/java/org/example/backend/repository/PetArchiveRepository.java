@@ -0,0 +1,173 @@
+package org.example.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Moves pets between the hot {@code pets} table and the cold {@code pets_archive} table.
+ *
+ * <p>Plain JDBC on the application datasource, so every call joins the caller's transaction and
+ * shard (call it from {@link org.example.backend.service.PetService}). A move is
+ * "lock, copy, delete": the source rows are locked first, so a pet is never in both tables and two
+ * concurrent rehydrations of the same pet do not both insert it.
+ *
+ * <p>Archived rows keep their id, owner, stats, {@code last_tick_at} and {@code journal_seq};
+ * {@code attention_at} is dropped and recomputed once the pet is ticked after rehydration.
+ *
+ * <p>Rehydration runs on every owner list and every missed lookup by id, so it costs nothing
+ * unless {@code pixelpets.archive.rehydrate} is on (default: {@code pixelpets.archive.enabled};
+ * keep it on after turning the archive job off while archived pets remain). Even then it reads
+ * without locking first, and only locks the archive rows it found.
+ */
+@Repository
+public class PetArchiveRepository {
+
+    /** Columns shared by both tables. */
+    private static final String COLUMNS =
+            "id, user_id, name, species_id, level, hunger, happiness, energy, last_tick_at, journal_seq";
+
+    /**
+     * Dormant pets, oldest first (range scan on {@code idx_pets_last_tick_at}). Pets with journal
+     * events not yet folded into the row stay hot until compaction catches up.
+     */
+    private static final String SELECT_DORMANT =
+            "SELECT p.id FROM pets p WHERE p.last_tick_at < :cutoff AND NOT EXISTS"
+                    + " (SELECT 1 FROM pet_actions a WHERE a.pet_id = p.id AND a.id > p.journal_seq)"
+                    + " ORDER BY p.last_tick_at LIMIT :limit FOR UPDATE";
+
+    private static final String ARCHIVE =
+            "INSERT INTO pets_archive ("
+                    + COLUMNS
+                    + ", archived_at) SELECT "
+                    + COLUMNS
+                    + ", :archivedAt FROM pets WHERE id IN (:ids)";
+
+    private static final String RESTORE =
+            "INSERT INTO pets (" + COLUMNS + ") SELECT " + COLUMNS + " FROM pets_archive WHERE id IN (:ids)";
+
+    /**
+     * Restore every archived pet of one owner ({@code ?} = user id), for callers that already hold
+     * the owner's rows (see {@link org.example.backend.shard.ShardRebalancer}).
+     */
+    public static final String RESTORE_OWNER =
+            "INSERT INTO pets (" + COLUMNS + ") SELECT " + COLUMNS + " FROM pets_archive WHERE user_id = ?";
+
+    /** Companion to {@link #RESTORE_OWNER}. */
+    public static final String DELETE_OWNER = "DELETE FROM pets_archive WHERE user_id = ?";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final boolean rehydrateEnabled;
+
+    public PetArchiveRepository(
+            DataSource dataSource,
+            @Value("${pixelpets.archive.rehydrate:${pixelpets.archive.enabled:false}}")
+                    boolean rehydrateEnabled) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        this.rehydrateEnabled = rehydrateEnabled;
+    }
+
+    // ===== Archive =====
+
+    /**
+     * Move up to {@code limit} pets last ticked before {@code cutoff} into the archive.
+     *
+     * @param cutoff pets with an older {@code last_tick_at} are dormant
+     * @param limit most pets moved
+     * @param now archive timestamp
+     * @return ids of the archived pets
+     */
+    public List<Long> archiveDormant(Instant cutoff, int limit, Instant now) {
+        List<Long> ids =
+                jdbc.queryForList(
+                        SELECT_DORMANT,
+                        Map.of("cutoff", Timestamp.from(cutoff), "limit", limit),
+                        Long.class);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        jdbc.update(ARCHIVE, Map.of("ids", ids, "archivedAt", Timestamp.from(now)));
+        jdbc.update("DELETE FROM pets WHERE id IN (:ids)", Map.of("ids", ids));
+        return ids;
+    }
+
+    // ===== Rehydrate =====
+
+    /**
+     * Move the given pets back into {@code pets}, if they are archived.
+     *
+     * @return ids actually rehydrated (empty in the common case: one indexed, unlocked lookup)
+     */
+    public List<Long> rehydrate(Collection<Long> ids) {
+        if (!rehydrateEnabled || ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> archived =
+                jdbc.queryForList(
+                        "SELECT id FROM pets_archive WHERE id IN (:ids)",
+                        Map.of("ids", ids),
+                        Long.class);
+        if (archived.isEmpty()) {
+            return archived;
+        }
+        return rehydrateLocked(archived);
+    }
+
+    /**
+     * Move all of one owner's archived pets back into {@code pets}.
+     *
+     * @return ids rehydrated (empty in the common case: one indexed, unlocked lookup)
+     */
+    public List<Long> rehydrateOwner(long userId) {
+        if (!rehydrateEnabled) {
+            return List.of();
+        }
+        List<Long> archived =
+                jdbc.queryForList(
+                        "SELECT id FROM pets_archive WHERE user_id = :userId",
+                        Map.of("userId", userId),
+                        Long.class);
+        if (archived.isEmpty()) {
+            return archived;
+        }
+        // Lock by id: a concurrent rehydration may have taken some of them meanwhile
+        return rehydrateLocked(archived);
+    }
+
+    /** Lock whichever of {@code ids} are still archived and move them back. */
+    private List<Long> rehydrateLocked(List<Long> ids) {
+        return restore(
+                jdbc.queryForList(
+                        "SELECT id FROM pets_archive WHERE id IN (:ids) FOR UPDATE",
+                        Map.of("ids", ids),
+                        Long.class));
+    }
+
+    /** Copy locked archive rows to {@code pets} and drop them from the archive. */
+    private List<Long> restore(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        jdbc.update(RESTORE, Map.of("ids", ids));
+        jdbc.update("DELETE FROM pets_archive WHERE id IN (:ids)", Map.of("ids", ids));
+        return ids;
+    }
+
+    // ===== Delete =====
+
+    /** Delete one archived pet; returns {@code true} if it was archived. */
+    public boolean delete(long id) {
+        return jdbc.update("DELETE FROM pets_archive WHERE id = :id", Map.of("id", id)) > 0;
+    }
+
+    /** Delete all of one owner's archived pets; returns how many there were. */
+    public int deleteByUserId(long userId) {
+        return jdbc.getJdbcTemplate().update(DELETE_OWNER, userId);
+    }
+}
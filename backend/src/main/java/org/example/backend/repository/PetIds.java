@@ -0,0 +1,59 @@
+package org.example.backend.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Reserves pet ids for JDBC inserts that bypass Hibernate.
+ *
+ * <p>Shares the {@code pets} row of {@code id_allocations} (see {@code V11__pet_id_allocator.sql})
+ * with the table generator on {@link org.example.backend.model.Pet}. The reservation commits on
+ * its own connection, so the row is only locked for two statements, never for the caller's
+ * transaction; ids of a rolled-back insert are simply skipped.
+ */
+public final class PetIds {
+
+    private PetIds() {}
+
+    /**
+     * Reserve {@code count} consecutive ids on the database behind {@code dataSource}.
+     *
+     * @return the first reserved id
+     */
+    public static long reserve(DataSource dataSource, int count) {
+        try (Connection con = dataSource.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (PreparedStatement select =
+                            con.prepareStatement(
+                                    "SELECT last_id FROM id_allocations WHERE name = 'pets'"
+                                            + " FOR UPDATE");
+                    PreparedStatement update =
+                            con.prepareStatement(
+                                    "UPDATE id_allocations SET last_id = ? WHERE name = 'pets'")) {
+                long last;
+                try (ResultSet rs = select.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new IllegalStateException("id_allocations has no row for pets");
+                    }
+                    last = rs.getLong(1);
+                }
+                update.setLong(1, last + count);
+                update.executeUpdate();
+                con.commit();
+                return last + 1;
+            } catch (SQLException | RuntimeException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Failed to reserve pet ids", e);
+        }
+    }
+}
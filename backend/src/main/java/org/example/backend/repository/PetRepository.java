@@ -1,8 +1,15 @@
 package org.example.backend.repository;
 
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import org.example.backend.model.Pet;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -16,8 +23,102 @@ public interface PetRepository extends JpaRepository<Pet, Long> {
     /**
      * Find all pets owned by the given user.
      *
+     * <p>Filters on the {@code user_id} foreign key directly; the derived query would add a join
+     * to {@code users}, which also does not exist on pet shards.
+     *
      * @param userId ID of the owning {@link org.example.backend.model.User}
      * @return list of pets belonging to that user
      */
+    @Query("select p from Pet p where p.user.id = :userId")
     List<Pet> findByUserId(Long userId);
+
+    /**
+     * Find pets predicted to need attention between {@code since} and {@code cutoff}, soonest
+     * first.
+     *
+     * <p>Range scan on {@code idx_pets_attention_at} (no ticking of unrelated pets). The lower
+     * bound keeps long-abandoned pets, whose predictions lie far in the past, from filling the
+     * limit ahead of the ones about to get low.
+     *
+     * @param since earliest predicted attention time to include
+     * @param cutoff latest predicted attention time to include
+     * @param limit most pets returned
+     */
+    @Query(
+            "select p from Pet p where p.attentionAt >= :since and p.attentionAt <= :cutoff"
+                    + " order by p.attentionAt")
+    List<Pet> findNeedingAttentionBetween(Instant since, Instant cutoff, Limit limit);
+
+    /**
+     * Same as {@link #findNeedingAttentionBetween}, restricted to one owner.
+     */
+    @Query(
+            "select p from Pet p where p.user.id = :userId and p.attentionAt >= :since"
+                    + " and p.attentionAt <= :cutoff order by p.attentionAt")
+    List<Pet> findNeedingAttentionBetweenForUser(Long userId, Instant since, Instant cutoff);
+
+    /**
+     * One page of pets in id order (keyset pagination for background passes).
+     *
+     * @param afterId last id of the previous page ({@code 0} to start)
+     * @param limit page size
+     */
+    @Query("select p from Pet p where p.id > :afterId order by p.id")
+    List<Pet> findPageAfter(Long afterId, Limit limit);
+
+    /**
+     * Store a recomputed attention prediction, but only if the stats it was computed from are
+     * still the stored ones: a concurrent write has already stored its own prediction.
+     *
+     * @return {@code 1} if updated, {@code 0} if the pet changed or is gone
+     */
+    @Modifying
+    @Query(
+            "update Pet p set p.attentionAt = :attentionAt where p.id = :id"
+                    + " and p.lastTickAt = :lastTickAt and p.fullness = :fullness"
+                    + " and p.energy = :energy and p.happiness = :happiness")
+    int updateAttentionAtIfUnchanged(
+            Long id,
+            Instant attentionAt,
+            Instant lastTickAt,
+            int fullness,
+            int energy,
+            int happiness);
+
+    /**
+     * Delete all pets owned by the given user in a single statement.
+     *
+     * @param userId ID of the owning {@link org.example.backend.model.User}
+     * @return number of pets deleted
+     */
+    @Modifying
+    @Query("delete from Pet p where p.user.id = :userId")
+    int deleteByUserId(Long userId);
+
+    /**
+     * Load a pet under a shared row lock ({@code FOR SHARE} on MySQL).
+     *
+     * <p>Used by journal appends: they don't block each other, but do wait for (and are waited on
+     * by) exclusive locks such as a rebalancer move of the owner.
+     *
+     * @param id pet id
+     * @return the pet, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select p from Pet p where p.id = :id")
+    Optional<Pet> findWithSharedLockById(Long id);
+
+    /**
+     * Load a pet under an exclusive row lock ({@code FOR UPDATE}).
+     *
+     * <p>Used by journal compaction: the lock is granted only once every in-flight append for the
+     * pet (each holding {@link #findWithSharedLockById}'s shared lock) has committed or rolled
+     * back, so the pet's journal is settled while it is folded.
+     *
+     * @param id pet id
+     * @return the pet, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Pet p where p.id = :id")
+    Optional<Pet> findForUpdateById(Long id);
 }
@@ -0,0 +1,73 @@
+package org.example.backend.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the pet types that the species migration cannot map.
+ *
+ * <p>{@code V7__pet_species_id.sql} (shard: {@code V4}) turns {@code pets.type} into a catalog id
+ * and maps anything outside the catalog to blob before dropping the column. Right before that
+ * migration runs, this callback copies every such pet's id and original type to
+ * {@code pets_species_unmapped} and logs how many there are, so they can be fixed by hand instead
+ * of being silently lost. Registered for the primary and every shard.
+ */
+public class UnmappedSpeciesCallback implements Callback {
+
+    private static final Logger log = LoggerFactory.getLogger(UnmappedSpeciesCallback.class);
+
+    /** Description of the species migration, the same on the primary and on the shards. */
+    static final String MIGRATION = "pet species id";
+
+    /** Same table as {@code V14__pets_species_unmapped.sql} (shard: {@code V9}) declares. */
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS pets_species_unmapped ("
+                    + " pet_id BIGINT NOT NULL, type VARCHAR(255) NOT NULL, PRIMARY KEY (pet_id))";
+
+    private static final String COPY_UNMAPPED =
+            "INSERT INTO pets_species_unmapped (pet_id, type) SELECT id, type FROM pets"
+                    + " WHERE LOWER(TRIM(type)) NOT IN ('cat', 'dog', 'dragon', 'bunny', 'blob')";
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        MigrationInfo migration = context.getMigrationInfo();
+        if (migration == null || !MIGRATION.equals(migration.getDescription())) {
+            return;
+        }
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+            int unmapped = statement.executeUpdate(COPY_UNMAPPED);
+            if (unmapped > 0) {
+                log.warn(
+                        "{} pet(s) have a type outside the species catalog and become blob;"
+                                + " their original types are kept in pets_species_unmapped",
+                        unmapped);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to keep unmapped pet types", e);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "unmappedSpecies";
+    }
+}
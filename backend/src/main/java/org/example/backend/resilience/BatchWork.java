@@ -0,0 +1,17 @@
+package org.example.backend.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method whose run time grows with the data: scheduled maintenance batches and
+ * full scans. {@link DatabaseGuardAspect} still rejects it while the breaker is open and counts its
+ * database failures, but it takes no bulkhead permit and is never counted as a slow call.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BatchWork {}
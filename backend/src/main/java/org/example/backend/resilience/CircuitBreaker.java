@@ -0,0 +1,171 @@
+package org.example.backend.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * <p>States:
+ * <ul>
+ *   <li>{@link State#CLOSED}: calls pass; outcomes go into a sliding window of the last
+ *       {@code windowSize} calls. Once it holds at least {@code minimumCalls} outcomes and the
+ *       failure rate reaches the threshold, the breaker opens.</li>
+ *   <li>{@link State#OPEN}: calls are rejected until {@code openDuration} has passed.</li>
+ *   <li>{@link State#HALF_OPEN}: up to {@code halfOpenCalls} trial calls pass; one failure opens
+ *       the breaker again, {@code halfOpenCalls} successes close it.</li>
+ * </ul>
+ *
+ * <p>Callers pair every successful {@link #tryAcquire()} with exactly one of {@link #onSuccess()},
+ * {@link #onFailure()} or {@link #release()}. Outcomes of calls admitted in an earlier state may
+ * land in the current one; with a window of dozens of calls that is noise, not a wrong decision.
+ */
+public class CircuitBreaker {
+
+    /** Breaker states; {@link #code()} is the value of the state gauge. */
+    public enum State {
+        CLOSED(0),
+        OPEN(1),
+        HALF_OPEN(2);
+
+        private final int code;
+
+        State(int code) {
+            this.code = code;
+        }
+
+        public int code() {
+            return code;
+        }
+    }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoTime;
+
+    private State state = State.CLOSED;
+    private int recorded; // outcomes in the window
+    private int next; // ring index of the next outcome
+    private int failures; // failures in the window
+    private long openedAt;
+    private int trialsAdmitted;
+    private int trialSuccesses;
+
+    /**
+     * @param windowSize number of recent calls the failure rate is computed over
+     * @param minimumCalls calls needed in the window before the breaker may open
+     * @param failureRateThreshold failure rate (0–1) at which the breaker opens
+     * @param openDuration how long the breaker stays open before trial calls
+     * @param halfOpenCalls trial calls admitted while half-open
+     * @param nanoTime time source ({@code System::nanoTime} outside tests)
+     */
+    public CircuitBreaker(
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            Duration openDuration,
+            int halfOpenCalls,
+            LongSupplier nanoTime) {
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoTime = nanoTime;
+    }
+
+    // ===== Calls =====
+
+    /** @return whether a call may proceed now */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoTime.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialsAdmitted = 0;
+            trialSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsAdmitted >= halfOpenCalls) {
+                return false;
+            }
+            trialsAdmitted++;
+        }
+        return true;
+    }
+
+    /** An admitted call succeeded. */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++trialSuccesses >= halfOpenCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            recordOutcome(false);
+        }
+    }
+
+    /** An admitted call failed on the database. */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            recordOutcome(true);
+            if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+                open();
+            }
+        }
+    }
+
+    /** An admitted call did not run (e.g. rejected by the bulkhead); it has no outcome. */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && trialsAdmitted > trialSuccesses) {
+            trialsAdmitted--;
+        }
+    }
+
+    // ===== State =====
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /** @return time until an open breaker admits trial calls (zero unless open) */
+    public synchronized Duration remainingOpen() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openNanos - (nanoTime.getAsLong() - openedAt)));
+    }
+
+    private void recordOutcome(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoTime.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+}
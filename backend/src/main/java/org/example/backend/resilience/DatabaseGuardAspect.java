@@ -0,0 +1,226 @@
+package org.example.backend.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Guards database work behind a {@link CircuitBreaker} and a concurrency bulkhead, at the
+ * {@code PetService}/{@code UserService} entry points:
+ * <ul>
+ *   <li>The breaker rejects calls outright while open.</li>
+ *   <li>The bulkhead caps concurrent calls; a call that cannot get a permit within
+ *       {@code maxWait} is rejected rather than queued, so a slow database ties up at most
+ *       {@code maxConcurrent} request threads and the rest (health checks included) keep
+ *       answering.</li>
+ * </ul>
+ * Rejections throw {@link DatabaseUnavailableException} (503).
+ *
+ * <p>Connection, timeout and transaction-start failures count as breaker failures, and so do
+ * calls slower than {@code slowCallThreshold}; other exceptions (404s, conflicts, validation) are
+ * the database answering and count as successes.
+ *
+ * <p>Ordered inside read coalescing, so a coalesced burst takes one permit, and outside shard
+ * routing and the transaction advice, so a rejected call never takes a connection. Nested service
+ * calls run under their caller's permit.
+ *
+ * <p>The {@code UserService} methods that hash passwords are left out of the pointcut: BCrypt is
+ * deliberately slow, and its CPU time would hold a permit and count towards slow calls. They hash
+ * first and then run their database work through {@link #call}. Batches and full scans
+ * ({@link BatchWork}) only go through the breaker: a page of compaction or a scan of every pet
+ * would otherwise hold a permit for its whole run and count as a slow call.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 2) // after stale reads and read coalescing
+public class DatabaseGuardAspect {
+
+    private static final ThreadLocal<Boolean> GUARDED = new ThreadLocal<>();
+
+    private final CircuitBreaker breaker;
+    private final Semaphore bulkhead;
+    private final long maxWaitNanos;
+    private final long slowCallNanos;
+    private final Counter breakerRejections;
+    private final Counter bulkheadRejections;
+
+    /**
+     * @param breaker the database circuit breaker
+     * @param maxConcurrent most concurrent guarded calls
+     * @param maxWait longest wait for a bulkhead permit
+     * @param slowCallThreshold calls slower than this count as failures
+     * @param registry meter registry for the breaker state and rejection counts
+     */
+    public DatabaseGuardAspect(
+            CircuitBreaker breaker,
+            int maxConcurrent,
+            Duration maxWait,
+            Duration slowCallThreshold,
+            MeterRegistry registry) {
+        this.breaker = breaker;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        Gauge.builder("pixelpets.db.breaker.state", breaker, b -> b.state().code())
+                .description("Database circuit breaker: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+        Gauge.builder("pixelpets.db.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Free database bulkhead permits")
+                .register(registry);
+        this.breakerRejections =
+                Counter.builder("pixelpets.db.rejected")
+                        .tag("reason", "breaker-open")
+                        .description("Service calls rejected without touching the database")
+                        .register(registry);
+        this.bulkheadRejections =
+                Counter.builder("pixelpets.db.rejected")
+                        .tag("reason", "bulkhead-full")
+                        .description("Service calls rejected without touching the database")
+                        .register(registry);
+    }
+
+    /** A guarded invocation (an advised method, or work passed to {@link #call}). */
+    @FunctionalInterface
+    private interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    @Around(
+            "(execution(public * org.example.backend.service.PetService.*(..))"
+                    + " || execution(public * org.example.backend.service.UserService.*(..)))"
+                    + " && !execution(* org.example.backend.service.UserService.saveUser(..))"
+                    + " && !execution(* org.example.backend.service.UserService"
+                    + ".registerNewUser(..))"
+                    + " && !execution(* org.example.backend.service.UserService.updateUser(..))")
+    public Object guard(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        if (method.isAnnotationPresent(BatchWork.class)) {
+            return guardBatch(pjp::proceed);
+        }
+        return guard(pjp::proceed);
+    }
+
+    /**
+     * Run {@code work} under the breaker and the bulkhead, for callers that keep CPU-bound steps
+     * outside the guarded part.
+     *
+     * @throws DatabaseUnavailableException if the breaker is open or the bulkhead is full
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T call(Supplier<T> work) {
+        try {
+            return (T) guard(work::get);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t); // a Supplier throws nothing checked
+        }
+    }
+
+    private Object guard(Invocation invocation) throws Throwable {
+        if (GUARDED.get() != null) {
+            return invocation.proceed(); // nested call: the caller holds the permit
+        }
+        if (!breaker.tryAcquire()) {
+            breakerRejections.increment();
+            throw new DatabaseUnavailableException(
+                    "Database circuit breaker is open", breaker.remainingOpen());
+        }
+        if (!acquirePermit()) {
+            breaker.release();
+            bulkheadRejections.increment();
+            throw new DatabaseUnavailableException("Database bulkhead is full", Duration.ofSeconds(1));
+        }
+        GUARDED.set(Boolean.TRUE);
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            return invocation.proceed();
+        } catch (Throwable t) {
+            failed = isDatabaseFailure(t);
+            throw t;
+        } finally {
+            GUARDED.remove();
+            bulkhead.release();
+            if (failed || System.nanoTime() - start > slowCallNanos) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        }
+    }
+
+    /** Breaker only: no bulkhead permit, and no slow-call accounting. */
+    private Object guardBatch(Invocation invocation) throws Throwable {
+        if (GUARDED.get() != null) {
+            return invocation.proceed();
+        }
+        if (!breaker.tryAcquire()) {
+            breakerRejections.increment();
+            throw new DatabaseUnavailableException(
+                    "Database circuit breaker is open", breaker.remainingOpen());
+        }
+        GUARDED.set(Boolean.TRUE);
+        boolean failed = false;
+        try {
+            return invocation.proceed();
+        } catch (Throwable t) {
+            failed = isDatabaseFailure(t);
+            throw t;
+        } finally {
+            GUARDED.remove();
+            if (failed) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        }
+    }
+
+    /**
+     * @return whether {@code t} (or a cause) means the database is unreachable or not keeping up,
+     *     rather than answering with an error
+     */
+    public static boolean isDatabaseFailure(Throwable t) {
+        for (Throwable c = t; c != null; c = c.getCause()) {
+            if (c instanceof DataAccessResourceFailureException
+                    || c instanceof TransientDataAccessResourceException
+                    || c instanceof QueryTimeoutException
+                    || c instanceof CannotCreateTransactionException
+                    || c instanceof SQLTransientConnectionException
+                    || c instanceof SQLNonTransientConnectionException
+                    || c instanceof SQLRecoverableException
+                    || c instanceof SQLTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
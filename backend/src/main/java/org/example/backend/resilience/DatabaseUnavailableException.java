@@ -0,0 +1,22 @@
+package org.example.backend.resilience;
+
+import java.time.Duration;
+
+/**
+ * A service call was rejected without touching the database: the circuit breaker is open or the
+ * bulkhead is full. Mapped to 503 with {@code Retry-After} by {@code ApiErrorHandler}.
+ */
+public class DatabaseUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public DatabaseUnavailableException(String message, Duration retryAfter) {
+        super(message, null, false, false); // thrown on every rejected call: skip the stack trace
+        this.retryAfter = retryAfter;
+    }
+
+    /** @return how long the client should wait before retrying */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
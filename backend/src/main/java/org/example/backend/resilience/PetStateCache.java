@@ -0,0 +1,158 @@
+package org.example.backend.resilience;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.example.backend.changelog.ChangeListener;
+import org.example.backend.changelog.ChangeLog;
+import org.example.backend.model.Pet;
+import org.example.backend.model.Species;
+import org.example.backend.model.User;
+
+/**
+ * Bounded cache of the last projected state of recently read pets, for stale reads while the
+ * database is unavailable (see {@link StaleReadAspect}).
+ *
+ * <p>Entries are detached value copies, never entities, and are handed out as fresh {@link Pet}
+ * instances. The least recently written pets are evicted first. Owner lists are only kept for
+ * owners whose pets were read as a list, and only while all of their pets are still cached.
+ *
+ * <p>Registered as a {@link ChangeListener}, so writes from any instance drop the affected entries
+ * within a change log poll.
+ */
+public class PetStateCache implements ChangeListener {
+
+    /** A pet's state when it was last read. */
+    private record PetState(
+            long id,
+            String name,
+            Species species,
+            int level,
+            int fullness,
+            int happiness,
+            int energy,
+            Instant lastTickAt,
+            Instant attentionAt,
+            long journalSeq,
+            Long userId) {
+
+        static PetState of(Pet pet) {
+            User user = pet.getUser();
+            return new PetState(
+                    pet.getId(),
+                    pet.getName(),
+                    pet.getSpecies(),
+                    pet.getLevel(),
+                    pet.getFullness(),
+                    pet.getHappiness(),
+                    pet.getEnergy(),
+                    pet.getLastTickAt(),
+                    pet.getAttentionAt(),
+                    pet.getJournalSeq(),
+                    (user != null) ? user.getId() : null); // a lazy proxy knows its id
+        }
+
+        Pet toPet() {
+            Pet pet = new Pet();
+            pet.setId(id);
+            pet.setName(name);
+            pet.setSpecies(species);
+            pet.setLevel(level);
+            pet.setFullness(fullness);
+            pet.setHappiness(happiness);
+            pet.setEnergy(energy);
+            pet.setLastTickAt(lastTickAt);
+            pet.setAttentionAt(attentionAt);
+            pet.setJournalSeq(journalSeq);
+            if (userId != null) {
+                User owner = new User();
+                owner.setId(userId);
+                pet.setUser(owner);
+            }
+            return pet;
+        }
+    }
+
+    private final Map<Long, PetState> pets;
+    private final Map<Long, List<Long>> owners = new LinkedHashMap<>();
+
+    /** @param maxPets most pets kept */
+    public PetStateCache(int maxPets) {
+        this.pets =
+                new LinkedHashMap<>(16, 0.75f, false) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Long, PetState> eldest) {
+                        return size() > maxPets;
+                    }
+                };
+    }
+
+    // ===== Writes =====
+
+    /** Remember the state of one pet. */
+    public synchronized void put(Pet pet) {
+        if (pet.getId() != null) {
+            pets.remove(pet.getId()); // re-insert: eviction order follows the latest write
+            pets.put(pet.getId(), PetState.of(pet));
+        }
+    }
+
+    /** Remember an owner's complete list of pets. */
+    public synchronized void putOwner(long userId, Collection<Pet> ownerPets) {
+        List<Long> ids = new ArrayList<>(ownerPets.size());
+        for (Pet pet : ownerPets) {
+            put(pet);
+            ids.add(pet.getId());
+        }
+        owners.put(userId, ids);
+    }
+
+    @Override
+    public synchronized void invalidate(ChangeLog.Entity entity, Set<Long> ids) {
+        if (entity == ChangeLog.Entity.PET) {
+            ids.forEach(pets::remove);
+            return;
+        }
+        for (Long userId : ids) {
+            List<Long> petIds = owners.remove(userId);
+            if (petIds != null) {
+                petIds.forEach(pets::remove);
+            }
+        }
+        pets.values().removeIf(state -> state.userId() != null && ids.contains(state.userId()));
+    }
+
+    // ===== Reads =====
+
+    /** @return the pet's last known state, or {@code null} */
+    public synchronized Pet get(long petId) {
+        PetState state = pets.get(petId);
+        return (state != null) ? state.toPet() : null;
+    }
+
+    /** @return the owner's last known pets, or {@code null} if not all of them are cached */
+    public synchronized List<Pet> getOwner(long userId) {
+        List<Long> ids = owners.get(userId);
+        if (ids == null) {
+            return null;
+        }
+        List<Pet> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            PetState state = pets.get(id);
+            if (state == null) {
+                owners.remove(userId); // partly evicted: the list would be incomplete
+                return null;
+            }
+            result.add(state.toPet());
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return pets.size();
+    }
+}
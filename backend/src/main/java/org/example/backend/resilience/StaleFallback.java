@@ -0,0 +1,28 @@
+package org.example.backend.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose result may be served from the last known state when the database is
+ * unavailable (see {@link StaleReadAspect}). The first parameter is the key.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StaleFallback {
+
+    /** What the first parameter identifies. */
+    Key value();
+
+    /** Kinds of fallback keys. */
+    enum Key {
+        /** A pet id; the method returns a {@code Pet}. */
+        PET_ID,
+        /** An owner's user id; the method returns that owner's {@code List<Pet>}. */
+        USER_ID
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.backend.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.List;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.backend.model.Pet;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Stale-while-error reads for {@code PetService}:
+ * <ul>
+ *   <li>Every successful call that returns a {@link Pet}, and every {@link StaleFallback} read,
+ *       records the projected state in the {@link PetStateCache}.</li>
+ *   <li>When a {@link StaleFallback} read is rejected by the {@link DatabaseGuardAspect} or fails
+ *       on the database, the last known state is returned instead and the response is marked with
+ *       {@code X-Data-Stale: true}. Without a cached state the error propagates.</li>
+ * </ul>
+ * Writes are never served stale: they fail with 503.
+ *
+ * <p>Ordered first, outside read coalescing, so every caller of a coalesced read that failed gets
+ * its own fallback (and its own header).
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE) // outermost: sees the errors of coalescing and the guard
+public class StaleReadAspect {
+
+    /** Response header set on stale responses. */
+    public static final String STALE_HEADER = "X-Data-Stale";
+
+    private final PetStateCache cache;
+    private final Counter staleServed;
+
+    public StaleReadAspect(PetStateCache cache, MeterRegistry registry) {
+        this.cache = cache;
+        this.staleServed =
+                Counter.builder("pixelpets.db.stale.served")
+                        .description("Reads answered from the last known pet state")
+                        .register(registry);
+    }
+
+    @Around("execution(public * org.example.backend.service.PetService.*(..))")
+    public Object readThrough(ProceedingJoinPoint pjp) throws Throwable {
+        StaleFallback fallback =
+                ((MethodSignature) pjp.getSignature()).getMethod().getAnnotation(StaleFallback.class);
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable t) {
+            if (fallback == null
+                    || !(t instanceof DatabaseUnavailableException
+                            || DatabaseGuardAspect.isDatabaseFailure(t))) {
+                throw t;
+            }
+            Object stale = lastKnown(fallback.value(), pjp.getArgs()[0]);
+            if (stale == null) {
+                throw t;
+            }
+            staleServed.increment();
+            markStale();
+            return stale;
+        }
+        remember(fallback, pjp.getArgs(), result);
+        return result;
+    }
+
+    // ===== Helpers =====
+
+    private void remember(StaleFallback fallback, Object[] args, Object result) {
+        if (result instanceof Pet pet) {
+            cache.put(pet);
+        } else if (fallback != null
+                && fallback.value() == StaleFallback.Key.USER_ID
+                && args[0] instanceof Long userId
+                && result instanceof List<?> pets) {
+            @SuppressWarnings("unchecked")
+            List<Pet> ownerPets = (List<Pet>) pets;
+            cache.putOwner(userId, ownerPets);
+        }
+    }
+
+    private Object lastKnown(StaleFallback.Key key, Object arg) {
+        if (!(arg instanceof Long id)) {
+            return null;
+        }
+        return switch (key) {
+            case PET_ID -> cache.get(id);
+            case USER_ID -> cache.getOwner(id);
+        };
+    }
+
+    private static void markStale() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            HttpServletResponse response = servlet.getResponse();
+            if (response != null) {
+                response.setHeader(STALE_HEADER, "true");
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.backend.service;
+
+import java.util.List;
+import java.util.Set;
+import org.example.backend.shard.ShardContext;
+import org.example.backend.tuning.DecayTuning;
+import org.example.backend.tuning.DecayTuningRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Background job that brings the stored {@code attention_at} predictions up to date after the
+ * decay tuning changes, via {@link PetService#repredictAttention}.
+ *
+ * <p>A swap in {@link DecayTuningRegistry} only affects pets as they are next written; until then
+ * the attention lookups would rank pets by the old rates. Each run compares the active tuning
+ * version with the one the last full pass used and, if it moved, walks every database (primary,
+ * then each shard) in id order, one short transaction per page. A tuning change during a pass
+ * simply triggers another one.
+ *
+ * <p>Versions are per instance, so every instance runs its own pass after a fleet-wide change
+ * (and after a start with a tuning file); the passes are idempotent and only write predictions
+ * that actually differ.
+ */
+public class AttentionRepredictor {
+
+    private static final Logger log = LoggerFactory.getLogger(AttentionRepredictor.class);
+
+    private final PetService petService;
+    private final DecayTuningRegistry tunings;
+    private final Set<String> databases;
+    private final int batchSize;
+    private long predictedVersion; // tuning version of the last completed pass
+
+    /**
+     * @param petService does the per-page work
+     * @param tunings the active tuning
+     * @param databases database names to walk ({@link ShardContext#PRIMARY} and any shards)
+     * @param batchSize pets per page
+     */
+    public AttentionRepredictor(
+            PetService petService,
+            DecayTuningRegistry tunings,
+            Set<String> databases,
+            int batchSize) {
+        this.petService = petService;
+        this.tunings = tunings;
+        this.databases = databases;
+        this.batchSize = batchSize;
+        this.predictedVersion = tunings.current().version(); // stored rows match the startup tuning
+    }
+
+    /**
+     * One pass if the tuning changed since the last one.
+     *
+     * @return number of pets scanned ({@code 0} if the predictions were current)
+     */
+    @Scheduled(fixedDelayString = "${pixelpets.tuning.repredict-interval:PT30S}")
+    public synchronized int repredict() {
+        DecayTuning tuning = tunings.current();
+        if (tuning.version() == predictedVersion) {
+            return 0;
+        }
+        int scanned = 0;
+        for (String database : databases) {
+            long afterId = 0;
+            List<Long> page;
+            do {
+                long cursor = afterId;
+                page =
+                        ShardContext.callOn(
+                                database,
+                                () -> petService.repredictAttention(cursor, batchSize, tuning));
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1);
+                }
+                scanned += page.size();
+            } while (page.size() >= batchSize);
+        }
+        predictedVersion = tuning.version();
+        log.info(
+                "Re-predicted attention for {} pet(s) under decay tuning v{}",
+                scanned,
+                tuning.version());
+        return scanned;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.backend.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Background job for the cold archive: periodically moves pets not ticked for
+ * {@code dormantAfter} out of the hot table via {@link PetService#archiveDormantPets}.
+ *
+ * <p>Works in batches (one short transaction each) so it never holds many row locks at once.
+ */
+public class PetArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(PetArchiver.class);
+
+    private final PetService petService;
+    private final Clock clock;
+    private final Duration dormantAfter;
+    private final int batchSize;
+
+    public PetArchiver(PetService petService, Clock clock, Duration dormantAfter, int batchSize) {
+        this.petService = petService;
+        this.clock = clock;
+        this.dormantAfter = dormantAfter;
+        this.batchSize = batchSize;
+    }
+
+    /** One archive pass; keeps going while full batches come back. */
+    @Scheduled(
+            initialDelayString = "${pixelpets.archive.interval:PT1H}",
+            fixedDelayString = "${pixelpets.archive.interval:PT1H}")
+    public void archive() {
+        Instant cutoff = clock.instant().minus(dormantAfter);
+        int total = 0;
+        List<Long> archived;
+        do {
+            archived = petService.archiveDormantPets(cutoff, batchSize);
+            total += archived.size();
+        } while (archived.size() >= batchSize);
+        if (total > 0) {
+            log.info("Archived {} pet(s) not ticked since {}", total, cutoff);
+        }
+    }
+}
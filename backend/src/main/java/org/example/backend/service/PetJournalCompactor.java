@@ -0,0 +1,41 @@
+package org.example.backend.service;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background snapshotting for event-sourced mode: periodically folds journaled actions into the
+ * pet rows via {@link PetService#compactJournal}, so reads only replay a short tail of events.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pixelpets.journal", name = "enabled", havingValue = "true")
+public class PetJournalCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(PetJournalCompactor.class);
+
+    private final PetService petService;
+    private final int batchSize;
+
+    public PetJournalCompactor(
+            PetService petService, @Value("${pixelpets.journal.compact-batch:500}") int batchSize) {
+        this.petService = petService;
+        this.batchSize = batchSize;
+    }
+
+    /** One compaction pass; keeps going while full batches come back. */
+    @Scheduled(fixedDelayString = "${pixelpets.journal.compact-interval:PT30S}")
+    public void compact() {
+        List<Long> compacted;
+        do {
+            compacted = petService.compactJournal(batchSize);
+            if (!compacted.isEmpty()) {
+                log.debug("Compacted journal for {} pet(s)", compacted.size());
+            }
+        } while (compacted.size() >= batchSize);
+    }
+}
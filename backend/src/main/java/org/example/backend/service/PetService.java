@@ -1,14 +1,38 @@
 package org.example.backend.service;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import org.example.backend.activity.ActivityFeed;
+import org.example.backend.changelog.ChangeLog;
+import org.example.backend.coalesce.Coalesced;
+import org.example.backend.journal.PetActionJournal;
 import org.example.backend.model.Pet;
+import org.example.backend.model.PetAction;
+import org.example.backend.model.Species;
 import org.example.backend.model.User;
+import org.example.backend.repository.PetArchiveRepository;
 import org.example.backend.repository.PetRepository;
+import org.example.backend.resilience.BatchWork;
+import org.example.backend.resilience.StaleFallback;
+import org.example.backend.shard.ShardKey;
+import org.example.backend.shard.ShardRouted;
+import org.example.backend.tuning.DecayTuning;
+import org.example.backend.tuning.DecayTuningRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
@@ -20,6 +44,34 @@ import org.springframework.web.server.ResponseStatusException;
  *   <li>Handle simple actions (feed, play, rest) and stat mutations with clamping</li>
  *   <li>Enforce per-tick and total backdated caps to avoid extreme jumps</li>
  * </ul>
+ *
+ * <p>Reads persist the decay they apply, so they run as read-write transactions on the primary:
+ * ticking a (possibly lagging) replica copy and saving it would overwrite newer writes.
+ *
+ * <p>Time comes from the injected {@link Clock} and is read once per call, so every pet in a
+ * batch is ticked to the same instant (and a simulated clock can drive the model, see
+ * {@link org.example.backend.simulation.DecaySimulation}). Likewise the decay knobs are one
+ * {@link DecayTuning} snapshot per call, taken from the hot-reloadable {@link DecayTuningRegistry}.
+ *
+ * <p>{@link Coalesced} reads share one execution between concurrent identical calls (e.g. several
+ * tabs loading the same pet). {@link StaleFallback} reads may be answered from the last known
+ * state while the database is unavailable.
+ *
+ * <p>{@link ShardRouted} / {@link ShardKey} mark how each method finds its owner's shard when
+ * sharding is enabled; they are inert otherwise.
+ *
+ * <p>Event-sourced mode ({@code pixelpets.journal.enabled=true}, see {@link PetActionJournal}):
+ * <ul>
+ *   <li>Actions append a {@link PetAction} event instead of rewriting the pet row.</li>
+ *   <li>The row is a snapshot; reads fold the events after {@code journalSeq} onto a copy and
+ *       tick it to now, without writing anything back.</li>
+ *   <li>{@link #compactJournal} folds pending events into the rows in the background.</li>
+ * </ul>
+ *
+ * <p>Cold archive ({@link PetArchiveRepository}): {@link #archiveDormantPets} moves pets untouched
+ * for a long time out of the hot table. Lookups by id or owner, actions and deletes rehydrate
+ * archived pets transparently, and the first tick after that applies the usual capped backdated
+ * decay. Listings that scan ({@link #getAllPets}, the attention lookups) only see hot pets.
  */
 @Service
 public class PetService {
@@ -27,28 +79,37 @@ public class PetService {
     // ===== Dependencies =====
 
     private final PetRepository petRepository;
-
-    public PetService(PetRepository petRepository) {
+    private final PetArchiveRepository archive;
+    private final PetActionJournal journal; // null unless event-sourced mode is on
+    private final ActivityFeed activityFeed; // null if the activity feed is off
+    private final ChangeLog changeLog; // null if the change log is off
+    private final Clock clock;
+    private final DecayTuningRegistry tunings;
+
+    public PetService(
+            PetRepository petRepository,
+            PetArchiveRepository archive,
+            ObjectProvider<PetActionJournal> journal,
+            ObjectProvider<ActivityFeed> activityFeed,
+            ObjectProvider<ChangeLog> changeLog,
+            Clock clock,
+            DecayTuningRegistry tunings) {
         this.petRepository = petRepository;
+        this.archive = archive;
+        this.clock = clock;
+        this.tunings = tunings;
+        this.journal = journal.getIfAvailable();
+        this.activityFeed = activityFeed.getIfAvailable();
+        this.changeLog = changeLog.getIfAvailable();
     }
 
-    // ===== Tuning knobs (decay & caps) =====
-
-    // Natural per-minute decay (higher = faster drift)
-    private static final double FULLNESS_DECAY_PER_MIN = 0.20; // fullness goes DOWN over time
-    private static final double ENERGY_DECAY_PER_MIN = 0.10;
-    private static final double HAPPINESS_DECAY_PER_MIN = 0.05;
+    // ===== Tuning knobs =====
 
-    // Conditional mood effects (per minute)
-    private static final double HAPPINESS_PENALTY_FULLNESS_LOW_PER_MIN = 0.15; // fullness < 30
-    private static final double HAPPINESS_PENALTY_ENERGY_LOW_PER_MIN = 0.10;   // energy   < 30
-    private static final double HAPPINESS_BONUS_WELL_CARED_PER_MIN = 0.05;    // fullness>70 && energy>70
+    // Decay rates, caps and mood effects live in the active DecayTuning snapshot (hot-reloadable)
 
-    // Decay caps
-    private static final long MAX_MINUTES_PER_TICK =
-            24 * 60; // at most 24h of decay per single tick()
-    private static final long MAX_BACKDATED_MINUTES =
-            3L * 24 * 60; // total cap during long absences (0 = no cap)
+    // Stat bands (same "low" threshold as the frontend's moodFor)
+    private static final int LOW_STAT = 30;
+    private static final int WELL_CARED_STAT = 70;
 
     // ===== Helpers =====
 
@@ -57,42 +118,302 @@ public class PetService {
         return (value < 0) ? 0 : Math.min(value, 100);
     }
 
-    /** Look up a pet or throw a 404 NOT_FOUND. */
-    private Pet requirePet(Long id) {
-        return petRepository
-                .findById(id)
+    /** Resolve an API type name against the species catalog or throw a 400 BAD_REQUEST. */
+    private Species requireSpecies(String type) {
+        try {
+            return Species.fromName(type);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /** Load a pet with {@code finder}, rehydrating it from the archive if it is not hot. */
+    private Optional<Pet> findPet(Long id, Function<Long, Optional<Pet>> finder) {
+        Optional<Pet> pet = finder.apply(id);
+        if (pet.isEmpty() && !archive.rehydrate(List.of(id)).isEmpty()) {
+            pet = finder.apply(id);
+        }
+        return pet;
+    }
+
+    /** Look up a pet (hot or archived) or throw a 404 NOT_FOUND. */
+    private Pet requirePet(Long id, Function<Long, Optional<Pet>> finder) {
+        return findPet(id, finder)
                 .orElseThrow(
                         () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pet not found: " + id));
     }
 
+    /** Log changed entities for other instances' caches (joins the current transaction). */
+    private void logChange(ChangeLog.Entity entity, Collection<Long> ids) {
+        if (changeLog != null) {
+            changeLog.record(entity, ids);
+        }
+    }
+
+    /** Apply an action's stat changes (no ticking). */
+    private void apply(Pet pet, PetAction action) {
+        switch (action) {
+            case FEED -> {
+                pet.setFullness(clamp(pet.getFullness() + 20));
+                pet.setHappiness(clamp(pet.getHappiness() + 5));
+            }
+            case PLAY -> {
+                pet.setFullness(clamp(pet.getFullness() - 10));
+                pet.setHappiness(clamp(pet.getHappiness() + 15));
+                pet.setEnergy(clamp(pet.getEnergy() - 10));
+            }
+            case REST -> {
+                pet.setFullness(clamp(pet.getFullness() - 5));
+                pet.setHappiness(clamp(pet.getHappiness() + 2));
+                pet.setEnergy(clamp(pet.getEnergy() + 25));
+            }
+        }
+    }
+
+    /**
+     * Tick, then apply the action: directly on the row, or as a journal event in event-sourced
+     * mode.
+     */
+    private Pet act(Long petId, PetAction action) {
+        Instant now = clock.instant();
+        DecayTuning tuning = tunings.current();
+        if (journal == null) {
+            Pet pet = requirePet(petId, petRepository::findById);
+            tick(pet, now, tuning);
+            apply(pet, action);
+            publishActivity(pet, action);
+            return persist(pet, tuning);
+        }
+
+        // Shared row lock: appends don't block each other, but wait for a rebalancer move
+        Pet snapshot = requirePet(petId, petRepository::findWithSharedLockById);
+        Pet view = project(snapshot, now, tuning); // fold before appending: our own event is applied below
+        long seq = journal.append(petId, action, now);
+        apply(view, action);
+        refreshAttention(view, tuning);
+        view.setJournalSeq(seq);
+        publishActivity(view, action);
+        logChange(ChangeLog.Entity.PET, List.of(petId));
+        return view;
+    }
+
+    /** Hand the action to the activity feed once (and only if) the transaction commits. */
+    private void publishActivity(Pet pet, PetAction action) {
+        if (activityFeed == null || pet.getUser() == null) {
+            return;
+        }
+        long userId = pet.getUser().getId();
+        long petId = pet.getId();
+        String petName = pet.getName();
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        activityFeed.publish(userId, petId, petName, action);
+                    }
+                });
+    }
+
+    /**
+     * Fold journaled events onto the snapshot (each one ticked to its own timestamp), advancing
+     * {@code journalSeq}.
+     */
+    private void fold(Pet pet, DecayTuning tuning) {
+        fold(pet, journal.eventsAfter(pet.getId(), pet.getJournalSeq()), tuning);
+    }
+
+    /** {@link #fold(Pet, DecayTuning)} with the pet's pending events already loaded. */
+    private void fold(Pet pet, List<PetActionJournal.Event> events, DecayTuning tuning) {
+        for (PetActionJournal.Event event : events) {
+            tick(pet, event.occurredAt(), tuning);
+            apply(pet, event.action());
+            pet.setJournalSeq(event.id());
+        }
+    }
+
+    /**
+     * Current state of a snapshot in event-sourced mode: a detached copy with pending events folded
+     * in and decay applied up to {@code now}. The managed entity itself is left untouched.
+     */
+    private Pet project(Pet snapshot, Instant now, DecayTuning tuning) {
+        return project(
+                snapshot,
+                journal.eventsAfter(snapshot.getId(), snapshot.getJournalSeq()),
+                now,
+                tuning);
+    }
+
+    /** {@link #project(Pet, Instant, DecayTuning)} with the pending events already loaded. */
+    private Pet project(
+            Pet snapshot, List<PetActionJournal.Event> events, Instant now, DecayTuning tuning) {
+        Pet view = new Pet();
+        view.setId(snapshot.getId());
+        view.setName(snapshot.getName());
+        view.setSpecies(snapshot.getSpecies());
+        view.setLevel(snapshot.getLevel());
+        view.setFullness(snapshot.getFullness());
+        view.setHappiness(snapshot.getHappiness());
+        view.setEnergy(snapshot.getEnergy());
+        view.setLastTickAt(snapshot.getLastTickAt());
+        view.setJournalSeq(snapshot.getJournalSeq());
+        view.setUser(snapshot.getUser());
+        fold(view, events, tuning);
+        tick(view, now, tuning);
+        refreshAttention(view, tuning);
+        return view;
+    }
+
+    /**
+     * Read-path tick: persist the drift, or project the snapshot in event-sourced mode.
+     *
+     * <p>{@code pets} are managed by the caller's transaction, so dirty checking writes the drift
+     * at commit, as one JDBC batch of {@code UPDATE}s (see {@code hibernate.jdbc.batch_size}).
+     *
+     * <p>Drift is not logged as a change: decay is a function of the stored state and the clock, so
+     * a cached copy of the pet is not wrong, only older, and every read would otherwise come back
+     * through the change log and drop the entry it just cached. Actions, edits and deletes are
+     * logged.
+     */
+    private List<Pet> tickAll(List<Pet> pets) {
+        Instant now = clock.instant();
+        DecayTuning tuning = tunings.current();
+        if (journal != null) {
+            return projectAll(pets, now, tuning);
+        }
+        boolean anyChanged = false;
+        for (Pet p : pets) anyChanged |= tick(p, now, tuning);
+        if (anyChanged) {
+            pets.forEach(p -> refreshAttention(p, tuning));
+        }
+        return pets;
+    }
+
+    /**
+     * Read-only counterpart of {@link #tickAll}: ticks (or projects) the pets for the response
+     * only. Must run in a read-only transaction, where Hibernate does not flush the ticked
+     * entities.
+     */
+    private List<Pet> view(List<Pet> pets) {
+        Instant now = clock.instant();
+        DecayTuning tuning = tunings.current();
+        if (journal != null) {
+            return projectAll(pets, now, tuning);
+        }
+        for (Pet p : pets) {
+            if (tick(p, now, tuning)) {
+                refreshAttention(p, tuning);
+            }
+        }
+        return pets;
+    }
+
+    /** Project a list of snapshots, loading all their pending events in one query. */
+    private List<Pet> projectAll(List<Pet> pets, Instant now, DecayTuning tuning) {
+        Map<Long, List<PetActionJournal.Event>> events =
+                journal.pendingEvents(pets.stream().map(Pet::getId).toList());
+        return pets.stream()
+                .map(p -> project(p, events.getOrDefault(p.getId(), List.of()), now, tuning))
+                .toList();
+    }
+
+    /** Save a pet with its attention prediction brought up to date, and log the change. */
+    private Pet persist(Pet pet, DecayTuning tuning) {
+        refreshAttention(pet, tuning);
+        Pet saved = petRepository.save(pet);
+        logChange(ChangeLog.Entity.PET, List.of(saved.getId()));
+        return saved;
+    }
+
+    /** Recompute {@code attentionAt} from the pet's current stats. */
+    private static void refreshAttention(Pet pet, DecayTuning tuning) {
+        pet.setAttentionAt(predictAttentionAt(pet, tuning));
+    }
+
+    /**
+     * Predict when the first stat drops to {@link #LOW_STAT}, solving the pet's species decay model
+     * in closed form (continuous minutes, no caps).
+     *
+     * <p>While both fullness and energy stay above {@link #LOW_STAT} no low-stat penalties apply, so
+     * up to the first crossing:
+     * <ul>
+     *   <li>fullness and energy fall linearly at their own rates;</li>
+     *   <li>while both are above {@link #WELL_CARED_STAT}, happiness moves at the base rate minus
+     *       the well-cared bonus (held steady for cats, rising or falling slowly for others), then
+     *       falls at the base rate.</li>
+     * </ul>
+     *
+     * @return predicted time, {@code lastTickAt} if a stat is already low, or {@code null} if the
+     *     pet has never been ticked
+     */
+    static Instant predictAttentionAt(Pet pet, DecayTuning tuning) {
+        Instant from = pet.getLastTickAt();
+        if (from == null) {
+            return null;
+        }
+        DecayTuning.Profile profile = tuning.profile(pet.getSpecies());
+        int fullness = pet.getFullness();
+        int energy = pet.getEnergy();
+        int happiness = pet.getHappiness();
+        if (fullness <= LOW_STAT || energy <= LOW_STAT || happiness <= LOW_STAT) {
+            return from;
+        }
+
+        double fullnessLow = (fullness - LOW_STAT) / profile.fullnessDecayPerMin();
+        double energyLow = (energy - LOW_STAT) / profile.energyDecayPerMin();
+
+        double wellCaredFor = 0; // minutes until the bonus stops
+        if (fullness > WELL_CARED_STAT && energy > WELL_CARED_STAT) {
+            wellCaredFor =
+                    Math.min(
+                            (fullness - WELL_CARED_STAT) / profile.fullnessDecayPerMin(),
+                            (energy - WELL_CARED_STAT) / profile.energyDecayPerMin());
+        }
+        double wellCaredRate =
+                profile.happinessDecayPerMin() - tuning.happinessBonusWellCaredPerMin();
+        double happinessLow;
+        if (wellCaredRate > 0 && (happiness - LOW_STAT) / wellCaredRate <= wellCaredFor) {
+            happinessLow = (happiness - LOW_STAT) / wellCaredRate; // low even with the bonus
+        } else {
+            double afterBonus = Math.min(100, happiness - wellCaredRate * wellCaredFor);
+            happinessLow = wellCaredFor + (afterBonus - LOW_STAT) / profile.happinessDecayPerMin();
+        }
+
+        double minutes = Math.min(fullnessLow, Math.min(energyLow, happinessLow));
+        return from.plusSeconds((long) Math.ceil(minutes * 60 - 1e-6)); // ignore rounding noise
+    }
+
     /**
      * Apply time-based decay since {@code lastTickAt}, then stamp {@code now}.
      *
-     * <p>Uses:
+     * <p>Rates and caps come from the pet's species profile in {@code tuning}; uses:
      * <ul>
-     *   <li>A total backdated cap ({@link #MAX_BACKDATED_MINUTES}) for very long absences</li>
-     *   <li>A per-tick cap ({@link #MAX_MINUTES_PER_TICK}) to avoid large single jumps</li>
+     *   <li>A total backdated cap ({@link DecayTuning.Profile#maxBackdatedMinutes()}) for very
+     *       long absences</li>
+     *   <li>A per-tick cap ({@link DecayTuning.Profile#maxMinutesPerTick()}) to avoid large single
+     *       jumps</li>
      * </ul>
      *
      * @param pet pet to update
+     * @param now time to tick up to
+     * @param tuning decay knobs (one snapshot per batch)
      * @return {@code true} if any stat or the lastTickAt timestamp changed
      */
-    private boolean tick(Pet pet) {
-        Instant now = Instant.now();
+    private boolean tick(Pet pet, Instant now, DecayTuning tuning) {
         Instant last = pet.getLastTickAt();
         if (last == null) { // first touch
             pet.setLastTickAt(now);
             return true;
         }
+        DecayTuning.Profile profile = tuning.profile(pet.getSpecies());
 
         long rawMinutes = Math.max(0, ChronoUnit.MINUTES.between(last, now));
 
         // Cap total backdated minutes (e.g., long absences)
-        long cappedRaw =
-                (MAX_BACKDATED_MINUTES > 0) ? Math.min(rawMinutes, MAX_BACKDATED_MINUTES) : rawMinutes;
+        long maxBackdated = profile.maxBackdatedMinutes();
+        long cappedRaw = (maxBackdated > 0) ? Math.min(rawMinutes, maxBackdated) : rawMinutes;
 
         // Cap per-tick minutes (avoid huge single jumps)
-        long minutes = Math.min(cappedRaw, MAX_MINUTES_PER_TICK);
+        long minutes = Math.min(cappedRaw, profile.maxMinutesPerTick());
         if (minutes == 0) {
             return false; // nothing to change
         }
@@ -103,14 +424,16 @@ public class PetService {
         double happiness = pet.getHappiness();
 
         // Base decay
-        fullness -= FULLNESS_DECAY_PER_MIN * minutes;
-        energy -= ENERGY_DECAY_PER_MIN * minutes;
-        happiness -= HAPPINESS_DECAY_PER_MIN * minutes;
+        fullness -= profile.fullnessDecayPerMin() * minutes;
+        energy -= profile.energyDecayPerMin() * minutes;
+        happiness -= profile.happinessDecayPerMin() * minutes;
 
         // Conditional mood effects
-        if (fullness < 30) happiness -= HAPPINESS_PENALTY_FULLNESS_LOW_PER_MIN * minutes;
-        if (energy < 30) happiness -= HAPPINESS_PENALTY_ENERGY_LOW_PER_MIN * minutes;
-        if (fullness > 70 && energy > 70) happiness += HAPPINESS_BONUS_WELL_CARED_PER_MIN * minutes;
+        if (fullness < LOW_STAT) happiness -= tuning.happinessPenaltyFullnessLowPerMin() * minutes;
+        if (energy < LOW_STAT) happiness -= tuning.happinessPenaltyEnergyLowPerMin() * minutes;
+        if (fullness > WELL_CARED_STAT && energy > WELL_CARED_STAT) {
+            happiness += tuning.happinessBonusWellCaredPerMin() * minutes;
+        }
 
         // Round, clamp, and detect changes
         int newFullness = clamp((int) Math.round(fullness));
@@ -136,42 +459,114 @@ public class PetService {
     // ===== Read methods (apply lazy tick) =====
 
     /**
-     * Load all pets, lazily apply decay via {@link #tick(Pet)}, and persist the drift if anything
-     * changed.
+     * Load all pets, lazily apply decay via {@link #tick(Pet, Instant, DecayTuning)}, and persist the drift if
+     * anything changed.
      */
+    @ShardRouted(scatter = true)
+    @BatchWork
+    @Transactional
     public List<Pet> getAllPets() {
-        List<Pet> pets = petRepository.findAll();
-        boolean anyChanged = false;
-        for (Pet p : pets) anyChanged |= tick(p);
-        if (anyChanged) petRepository.saveAll(pets);
-        return pets;
+        return tickAll(petRepository.findAll());
     }
 
     /**
-     * Load a single pet by id, apply a tick, and persist if stats changed.
+     * Load a single pet by id (rehydrating it if archived), apply a tick, and persist if stats
+     * changed.
      *
      * @return the pet, or {@code null} if not found
      */
-    public Pet getPetById(Long id) {
-        Pet pet = petRepository.findById(id).orElse(null);
-        if (pet != null && tick(pet)) {
+    @Coalesced("pet")
+    @StaleFallback(StaleFallback.Key.PET_ID)
+    @ShardRouted
+    @Transactional
+    public Pet getPetById(@ShardKey(ShardKey.Source.PET_ID) Long id) {
+        Pet pet = findPet(id, petRepository::findById).orElse(null);
+        if (pet == null) {
+            return null;
+        }
+        Instant now = clock.instant();
+        DecayTuning tuning = tunings.current();
+        if (journal != null) {
+            return project(pet, now, tuning);
+        }
+        if (tick(pet, now, tuning)) {
+            refreshAttention(pet, tuning); // drift only: not logged (see tickAll)
             pet = petRepository.save(pet);
         }
         return pet;
     }
 
     /**
-     * Load all pets for a given user, apply ticking, and persist any changes.
+     * Load several pets by id with one {@code IN} query, tick them in one pass, and persist any
+     * changes. Archived pets among the ids are rehydrated; ids that do not exist are simply absent
+     * from the result.
+     *
+     * <p>With sharding enabled this runs once per shard (the ids may belong to different owners).
+     *
+     * @param ids pet ids
+     * @return the pets found, in no particular order
+     */
+    @ShardRouted(scatter = true)
+    @Transactional
+    public List<Pet> getPetsByIds(Collection<Long> ids) {
+        List<Pet> pets = petRepository.findAllById(ids);
+        if (pets.size() < ids.size()) {
+            Set<Long> missing = new HashSet<>(ids);
+            pets.forEach(p -> missing.remove(p.getId()));
+            List<Long> rehydrated = archive.rehydrate(missing);
+            if (!rehydrated.isEmpty()) {
+                pets.addAll(petRepository.findAllById(rehydrated));
+            }
+        }
+        return tickAll(pets);
+    }
+
+    /**
+     * Pets predicted to need attention (a stat at or below the low threshold) by {@code cutoff},
+     * soonest first: a range lookup on {@code attention_at} rather than a scan with ticks.
+     *
+     * <p>Pets whose prediction has not been computed yet (never written since the column was
+     * added) are not included. With sharding enabled this runs once per shard; {@code limit}
+     * applies per shard.
+     *
+     * <p>Read-only: the pets are ticked to now for the response, but the drift is not written
+     * back, so polling this list does not turn into a stream of updates.
+     *
+     * @param since earliest predicted attention time to include (pets low for longer are left out)
+     * @param cutoff latest predicted attention time to include
+     * @param limit most pets returned
+     * @return the pets, ticked to now
+     */
+    @ShardRouted(scatter = true)
+    @Transactional(readOnly = true)
+    public List<Pet> getPetsNeedingAttention(Instant since, Instant cutoff, int limit) {
+        return view(petRepository.findNeedingAttentionBetween(since, cutoff, Limit.of(limit)));
+    }
+
+    /**
+     * Same as {@link #getPetsNeedingAttention}, for one owner's pets.
+     */
+    @ShardRouted
+    @Transactional(readOnly = true)
+    public List<Pet> getPetsNeedingAttentionForUser(
+            @ShardKey(ShardKey.Source.USER_ID) Long userId, Instant since, Instant cutoff) {
+        return view(petRepository.findNeedingAttentionBetweenForUser(userId, since, cutoff));
+    }
+
+    /**
+     * Load all pets for a given user (rehydrating any archived ones), apply ticking, and persist
+     * any changes.
      *
      * @param userId owner id
      * @return list of pets for that user
      */
-    public List<Pet> getPetsByUserId(Long userId) {
-        List<Pet> pets = petRepository.findByUserId(userId);
-        boolean anyChanged = false;
-        for (Pet p : pets) anyChanged |= tick(p);
-        if (anyChanged) petRepository.saveAll(pets);
-        return pets;
+    @Coalesced("user-pets")
+    @StaleFallback(StaleFallback.Key.USER_ID)
+    @ShardRouted
+    @Transactional
+    public List<Pet> getPetsByUserId(@ShardKey(ShardKey.Source.USER_ID) Long userId) {
+        archive.rehydrateOwner(userId);
+        return tickAll(petRepository.findByUserId(userId));
     }
 
     // ===== Write methods =====
@@ -179,25 +574,36 @@ public class PetService {
     /**
      * Save a pet after applying a tick, so the latest time-based drift is persisted together with any
      * explicit edits.
+     *
+     * <p>In event-sourced mode the saved row becomes the pet's snapshot; pass a pet obtained from
+     * this service so its {@code journalSeq} matches its stats.
      */
-    public Pet savePet(Pet pet) {
-        tick(pet);
-        return petRepository.save(pet); // still persist explicit edits
+    @ShardRouted(creates = true)
+    @Transactional
+    public Pet savePet(@ShardKey Pet pet) {
+        DecayTuning tuning = tunings.current();
+        tick(pet, clock.instant(), tuning);
+        return persist(pet, tuning); // still persist explicit edits
     }
 
     /**
      * Create a new pet for a user with an initial timestamp.
      *
      * @param name pet name
-     * @param type pet type (species/variant)
+     * @param type pet type, a {@link Species} name (case-insensitive)
+     * @throws ResponseStatusException with 400 if the type is not in the species catalog
      * @param user owner
      */
-    public Pet createPetForUser(String name, String type, User user) {
-        Pet pet = new Pet(name, type);
+    @ShardRouted(creates = true)
+    @Transactional
+    public Pet createPetForUser(String name, String type, @ShardKey User user) {
+        Pet pet = new Pet(name, requireSpecies(type));
         pet.setUser(user);
-        pet.setLastTickAt(Instant.now());
+        pet.setLastTickAt(clock.instant());
 
-        return petRepository.save(pet);
+        Pet saved = persist(pet, tunings.current());
+        logChange(ChangeLog.Entity.USER, List.of(user.getId())); // the owner's pet list changed
+        return saved;
     }
 
     // ===== Actions =====
@@ -205,52 +611,156 @@ public class PetService {
     /**
      * Feed the pet: increases fullness and slightly improves happiness, after applying a tick.
      */
+    @ShardRouted
     @Transactional
-    public Pet feedPet(Long petId) {
-        Pet pet = requirePet(petId);
-        tick(pet);
-        pet.setFullness(clamp(pet.getFullness() + 20));
-        pet.setHappiness(clamp(pet.getHappiness() + 5));
-        return petRepository.save(pet);
+    public Pet feedPet(@ShardKey(ShardKey.Source.PET_ID) Long petId) {
+        return act(petId, PetAction.FEED);
     }
 
     /**
      * Play with the pet: increases happiness, but costs some fullness and energy, after applying a
      * tick.
      */
+    @ShardRouted
     @Transactional
-    public Pet playWithPet(Long petId) {
-        Pet pet = requirePet(petId);
-        tick(pet);
-        pet.setFullness(clamp(pet.getFullness() - 10));
-        pet.setHappiness(clamp(pet.getHappiness() + 15));
-        pet.setEnergy(clamp(pet.getEnergy() - 10));
-        return petRepository.save(pet);
+    public Pet playWithPet(@ShardKey(ShardKey.Source.PET_ID) Long petId) {
+        return act(petId, PetAction.PLAY);
     }
 
     /**
      * Rest the pet: restores energy, small happiness boost, and a bit of fullness decay, after
      * applying a tick.
      */
+    @ShardRouted
+    @Transactional
+    public Pet restPet(@ShardKey(ShardKey.Source.PET_ID) Long petId) {
+        return act(petId, PetAction.REST);
+    }
+
+    // ===== Journal compaction =====
+
+    /**
+     * Fold pending journal events into their pets' rows (new snapshots). Events are kept as the
+     * audit trail; only {@code journalSeq} moves.
+     *
+     * <p>Runs per shard when sharding is enabled. Each pet is locked exclusively before its events
+     * are read, which waits out appends still in flight: event ids are allocated before commit, so
+     * without the lock an uncommitted lower id could be skipped for good once {@code journalSeq}
+     * moves past it. The lock also serializes concurrent runs on several instances.
+     *
+     * <p>Candidates come from {@code pet_actions_pending}, not a scan of the journal; a pet's mark
+     * is removed under its lock once its events are folded.
+     *
+     * @param limit most pets compacted per shard
+     * @return ids of the compacted pets
+     */
+    @ShardRouted(scatter = true)
+    @BatchWork
+    @Transactional
+    public List<Long> compactJournal(int limit) {
+        if (journal == null) {
+            return List.of();
+        }
+        DecayTuning tuning = tunings.current();
+        List<Long> petIds = journal.petsWithPendingEvents(limit);
+        for (Long id : petIds) {
+            petRepository
+                    .findForUpdateById(id)
+                    .ifPresent(
+                            pet -> {
+                                fold(pet, tuning);
+                                refreshAttention(pet, tuning); // dirty checking writes the row
+                            });
+            journal.settled(id); // also drops marks of deleted pets
+        }
+        return petIds;
+    }
+
+    // ===== Tuning changes =====
+
+    /**
+     * Recompute the stored attention predictions of one page of pets under {@code tuning}.
+     *
+     * <p>Runs on whichever database the caller has bound (see {@link AttentionRepredictor}). Each
+     * row is updated with a narrow compare-and-set on the stats the prediction came from, so a
+     * pet written concurrently keeps the prediction its writer stored. Unchanged predictions are
+     * not written. Not logged as a change: caches hold the pet's state, not the index.
+     *
+     * @param afterId last id of the previous page ({@code 0} to start)
+     * @param limit page size
+     * @param tuning the tuning to predict with
+     * @return ids of the pets scanned, in id order
+     */
+    @BatchWork
     @Transactional
-    public Pet restPet(Long petId) {
-        Pet pet = requirePet(petId);
-        tick(pet);
-        pet.setFullness(clamp(pet.getFullness() - 5));
-        pet.setHappiness(clamp(pet.getHappiness() + 2));
-        pet.setEnergy(clamp(pet.getEnergy() + 25));
-        return petRepository.save(pet);
+    public List<Long> repredictAttention(long afterId, int limit, DecayTuning tuning) {
+        List<Pet> pets = petRepository.findPageAfter(afterId, Limit.of(limit));
+        for (Pet pet : pets) {
+            Instant predicted = predictAttentionAt(pet, tuning);
+            if (predicted != null && !predicted.equals(pet.getAttentionAt())) {
+                petRepository.updateAttentionAtIfUnchanged(
+                        pet.getId(),
+                        predicted,
+                        pet.getLastTickAt(),
+                        pet.getFullness(),
+                        pet.getEnergy(),
+                        pet.getHappiness());
+            }
+        }
+        return pets.stream().map(Pet::getId).toList();
+    }
+
+    // ===== Cold archive =====
+
+    /**
+     * Move pets not ticked since {@code cutoff} into the archive, oldest first.
+     *
+     * <p>Runs per shard when sharding is enabled. In event-sourced mode, pets with unfolded journal
+     * events are skipped until compaction has folded them.
+     *
+     * @param cutoff pets last ticked before this are dormant
+     * @param limit most pets archived per shard
+     * @return ids of the archived pets
+     */
+    @ShardRouted(scatter = true)
+    @BatchWork
+    @Transactional
+    public List<Long> archiveDormantPets(Instant cutoff, int limit) {
+        return archive.archiveDormant(cutoff, limit, clock.instant());
     }
 
     // ===== Delete =====
 
     /**
-     * Delete a pet by id. Throws 404 if the pet does not exist.
+     * Delete a pet by id, hot or archived. Throws 404 if the pet does not exist.
      */
-    public void deletePet(Long id) {
-        if (!petRepository.existsById(id)) {
+    @ShardRouted
+    @Transactional
+    public void deletePet(@ShardKey(ShardKey.Source.PET_ID) Long id) {
+        Pet pet = petRepository.findById(id).orElse(null);
+        if (pet != null) {
+            petRepository.delete(pet);
+            if (pet.getUser() != null) {
+                logChange(ChangeLog.Entity.USER, List.of(pet.getUser().getId()));
+            }
+        } else if (!archive.delete(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Pet not found: " + id);
         }
-        petRepository.deleteById(id);
+        logChange(ChangeLog.Entity.PET, List.of(id));
+    }
+
+    /**
+     * Delete every pet owned by a user (hot and archived) with one bulk statement per table.
+     *
+     * <p>Joins the caller's transaction (e.g. {@link UserService#deleteUser}) when the pets live on
+     * the primary, so both commit or roll back together. Only when the owner is on another shard
+     * does the routing aspect run it in a transaction of its own on that shard. The delete is
+     * idempotent, so retrying a failed user deletion finishes the job.
+     */
+    @ShardRouted
+    @Transactional
+    public int deletePetsByUserId(@ShardKey(ShardKey.Source.USER_ID) Long userId) {
+        logChange(ChangeLog.Entity.USER, List.of(userId)); // covers every pet of the owner
+        return petRepository.deleteByUserId(userId) + archive.deleteByUserId(userId);
     }
 }
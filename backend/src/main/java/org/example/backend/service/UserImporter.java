@@ -0,0 +1,758 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.example.backend.model.Pet;
+import org.example.backend.model.Species;
+import org.example.backend.repository.PetIds;
+import org.example.backend.shard.ShardDataSources;
+import org.example.backend.shard.ShardDirectory;
+import org.example.backend.tuning.DecayTuning;
+import org.example.backend.tuning.DecayTuningRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk import of users and their pets from NDJSON, one user per line:
+ * <pre>
+ * {"username":"mochi_fan","email":"a@example.com","password":"secret",
+ *  "pets":[{"name":"Mochi","type":"cat","fullness":65}]}
+ * </pre>
+ * ({@code passwordHash} with an existing BCrypt hash may replace {@code password}; pet stats and
+ * level are optional and default like an adoption.)
+ *
+ * <p>The input is read in chunks of {@code batchSize} lines:
+ * <ul>
+ *   <li>Lines are validated like a registration (normalized, unique within the chunk and against
+ *       the database); bad lines are reported by line number and skipped.</li>
+ *   <li>Passwords are hashed in parallel on a bounded pool, which is where the time goes.</li>
+ *   <li>Users and pets are written as JDBC batches, bypassing Hibernate (whose insert batching is
+ *       disabled by the users' {@code IDENTITY} ids, and whose pet ids cost a round trip each);
+ *       generated keys link each pet to its new owner, and pet ids are reserved in one block per
+ *       batch ({@link PetIds}).</li>
+ *   <li>The chunk commits together with the job's checkpoint ({@code import_checkpoints}), so
+ *       re-running a job with the same id skips every line already committed.</li>
+ * </ul>
+ *
+ * <p>If a concurrent registration takes a name between the check and the insert, that chunk is
+ * retried one row at a time.
+ *
+ * <p>With sharding enabled, pets live on their new owner's shard, outside the chunk's transaction:
+ * <ul>
+ *   <li>The chunk's transaction reserves the pet ids on each shard and records, per user with
+ *       pets, the line, user id, shard and first pet id ({@code import_pending_pets}).</li>
+ *   <li>After it commits, the pets are written in a batch per shard with those ids
+ *       ({@code INSERT IGNORE}), the directory is updated, and the records are deleted.</li>
+ *   <li>A rolled-back chunk leaves nothing on the shards. A job that stopped after the commit
+ *       writes the recorded pets again, from the same input lines, when it resumes.</li>
+ * </ul>
+ */
+public class UserImporter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImporter.class);
+
+    /** Most per-line errors kept in a report (the counts are always complete). */
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final Pattern BCRYPT_HASH =
+            Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (user_name, email, password) VALUES (?, ?, ?)";
+
+    private static final String PET_VALUES =
+            " pets (id, name, species_id, level, hunger, happiness, energy,"
+                    + " last_tick_at, attention_at, journal_seq, user_id)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private static final String INSERT_PET = "INSERT INTO" + PET_VALUES;
+
+    /** Shard pets have fixed ids, so writing them again skips the ones already there. */
+    private static final String INSERT_PET_IGNORE = "INSERT IGNORE INTO" + PET_VALUES;
+
+    private static final String INSERT_PENDING_PETS =
+            "INSERT INTO import_pending_pets (job_id, line, user_id, shard, first_pet_id)"
+                    + " VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_CHECKPOINT =
+            "INSERT INTO import_checkpoints"
+                    + " (job_id, last_line, users_imported, pets_imported, failed, updated_at)"
+                    + " VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE"
+                    + " last_line = VALUES(last_line), users_imported = VALUES(users_imported),"
+                    + " pets_imported = VALUES(pets_imported), failed = VALUES(failed),"
+                    + " updated_at = VALUES(updated_at)";
+
+    // ===== Input / output shapes =====
+
+    /** One input line. */
+    public record ImportedUser(
+            String username,
+            String email,
+            String password,
+            String passwordHash,
+            List<ImportedPet> pets) {}
+
+    /** One pet of an {@link ImportedUser}; missing stats default like an adoption. */
+    public record ImportedPet(
+            String name,
+            String type,
+            Integer level,
+            Integer fullness,
+            Integer happiness,
+            Integer energy) {}
+
+    /** A rejected input line. */
+    public record LineError(long line, String message) {}
+
+    /** Progress of a job as of its last committed chunk. */
+    public record Checkpoint(
+            String jobId,
+            long lastLine,
+            long usersImported,
+            long petsImported,
+            long failed,
+            Instant updatedAt) {}
+
+    /**
+     * Outcome of one run.
+     *
+     * @param skipped lines at or before the checkpoint the run resumed from
+     * @param total job totals including earlier runs
+     * @param errors the first {@value #MAX_REPORTED_ERRORS} rejected lines of this run
+     */
+    public record Report(
+            String jobId,
+            long linesRead,
+            long skipped,
+            long usersImported,
+            long petsImported,
+            long failed,
+            Checkpoint total,
+            List<LineError> errors) {}
+
+    /** A validated line, ready to insert once its password is hashed. */
+    private static final class Row {
+        final long line;
+        final String username;
+        final String email;
+        final List<Pet> pets;
+        String password; // raw until hashed
+        boolean hashed;
+        long userId;
+
+        Row(
+                long line,
+                String username,
+                String email,
+                String password,
+                boolean hashed,
+                List<Pet> pets) {
+            this.line = line;
+            this.username = username;
+            this.email = email;
+            this.password = password;
+            this.hashed = hashed;
+            this.pets = pets;
+        }
+    }
+
+    /** One imported user's pets, to go to {@code shard} with ids from {@code firstPetId}. */
+    private record PendingPets(
+            long line, long userId, String shard, long firstPetId, List<Pet> pets) {}
+
+    /** Counters for one run. */
+    private static final class Run {
+        final String jobId;
+        final Checkpoint resumedFrom;
+        long linesRead;
+        long skipped;
+        long users;
+        long pets;
+        long failed;
+        final List<LineError> errors = new ArrayList<>();
+
+        Run(String jobId, Checkpoint resumedFrom) {
+            this.jobId = jobId;
+            this.resumedFrom = resumedFrom;
+        }
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new LineError(line, message));
+        }
+
+        /** Job totals with {@code moreUsers}/{@code morePets} about to be committed. */
+        Checkpoint total(long lastLine, Instant now, long moreUsers, long morePets) {
+            return new Checkpoint(
+                    jobId,
+                    lastLine,
+                    resumedFrom.usersImported() + users + moreUsers,
+                    resumedFrom.petsImported() + pets + morePets,
+                    resumedFrom.failed() + failed,
+                    now);
+        }
+    }
+
+    // ===== Dependencies =====
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+    private final TransactionTemplate tx;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final DecayTuningRegistry tunings;
+    private final ShardDataSources shards; // null unless sharding is enabled
+    private final ShardDirectory directory; // null unless sharding is enabled
+    private final ExecutorService hashPool;
+    private final int batchSize;
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param dataSource the application datasource (users, checkpoints and unsharded pets)
+     * @param hashThreads size of the password hashing pool
+     * @param batchSize lines per chunk (one transaction and one JDBC batch per table)
+     */
+    public UserImporter(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            PasswordEncoder passwordEncoder,
+            ObjectMapper objectMapper,
+            Clock clock,
+            DecayTuningRegistry tunings,
+            ShardDataSources shards,
+            ShardDirectory directory,
+            int hashThreads,
+            int batchSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.named = new NamedParameterJdbcTemplate(jdbc);
+        this.tx = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.tunings = tunings;
+        this.shards = shards;
+        this.directory = directory;
+        this.batchSize = batchSize;
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.hashPool =
+                Executors.newFixedThreadPool(
+                        hashThreads,
+                        r -> {
+                            Thread t =
+                                    new Thread(r, "user-import-hash-" + threadNo.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        });
+    }
+
+    @Override
+    public void close() {
+        hashPool.shutdownNow();
+    }
+
+    // ===== Jobs =====
+
+    /** @return the job's progress as of its last committed chunk, if it has run before */
+    public Optional<Checkpoint> checkpoint(String jobId) {
+        return jdbc
+                .query(
+                        "SELECT last_line, users_imported, pets_imported, failed, updated_at"
+                                + " FROM import_checkpoints WHERE job_id = ?",
+                        (rs, i) ->
+                                new Checkpoint(
+                                        jobId,
+                                        rs.getLong(1),
+                                        rs.getLong(2),
+                                        rs.getLong(3),
+                                        rs.getLong(4),
+                                        rs.getTimestamp(5).toInstant()),
+                        jobId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Import {@code input}, resuming after the job's checkpoint if it has one.
+     *
+     * @param jobId names the checkpoint; reuse it to resume an interrupted import of the same input
+     * @throws IllegalStateException if the job is already running on this instance
+     */
+    public Report importNdjson(String jobId, BufferedReader input) throws IOException {
+        if (!runningJobs.add(jobId)) {
+            throw new IllegalStateException("Import job already running: " + jobId);
+        }
+        try {
+            Checkpoint from = checkpoint(jobId).orElse(new Checkpoint(jobId, 0, 0, 0, 0, null));
+            Run run = new Run(jobId, from);
+            if (from.lastLine() > 0) {
+                log.info("Import {}: resuming after line {}", jobId, from.lastLine());
+            }
+
+            Map<Long, PendingPets> unwritten = pendingPets(jobId);
+            List<PendingPets> resumed = new ArrayList<>();
+            Map<Long, String> chunk = new LinkedHashMap<>(); // line number -> text
+            long lineNo = 0;
+            String text;
+            while ((text = input.readLine()) != null) {
+                lineNo++;
+                run.linesRead++;
+                if (lineNo <= from.lastLine()) {
+                    run.skipped++;
+                    PendingPets pending = unwritten.get(lineNo);
+                    if (pending != null) {
+                        resumed.add(withPets(pending, text));
+                    }
+                    continue;
+                }
+                if (!resumed.isEmpty()) {
+                    writeShardPets(jobId, resumed);
+                    resumed.clear();
+                }
+                if (!text.isBlank()) {
+                    chunk.put(lineNo, text);
+                }
+                if (chunk.size() >= batchSize) {
+                    importChunk(chunk, lineNo, run);
+                    chunk.clear();
+                }
+            }
+            writeShardPets(jobId, resumed);
+            if (!chunk.isEmpty() || lineNo > from.lastLine()) {
+                importChunk(chunk, lineNo, run);
+            }
+
+            Checkpoint total = run.total(Math.max(lineNo, from.lastLine()), clock.instant(), 0, 0);
+            log.info(
+                    "Import {} finished: {} user(s), {} pet(s), {} line(s) rejected",
+                    jobId,
+                    run.users,
+                    run.pets,
+                    run.failed);
+            return new Report(
+                    jobId,
+                    run.linesRead,
+                    run.skipped,
+                    run.users,
+                    run.pets,
+                    run.failed,
+                    total,
+                    List.copyOf(run.errors));
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    // ===== Chunks =====
+
+    /** Validate, hash and write one chunk; {@code endLine} becomes the checkpoint. */
+    private void importChunk(Map<Long, String> lines, long endLine, Run run) {
+        List<Row> rows = rejectExisting(validate(lines, run), run);
+        hashPasswords(rows);
+        try {
+            write(rows, endLine, run);
+        } catch (DataIntegrityViolationException raced) {
+            // Someone registered one of the names meanwhile: find out which, row by row
+            for (Row row : rows) {
+                try {
+                    write(List.of(row), row.line, run);
+                } catch (DataIntegrityViolationException e) {
+                    run.reject(row.line, "Username or email already exists");
+                }
+            }
+            write(List.of(), endLine, run);
+        }
+        log.info(
+                "Import {}: through line {}, {} user(s), {} pet(s), {} line(s) rejected",
+                run.jobId,
+                endLine,
+                run.users,
+                run.pets,
+                run.failed);
+    }
+
+    /** Parse and normalize; rejects malformed lines and names repeated within the chunk. */
+    private List<Row> validate(Map<Long, String> lines, Run run) {
+        Instant now = clock.instant();
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<Row> rows = new ArrayList<>(lines.size());
+        lines.forEach(
+                (line, text) -> {
+                    try {
+                        ImportedUser in = objectMapper.readValue(text, ImportedUser.class);
+                        Row row = toRow(line, in, now);
+                        if (!usernames.add(row.username)) {
+                            run.reject(line, "Duplicate username in input: " + row.username);
+                        } else if (!emails.add(row.email)) {
+                            run.reject(line, "Duplicate email in input: " + row.email);
+                        } else {
+                            rows.add(row);
+                        }
+                    } catch (JsonProcessingException e) {
+                        run.reject(line, "Malformed JSON: " + e.getOriginalMessage());
+                    } catch (IllegalArgumentException e) {
+                        run.reject(line, e.getMessage());
+                    }
+                });
+        return rows;
+    }
+
+    private Row toRow(long line, ImportedUser in, Instant now) {
+        String username = UserService.normalizeUsername(in.username());
+        String email = UserService.normalizeEmail(in.email());
+        if (username == null) throw new IllegalArgumentException("Username is required");
+        if (email == null) throw new IllegalArgumentException("Email is required");
+
+        String password;
+        boolean hashed;
+        if (in.passwordHash() != null) {
+            if (!BCRYPT_HASH.matcher(in.passwordHash()).matches()) {
+                throw new IllegalArgumentException("passwordHash is not a BCrypt hash");
+            }
+            password = in.passwordHash();
+            hashed = true;
+        } else if (in.password() != null && !in.password().isEmpty()) {
+            password = in.password();
+            hashed = false;
+        } else {
+            throw new IllegalArgumentException("Password is required");
+        }
+
+        List<Pet> pets = new ArrayList<>();
+        DecayTuning tuning = tunings.current();
+        for (ImportedPet p : (in.pets() != null) ? in.pets() : List.<ImportedPet>of()) {
+            if (p == null || p.name() == null || p.name().isBlank()) {
+                throw new IllegalArgumentException("Pet name is required");
+            }
+            Pet pet = new Pet(p.name(), Species.fromName(p.type()));
+            if (p.level() != null) {
+                pet.setLevel(requireRange("level", p.level(), 1, Integer.MAX_VALUE));
+            }
+            if (p.fullness() != null) {
+                pet.setFullness(requireRange("fullness", p.fullness(), 0, 100));
+            }
+            if (p.happiness() != null) {
+                pet.setHappiness(requireRange("happiness", p.happiness(), 0, 100));
+            }
+            if (p.energy() != null) {
+                pet.setEnergy(requireRange("energy", p.energy(), 0, 100));
+            }
+            pet.setLastTickAt(now);
+            pet.setAttentionAt(PetService.predictAttentionAt(pet, tuning));
+            pets.add(pet);
+        }
+        return new Row(line, username, email, password, hashed, pets);
+    }
+
+    private static int requireRange(String field, int value, int min, int max) {
+        if (value < min || value > max) {
+            throw new IllegalArgumentException(field + " out of range: " + value);
+        }
+        return value;
+    }
+
+    /** Drop rows whose username or email is already registered (two {@code IN} lookups). */
+    private List<Row> rejectExisting(List<Row> rows, Run run) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Set<String> takenNames =
+                new HashSet<>(
+                        named.queryForList(
+                                "SELECT user_name FROM users WHERE user_name IN (:names)",
+                                Map.of("names", rows.stream().map(r -> r.username).toList()),
+                                String.class));
+        Set<String> takenEmails =
+                new HashSet<>(
+                        named.queryForList(
+                                "SELECT email FROM users WHERE email IN (:emails)",
+                                Map.of("emails", rows.stream().map(r -> r.email).toList()),
+                                String.class));
+        List<Row> fresh = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (takenNames.contains(row.username)) {
+                run.reject(row.line, "Username already taken: " + row.username);
+            } else if (takenEmails.contains(row.email)) {
+                run.reject(row.line, "Email already registered: " + row.email);
+            } else {
+                fresh.add(row);
+            }
+        }
+        return fresh;
+    }
+
+    /** BCrypt every raw password of the chunk on the hashing pool. */
+    private void hashPasswords(List<Row> rows) {
+        List<CompletableFuture<Void>> hashing = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (!row.hashed) {
+                hashing.add(
+                        CompletableFuture.runAsync(
+                                () -> {
+                                    row.password = passwordEncoder.encode(row.password);
+                                    row.hashed = true;
+                                },
+                                hashPool));
+            }
+        }
+        CompletableFuture.allOf(hashing.toArray(CompletableFuture[]::new)).join();
+    }
+
+    // ===== Writes =====
+
+    /**
+     * Insert the rows' users and pets and move the checkpoint to {@code endLine}, in one
+     * transaction; with sharding, the pets are only recorded there and written after the commit.
+     */
+    private void write(List<Row> rows, long endLine, Run run) {
+        List<PendingPets> pending = new ArrayList<>();
+        int pets =
+                tx.execute(
+                        status -> {
+                            insertUsers(rows);
+                            int inserted;
+                            if (shards == null) {
+                                inserted = insertPets(jdbc, rows);
+                            } else {
+                                pending.addAll(reserveShardPets(run.jobId, rows));
+                                inserted = pending.stream().mapToInt(p -> p.pets().size()).sum();
+                            }
+                            Checkpoint total =
+                                    run.total(endLine, clock.instant(), rows.size(), inserted);
+                            jdbc.update(
+                                    UPSERT_CHECKPOINT,
+                                    total.jobId(),
+                                    total.lastLine(),
+                                    total.usersImported(),
+                                    total.petsImported(),
+                                    total.failed(),
+                                    Timestamp.from(total.updatedAt()));
+                            return inserted;
+                        });
+        run.users += rows.size();
+        run.pets += pets;
+        writeShardPets(run.jobId, pending);
+    }
+
+    private void insertUsers(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(
+                con -> con.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Row row = rows.get(i);
+                        ps.setString(1, row.username);
+                        ps.setString(2, row.email);
+                        ps.setString(3, row.password);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keys);
+        List<Map<String, Object>> ids = keys.getKeyList();
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).userId = ((Number) ids.get(i).values().iterator().next()).longValue();
+        }
+    }
+
+    /** @return the number of pets inserted */
+    private static int insertPets(JdbcTemplate target, List<Row> rows) {
+        List<Pet> pets = new ArrayList<>();
+        List<Long> owners = new ArrayList<>();
+        for (Row row : rows) {
+            for (Pet pet : row.pets) {
+                pets.add(pet);
+                owners.add(row.userId);
+            }
+        }
+        if (pets.isEmpty()) {
+            return 0;
+        }
+        long firstId = PetIds.reserve(target.getDataSource(), pets.size());
+        List<Long> ids = new ArrayList<>(pets.size());
+        for (int i = 0; i < pets.size(); i++) {
+            ids.add(firstId + i);
+        }
+        insertPets(target, INSERT_PET, pets, owners, ids);
+        return pets.size();
+    }
+
+    // ===== Sharded pets =====
+
+    /**
+     * Reserve pet ids on each new owner's shard and record them in {@code import_pending_pets}
+     * (inside the chunk's transaction).
+     */
+    private List<PendingPets> reserveShardPets(String jobId, List<Row> rows) {
+        Map<String, List<Row>> byShard = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (row.pets.isEmpty()) continue;
+            byShard.computeIfAbsent(directory.shardForUser(row.userId), s -> new ArrayList<>())
+                    .add(row);
+        }
+        List<PendingPets> pending = new ArrayList<>();
+        for (Map.Entry<String, List<Row>> entry : byShard.entrySet()) {
+            int count = entry.getValue().stream().mapToInt(r -> r.pets.size()).sum();
+            long nextId = PetIds.reserve(shards.get(entry.getKey()), count);
+            for (Row row : entry.getValue()) {
+                pending.add(
+                        new PendingPets(row.line, row.userId, entry.getKey(), nextId, row.pets));
+                nextId += row.pets.size();
+            }
+        }
+        jdbc.batchUpdate(
+                INSERT_PENDING_PETS,
+                pending.stream()
+                        .map(p -> new Object[] {
+                            jobId, p.line(), p.userId(), p.shard(), p.firstPetId()
+                        })
+                        .toList());
+        return pending;
+    }
+
+    /** @return the job's recorded but possibly unwritten shard pets, by line (pets not loaded) */
+    private Map<Long, PendingPets> pendingPets(String jobId) {
+        if (shards == null) {
+            return Map.of();
+        }
+        Map<Long, PendingPets> pending = new LinkedHashMap<>();
+        jdbc.query(
+                "SELECT line, user_id, shard, first_pet_id FROM import_pending_pets"
+                        + " WHERE job_id = ?",
+                rs -> {
+                    long line = rs.getLong(1);
+                    PendingPets p =
+                            new PendingPets(
+                                    line, rs.getLong(2), rs.getString(3), rs.getLong(4), List.of());
+                    pending.put(line, p);
+                },
+                jobId);
+        return pending;
+    }
+
+    /** {@code pending} with its pets parsed again from its input line. */
+    private PendingPets withPets(PendingPets pending, String text) {
+        try {
+            ImportedUser in = objectMapper.readValue(text, ImportedUser.class);
+            Row row = toRow(pending.line(), in, clock.instant());
+            return new PendingPets(
+                    pending.line(),
+                    pending.userId(),
+                    pending.shard(),
+                    pending.firstPetId(),
+                    row.pets);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new IllegalStateException(
+                    "Line " + pending.line() + " changed since it was imported; cannot resume", e);
+        }
+    }
+
+    /**
+     * Write recorded pets to their shards, update the directory and drop the records. Safe to
+     * repeat: the ids are fixed, so pets already written are skipped.
+     */
+    private void writeShardPets(String jobId, List<PendingPets> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, List<PendingPets>> byShard = new LinkedHashMap<>();
+        for (PendingPets p : pending) {
+            byShard.computeIfAbsent(p.shard(), s -> new ArrayList<>()).add(p);
+        }
+        for (Map.Entry<String, List<PendingPets>> entry : byShard.entrySet()) {
+            JdbcTemplate target = new JdbcTemplate(shards.get(entry.getKey()));
+            for (PendingPets p : entry.getValue()) {
+                directory.place(p.userId(), entry.getKey());
+            }
+            List<Pet> pets = new ArrayList<>();
+            List<Long> owners = new ArrayList<>();
+            List<Long> ids = new ArrayList<>();
+            for (PendingPets p : entry.getValue()) {
+                for (int i = 0; i < p.pets().size(); i++) {
+                    pets.add(p.pets().get(i));
+                    owners.add(p.userId());
+                    ids.add(p.firstPetId() + i);
+                }
+            }
+            insertPets(target, INSERT_PET_IGNORE, pets, owners, ids);
+            for (int i = 0; i < ids.size(); i++) {
+                directory.recordPet(ids.get(i), owners.get(i));
+            }
+        }
+        jdbc.batchUpdate(
+                "DELETE FROM import_pending_pets WHERE job_id = ? AND line = ?",
+                pending.stream().map(p -> new Object[] {jobId, p.line()}).toList());
+    }
+
+    private static void insertPets(
+            JdbcTemplate target, String sql, List<Pet> pets, List<Long> owners, List<Long> ids) {
+        target.batchUpdate(
+                sql,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Pet pet = pets.get(i);
+                        ps.setLong(1, ids.get(i));
+                        ps.setString(2, pet.getName());
+                        ps.setInt(3, pet.getSpecies().id());
+                        ps.setInt(4, pet.getLevel());
+                        ps.setInt(5, pet.getFullness());
+                        ps.setInt(6, pet.getHappiness());
+                        ps.setInt(7, pet.getEnergy());
+                        ps.setTimestamp(8, Timestamp.from(pet.getLastTickAt()));
+                        if (pet.getAttentionAt() != null) {
+                            ps.setTimestamp(9, Timestamp.from(pet.getAttentionAt()));
+                        } else {
+                            ps.setNull(9, Types.TIMESTAMP);
+                        }
+                        ps.setLong(10, owners.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return pets.size();
+                    }
+                });
+    }
+}
@@ -1,11 +1,21 @@
 package org.example.backend.service;
 
 import java.util.List;
+import java.util.function.Supplier;
+import org.example.backend.activity.ActivityEvent;
+import org.example.backend.activity.ActivityFeed;
+import org.example.backend.changelog.ChangeLog;
+import org.example.backend.model.Pet;
 import org.example.backend.model.User;
 import org.example.backend.repository.UserRepository;
+import org.example.backend.resilience.DatabaseGuardAspect;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
@@ -17,6 +27,14 @@ import org.springframework.web.server.ResponseStatusException;
  *   <li>Hash passwords before persistence</li>
  *   <li>Use HTTP-friendly exceptions for not-found and conflicts</li>
  * </ul>
+ *
+ * <p>Plain lookups are {@code readOnly} transactions, so they can be served by the read replica
+ * when one is configured. Writes (and the lookups they depend on) run on the primary, and log the
+ * changed user to the {@link ChangeLog} so other instances can drop cached copies.
+ *
+ * <p>Writes that take a password hash it before opening their transaction, and run the database
+ * part under the {@link DatabaseGuardAspect} explicitly, so BCrypt time holds neither a
+ * connection nor a bulkhead permit.
  */
 @Service
 public class UserService {
@@ -25,48 +43,123 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PetService petService;
+    private final ActivityFeed activityFeed; // null if the activity feed is off
+    private final ChangeLog changeLog; // null if the change log is off
+    private final TransactionTemplate writeTx;
+    private final DatabaseGuardAspect databaseGuard; // null if resilience is off
 
     // Constructor injection keeps this testable
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            PetService petService,
+            ObjectProvider<ActivityFeed> activityFeed,
+            ObjectProvider<ChangeLog> changeLog,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<DatabaseGuardAspect> databaseGuard) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.petService = petService;
+        this.activityFeed = activityFeed.getIfAvailable();
+        this.changeLog = changeLog.getIfAvailable();
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.databaseGuard = databaseGuard.getIfAvailable();
     }
 
     // ===== Helpers (normalization) =====
 
-    /** Trim and lower-case username for consistent storage and lookup. */
-    private String normalizeUsername(String raw) {
+    /** Trim and lower-case username for consistent storage and lookup (also used by imports). */
+    static String normalizeUsername(String raw) {
         if (raw == null) return null;
         String v = raw.trim().toLowerCase();
         return v.isEmpty() ? null : v;
     }
 
     /** Trim and lower-case email for consistent storage and lookup. */
-    private String normalizeEmail(String raw) {
+    static String normalizeEmail(String raw) {
         if (raw == null) return null;
         String v = raw.trim().toLowerCase();
         return v.isEmpty() ? null : v;
     }
 
+    /** Log a change to a user for other instances' caches (joins the current transaction). */
+    private void logChange(long userId) {
+        if (changeLog != null) {
+            changeLog.record(ChangeLog.Entity.USER, userId);
+        }
+    }
+
+    /** Run a password-taking write in a transaction, under the database guard if there is one. */
+    private <T> T write(Supplier<T> work) {
+        Supplier<T> inTransaction = () -> writeTx.execute(status -> work.get());
+        return (databaseGuard != null) ? databaseGuard.call(inTransaction) : inTransaction.get();
+    }
+
+    /** Store a normalized user whose password is already hashed. */
+    private User insert(User user) {
+        User saved = userRepository.save(user);
+        logChange(saved.getId());
+        return saved;
+    }
+
     // ===== Reads =====
 
     /** Return all users (as entities). */
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
     /** Return a user by id or {@code null} if not found (controllers decide 404). */
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findById(id).orElse(null);
     }
 
+    /** A user together with their (ticked) pets. */
+    public record Dashboard(User user, List<Pet> pets) {}
+
+    /**
+     * Load a user and their pets for the dashboard in one transaction.
+     *
+     * <p>Not {@code readOnly}: loading pets applies and persists their decay (see
+     * {@link PetService}). With sharding enabled the pets are read on the owner's shard in a
+     * transaction of their own.
+     *
+     * @return the dashboard, or {@code null} if the user does not exist
+     */
+    @Transactional
+    public Dashboard getDashboard(Long id) {
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        return new Dashboard(user, petService.getPetsByUserId(id));
+    }
+
+    /**
+     * Recent activity ("fed Mochi") for a user, newest first, served from the in-memory feed.
+     *
+     * @return the events, or {@code null} if the user does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<ActivityEvent> getRecentActivity(Long id) {
+        if (!userRepository.existsById(id)) {
+            return null;
+        }
+        return (activityFeed == null) ? List.of() : activityFeed.recent(id);
+    }
+
     /** Find user by normalized username. */
+    @Transactional(readOnly = true)
     public User findByUsername(String username) {
         String u = normalizeUsername(username);
         return (u == null) ? null : userRepository.findByUsername(u);
     }
 
     /** Find user by normalized email. */
+    @Transactional(readOnly = true)
     public User findByEmail(String email) {
         String e = normalizeEmail(email);
         return (e == null) ? null : userRepository.findByEmail(e);
@@ -84,11 +177,11 @@ public class UserService {
         user.setUsername(normalizeUsername(user.getUsername()));
         user.setEmail(normalizeEmail(user.getEmail()));
 
-        // Hash password before saving
+        // Hash password before saving (outside the transaction and the guard)
         String hashedPassword = passwordEncoder.encode(user.getPassword());
         user.setPassword(hashedPassword);
 
-        return userRepository.save(user);
+        return write(() -> insert(user));
     }
 
     /**
@@ -107,20 +200,24 @@ public class UserService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email is required");
         }
 
-        // Uniqueness checks against normalized values
-        if (findByUsername(u) != null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Username already taken");
-        }
-        if (findByEmail(e) != null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already registered");
-        }
-
-        // Build entity and delegate to save (which normalizes + hashes as well)
         User user = new User();
         user.setUsername(u);
         user.setEmail(e);
-        user.setPassword(rawPassword); // hashed in saveUser
-        return saveUser(user);
+        user.setPassword(passwordEncoder.encode(rawPassword)); // outside the transaction and guard
+
+        return write(
+                () -> {
+                    // Uniqueness checks against normalized values
+                    if (findByUsername(u) != null) {
+                        throw new ResponseStatusException(
+                                HttpStatus.CONFLICT, "Username already taken");
+                    }
+                    if (findByEmail(e) != null) {
+                        throw new ResponseStatusException(
+                                HttpStatus.CONFLICT, "Email already registered");
+                    }
+                    return insert(user);
+                });
     }
 
     /**
@@ -129,6 +226,15 @@ public class UserService {
      * <p>Throws 404 if user missing, 409 if username/email conflict.
      */
     public User updateUser(Long id, String newUsername, String newEmail, String newRawPassword) {
+        // Hash first, outside the transaction and the guard
+        String hashed =
+                (newRawPassword != null && !newRawPassword.isBlank())
+                        ? passwordEncoder.encode(newRawPassword)
+                        : null;
+        return write(() -> applyUpdate(id, newUsername, newEmail, hashed));
+    }
+
+    private User applyUpdate(Long id, String newUsername, String newEmail, String hashedPassword) {
         User user =
                 userRepository
                         .findById(id)
@@ -159,22 +265,35 @@ public class UserService {
             }
         }
 
-        // --- Password update (hash) ---
-        if (newRawPassword != null && !newRawPassword.isBlank()) {
-            String hashed = passwordEncoder.encode(newRawPassword);
-            user.setPassword(hashed);
+        // --- Password update (already hashed) ---
+        if (hashedPassword != null) {
+            user.setPassword(hashedPassword);
         }
 
+        logChange(id);
         return userRepository.save(user);
     }
 
-    /** Delete a user or 404 if missing. */
+    /**
+     * Delete a user and their pets, or 404 if missing.
+     *
+     * <p>Pets are removed with one bulk delete (on the owner's shard when sharding is enabled)
+     * instead of loading and deleting them one by one through the orphan-removal cascade. Pets on
+     * the primary are deleted in this transaction; pets on another shard are committed first, and
+     * a retry after a failure deletes whatever is left.
+     */
+    @Transactional
     public void deleteUser(Long id) {
         User user =
                 userRepository
                         .findById(id)
                         .orElseThrow(
                                 () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found: " + id));
+        petService.deletePetsByUserId(id);
+        if (activityFeed != null) {
+            activityFeed.deleteUser(id);
+        }
         userRepository.delete(user);
+        logChange(id);
     }
 }
@@ -0,0 +1,51 @@
+package org.example.backend.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound "current shard" used by {@link ShardRoutingDataSource}.
+ *
+ * <p>Must be set before a transaction touches the database: the connection is picked on the
+ * first statement and stays on that shard until the transaction ends.
+ */
+public final class ShardContext {
+
+    /** Name of the regular (non-shard) datasource. */
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    // Prevent instantiation
+    private ShardContext() {}
+
+    /** @return the shard bound to this thread, or {@code null} for the primary */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /** Run {@code work} with {@code shard} bound, restoring the previous binding afterwards. */
+    public static <T> T callOn(String shard, Supplier<T> work) {
+        String previous = bind(shard);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /** Bind {@code shard} and return the previous binding (hand it to {@link #restore}). */
+    static String bind(String shard) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    /** Restore a binding returned by {@link #bind}. */
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
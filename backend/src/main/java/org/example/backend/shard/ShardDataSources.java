@@ -0,0 +1,59 @@
+package org.example.backend.shard;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+
+/**
+ * Raw (non-routing) datasources by shard name, including {@value ShardContext#PRIMARY}.
+ *
+ * <p>Used by code that must talk to one specific database outside the JPA transaction: the shard
+ * directory and the rebalancer.
+ */
+public class ShardDataSources {
+
+    private final Map<String, DataSource> shards;
+    private volatile DataSource primary;
+
+    public ShardDataSources(Map<String, DataSource> shards) {
+        this.shards = Collections.unmodifiableMap(new LinkedHashMap<>(shards));
+    }
+
+    /** Called once the regular datasource bean exists (before it is wrapped for routing). */
+    public void setPrimary(DataSource primary) {
+        this.primary = primary;
+    }
+
+    /** @return the regular datasource (users, directory, pre-sharding pets) */
+    public DataSource primary() {
+        return primary;
+    }
+
+    /** @return the shard datasources, without the primary */
+    public Map<String, DataSource> shards() {
+        return shards;
+    }
+
+    /** @return every shard name, primary first */
+    public Set<String> names() {
+        Set<String> names = new LinkedHashSet<>();
+        names.add(ShardContext.PRIMARY);
+        names.addAll(shards.keySet());
+        return names;
+    }
+
+    /** @return the raw datasource for {@code shard} */
+    public DataSource get(String shard) {
+        if (ShardContext.PRIMARY.equals(shard)) {
+            return primary;
+        }
+        DataSource ds = shards.get(shard);
+        if (ds == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return ds;
+    }
+}
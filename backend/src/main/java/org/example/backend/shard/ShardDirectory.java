@@ -0,0 +1,133 @@
+package org.example.backend.shard;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Owner placement and pet ownership lookups, stored on the primary.
+ *
+ * <p>Tables (see {@code V3__shard_directory.sql}):
+ * <ul>
+ *   <li>{@code user_shards}: owner id → shard. An owner without a row who still has pets on the
+ *       primary (pre-sharding data the rebalancer has not claimed yet) is claimed for
+ *       {@value ShardContext#PRIMARY} on lookup; any other missing row falls back to the
+ *       {@link ShardMap}.</li>
+ *   <li>{@code pet_owners}: pet id → owner id. A pet keeps its owner and its id, even across
+ *       shard moves, so entries are cached freely.</li>
+ * </ul>
+ *
+ * <p>Uses the raw primary datasource, so lookups never join (or pin) the caller's transaction.
+ */
+public class ShardDirectory {
+
+    /** Rough cap on cached entries; the caches are simply cleared when they grow past it. */
+    private static final int MAX_CACHED = 100_000;
+
+    private final JdbcTemplate jdbc;
+    private final ShardMap ring;
+    private final long placementTtlNanos;
+
+    private final Map<Long, Placement> placements = new ConcurrentHashMap<>();
+    private final Map<Long, Long> petOwners = new ConcurrentHashMap<>();
+
+    private record Placement(String shard, long expiresAt) {}
+
+    public ShardDirectory(JdbcTemplate primaryJdbc, ShardMap ring, Duration placementTtl) {
+        this.jdbc = primaryJdbc;
+        this.ring = ring;
+        this.placementTtlNanos = placementTtl.toNanos();
+    }
+
+    // ===== Owners =====
+
+    /**
+     * @return the shard holding {@code userId}'s pets: the recorded placement, the primary for
+     *     unclaimed pre-sharding owners, else the ring
+     */
+    public String shardForUser(long userId) {
+        long now = System.nanoTime();
+        Placement cached = placements.get(userId);
+        if (cached != null && cached.expiresAt - now > 0) {
+            return cached.shard;
+        }
+
+        List<String> rows =
+                jdbc.queryForList(
+                        "SELECT shard FROM user_shards WHERE user_id = ?", String.class, userId);
+        String shard;
+        if (!rows.isEmpty()) {
+            shard = rows.get(0);
+        } else if (hasLegacyPets(userId)) {
+            place(userId, ShardContext.PRIMARY); // claim now, before a create records the ring
+            shard = ShardContext.PRIMARY;
+        } else {
+            shard = ring.shardFor(userId);
+        }
+
+        if (placements.size() >= MAX_CACHED) placements.clear();
+        placements.put(userId, new Placement(shard, now + placementTtlNanos));
+        return shard;
+    }
+
+    /** Record {@code userId}'s placement if it has none yet. */
+    public void place(long userId, String shard) {
+        jdbc.update("INSERT IGNORE INTO user_shards (user_id, shard) VALUES (?, ?)", userId, shard);
+    }
+
+    /** @return how long other callers may keep routing to an owner's previous placement */
+    public Duration placementTtl() {
+        return Duration.ofNanos(placementTtlNanos);
+    }
+
+    /** Point {@code userId} at a new shard (rebalancer). */
+    public void move(long userId, String shard) {
+        jdbc.update("UPDATE user_shards SET shard = ? WHERE user_id = ?", shard, userId);
+        placements.remove(userId);
+    }
+
+    // ===== Pets =====
+
+    /** @return the owner of {@code petId}, or {@code null} if the directory has no entry */
+    public Long ownerOfPet(long petId) {
+        Long owner = petOwners.get(petId);
+        if (owner != null) {
+            return owner;
+        }
+
+        List<Long> rows =
+                jdbc.queryForList("SELECT user_id FROM pet_owners WHERE pet_id = ?", Long.class, petId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        remember(petId, rows.get(0));
+        return rows.get(0);
+    }
+
+    /** Record that {@code petId} belongs to {@code userId} (idempotent). */
+    public void recordPet(long petId, long userId) {
+        if (petOwners.containsKey(petId)) {
+            return;
+        }
+        jdbc.update("INSERT IGNORE INTO pet_owners (pet_id, user_id) VALUES (?, ?)", petId, userId);
+        remember(petId, userId);
+    }
+
+    /** Whether {@code userId} has rows on the primary that no placement covers yet. */
+    private boolean hasLegacyPets(long userId) {
+        return !jdbc.queryForList(
+                        "SELECT 1 FROM pets WHERE user_id = ?"
+                                + " UNION ALL SELECT 1 FROM pets_archive WHERE user_id = ?",
+                        Integer.class,
+                        userId,
+                        userId)
+                .isEmpty();
+    }
+
+    private void remember(long petId, long userId) {
+        if (petOwners.size() >= MAX_CACHED) petOwners.clear();
+        petOwners.put(petId, userId);
+    }
+}
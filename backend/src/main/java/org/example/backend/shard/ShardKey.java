@@ -0,0 +1,29 @@
+package org.example.backend.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter of a {@link ShardRouted} method that decides its shard.
+ *
+ * <p>{@link Source#ENTITY} reads the owner from a {@code User} (its id) or a {@code Pet} (its
+ * owner's id); the id sources take a plain {@code Long}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+
+    Source value() default Source.ENTITY;
+
+    /** How to turn the argument into an owner id. */
+    enum Source {
+        /** A {@code User} or {@code Pet} argument. */
+        ENTITY,
+        /** A {@code Long} owner (user) id. */
+        USER_ID,
+        /** A {@code Long} pet id, resolved to its owner through the shard directory. */
+        PET_ID
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.backend.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable consistent-hash ring mapping owner ids to shard names.
+ *
+ * <p>Each shard is placed on the ring {@code virtualNodes} times; an owner belongs to the first
+ * point at or after its hash. Adding or removing a shard only moves the owners adjacent to that
+ * shard's points (roughly {@code 1/N} of them), which keeps resharding incremental.
+ */
+public final class ShardMap {
+
+    private final long[] points;
+    private final String[] owners;
+    private final List<String> shards;
+
+    public ShardMap(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Shard ring needs at least one shard");
+        }
+        this.shards = List.copyOf(shards);
+
+        int size = this.shards.size() * virtualNodes;
+        long[] hashes = new long[size];
+        String[] names = new String[size];
+        int i = 0;
+        for (String shard : this.shards) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[i] = hash(shard + "#" + v);
+                names[i] = shard;
+                i++;
+            }
+        }
+
+        // Sort points (and their owners) by hash for binary search
+        Integer[] order = new Integer[size];
+        for (int j = 0; j < size; j++) order[j] = j;
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (int j = 0; j < size; j++) {
+            points[j] = hashes[order[j]];
+            owners[j] = names[order[j]];
+        }
+    }
+
+    /** @return shards on the ring, in configuration order */
+    public List<String> shards() {
+        return shards;
+    }
+
+    /** @return the shard that owns {@code userId} */
+    public String shardFor(long userId) {
+        long h = mix(userId);
+        int idx = Arrays.binarySearch(points, h);
+        if (idx < 0) idx = -idx - 1;
+        return owners[idx == points.length ? 0 : idx];
+    }
+
+    // ===== Hashing =====
+
+    /** SplitMix64 finalizer: spreads sequential ids evenly over the ring. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Stable (JVM-independent) 64-bit hash for ring points. */
+    private static long hash(String key) {
+        try {
+            byte[] d = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) h = (h << 8) | (d[i] & 0xff);
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package org.example.backend.shard;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.example.backend.changelog.ChangeLog;
+import org.example.backend.repository.PetArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Online resharding tool: moves owners whose recorded shard no longer matches the ring.
+ *
+ * <p>Run it as a one-off process next to the live instances:
+ * <pre>
+ * java -jar backend.jar --spring.main.web-application-type=none \
+ *      --pixelpets.sharding.rebalance=true   (plus the new ring/shard settings)
+ * </pre>
+ *
+ * <p>Steps:
+ * <ol>
+ *   <li>Claim pre-sharding owners: anyone with pets on the primary but no {@code user_shards} row
+ *       is recorded on {@value ShardContext#PRIMARY}.</li>
+ *   <li>For every owner whose placement differs from the ring, move their pets one owner at a
+ *       time (see {@link #moveUser}).</li>
+ *   <li>Once the instances' placement caches have expired ({@code fenceDelay}), sweep every moved
+ *       owner's source shard again: an instance still routing to the old placement may have
+ *       created pets there after the move.</li>
+ * </ol>
+ *
+ * <p>Moving an owner locks their rows on the source for the duration of the copy, so concurrent
+ * writes to those pets wait, then fail once (row gone). Other owners are never blocked.
+ *
+ * <p>Moved pets keep their ids: ids come from each database's own {@code id_allocations} range
+ * (see {@code V11__pet_id_allocator.sql}), so a foreign id inserted on the target neither collides
+ * with nor moves the target's allocator, and {@code pet_owners}, {@code pet_activity} and client
+ * references stay valid.
+ */
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    /** Margin on top of the placement TTL before the fence sweep. */
+    private static final Duration FENCE_MARGIN = Duration.ofSeconds(1);
+
+    private static final String LOG_CHANGE = "INSERT INTO change_log (entity, entity_id) VALUES (?, ?)";
+
+    /** One completed owner move. */
+    private record Move(long userId, String from, String to) {}
+
+    private final ShardDataSources dataSources;
+    private final ShardDirectory directory;
+    private final ShardMap ring;
+    private final Duration fenceDelay;
+
+    public ShardRebalancer(ShardDataSources dataSources, ShardDirectory directory, ShardMap ring) {
+        this(dataSources, directory, ring, directory.placementTtl().plus(FENCE_MARGIN));
+    }
+
+    /** @param fenceDelay wait before re-sweeping moved owners' source shards */
+    public ShardRebalancer(
+            ShardDataSources dataSources, ShardDirectory directory, ShardMap ring, Duration fenceDelay) {
+        this.dataSources = dataSources;
+        this.directory = directory;
+        this.ring = ring;
+        this.fenceDelay = fenceDelay;
+    }
+
+    /**
+     * Bring every owner's placement in line with the ring.
+     *
+     * @return number of owners moved
+     */
+    public int rebalance() {
+        JdbcTemplate primary = new JdbcTemplate(dataSources.primary());
+
+        // 1) Claim owners whose pets predate sharding
+        List<Long> legacyOwners =
+                primary.queryForList(
+                        "SELECT user_id FROM pets WHERE user_id IS NOT NULL"
+                                + " UNION SELECT user_id FROM pets_archive WHERE user_id IS NOT NULL",
+                        Long.class);
+        for (Long userId : legacyOwners) {
+            directory.place(userId, ShardContext.PRIMARY);
+        }
+
+        // 2) Move owners that sit on the wrong shard
+        List<Move> moves = new ArrayList<>();
+        for (Map<String, Object> row : primary.queryForList("SELECT user_id, shard FROM user_shards")) {
+            long userId = ((Number) row.get("user_id")).longValue();
+            String current = (String) row.get("shard");
+            String target = ring.shardFor(userId);
+            if (!target.equals(current)) {
+                moveUser(userId, current, target);
+                moves.add(new Move(userId, current, target));
+            }
+        }
+
+        // 3) Fence: pick up pets created on the old placement by instances with a stale cache
+        if (!moves.isEmpty()) {
+            sleep(fenceDelay);
+            int stranded = 0;
+            for (Move move : moves) {
+                stranded += moveUser(move.userId(), move.from(), move.to());
+            }
+            if (stranded > 0) {
+                log.info("Shard rebalance fence sweep moved {} late pet(s)", stranded);
+            }
+        }
+        log.info("Shard rebalance finished: {} owner(s) moved", moves.size());
+        return moves.size();
+    }
+
+    /**
+     * Move one owner's pets from {@code from} to {@code to}, under their current ids.
+     *
+     * <p>Order, so that every step is safe to repeat:
+     * <ol>
+     *   <li>Lock the owner's rows on the source ({@code SELECT ... FOR UPDATE}); archived pets are
+     *       rehydrated first so they travel as regular rows, and journaled actions
+     *       ({@code pet_actions}) move along with their pets.</li>
+     *   <li>Copy them to the target in one target transaction (see {@link #copy}).</li>
+     *   <li>Delete them on the source and log the pets and the owner to the change log, in the
+     *       source transaction, which commits.</li>
+     *   <li>Point the owner's placement at {@code to}.</li>
+     * </ol>
+     *
+     * <p>The placement is the fence. While it still names {@code from}, the source is
+     * authoritative and target rows with the same ids are leftovers of an interrupted attempt,
+     * which the copy replaces. Once it names {@code to}, rows left on the source can only be pets
+     * created there through a stale placement, which are added to the target without touching
+     * existing rows. A crash at any point is repaired by running {@link #rebalance} again; an owner
+     * with nothing left on {@code from} only has their placement confirmed.
+     *
+     * @return number of pets moved
+     */
+    public int moveUser(long userId, String from, String to) {
+        JdbcTemplate primary = new JdbcTemplate(dataSources.primary());
+        boolean placed =
+                primary.queryForList(
+                                "SELECT shard FROM user_shards WHERE user_id = ?",
+                                String.class,
+                                userId)
+                        .contains(to);
+        int moved;
+        try (Connection source = dataSources.get(from).getConnection()) {
+            source.setAutoCommit(false);
+            try {
+                try (PreparedStatement restore =
+                                source.prepareStatement(PetArchiveRepository.RESTORE_OWNER);
+                        PreparedStatement dropArchived =
+                                source.prepareStatement(PetArchiveRepository.DELETE_OWNER)) {
+                    restore.setLong(1, userId);
+                    restore.executeUpdate();
+                    dropArchived.setLong(1, userId);
+                    dropArchived.executeUpdate();
+                }
+
+                List<Object[]> rows = new ArrayList<>();
+                List<String> columns = new ArrayList<>();
+                try (PreparedStatement select =
+                        source.prepareStatement("SELECT * FROM pets WHERE user_id = ? FOR UPDATE")) {
+                    select.setLong(1, userId);
+                    try (ResultSet rs = select.executeQuery()) {
+                        ResultSetMetaData meta = rs.getMetaData();
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            columns.add(meta.getColumnLabel(i).toLowerCase());
+                        }
+                        while (rs.next()) {
+                            Object[] values = new Object[columns.size()];
+                            for (int i = 0; i < values.length; i++) values[i] = rs.getObject(i + 1);
+                            rows.add(values);
+                        }
+                    }
+                }
+
+                List<Object[]> events = new ArrayList<>();
+                try (PreparedStatement select =
+                        source.prepareStatement(
+                                "SELECT a.id, a.pet_id, a.action, a.occurred_at FROM pet_actions a"
+                                        + " JOIN pets p ON p.id = a.pet_id WHERE p.user_id = ? ORDER BY a.id")) {
+                    select.setLong(1, userId);
+                    try (ResultSet rs = select.executeQuery()) {
+                        while (rs.next()) {
+                            events.add(
+                                    new Object[] {
+                                        rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getTimestamp(4)
+                                    });
+                        }
+                    }
+                }
+
+                copy(to, columns, rows, events, placed);
+
+                try (PreparedStatement deleteEvents =
+                                source.prepareStatement(
+                                        "DELETE FROM pet_actions WHERE pet_id IN"
+                                                + " (SELECT id FROM pets WHERE user_id = ?)");
+                        PreparedStatement deletePending =
+                                source.prepareStatement(
+                                        "DELETE FROM pet_actions_pending WHERE pet_id IN"
+                                                + " (SELECT id FROM pets WHERE user_id = ?)");
+                        PreparedStatement delete =
+                                source.prepareStatement("DELETE FROM pets WHERE user_id = ?")) {
+                    deleteEvents.setLong(1, userId);
+                    deleteEvents.executeUpdate();
+                    deletePending.setLong(1, userId);
+                    deletePending.executeUpdate();
+                    delete.setLong(1, userId);
+                    delete.executeUpdate();
+                }
+                int idColumn = columns.indexOf("id");
+                logChanges(
+                        source,
+                        userId,
+                        rows.stream().map(row -> ((Number) row[idColumn]).longValue()).toList());
+                source.commit();
+                moved = rows.size();
+            } catch (SQLException | RuntimeException e) {
+                source.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to move owner " + userId + " to " + to, e);
+        }
+
+        if (!placed) {
+            directory.move(userId, to);
+        }
+        if (moved > 0) {
+            log.info("Moved owner {} ({} pet(s)) from {} to {}", userId, moved, from, to);
+        }
+        return moved;
+    }
+
+    /**
+     * Insert the copied rows and their journal on the target shard in one transaction.
+     *
+     * <p>Before the placement switch ({@code placed = false}) target rows with the same ids are
+     * replaced; after it, pets already on the target are skipped ({@code INSERT IGNORE}) together
+     * with their events.
+     *
+     * <p>Event ids are per-database sequences, so events get fresh ids on the target (in their
+     * original order) and each pet's {@code journal_seq} is remapped to the new id of the last event
+     * it had folded.
+     */
+    private void copy(
+            String shard,
+            List<String> columns,
+            List<Object[]> rows,
+            List<Object[]> events,
+            boolean placed)
+            throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int idColumn = columns.indexOf("id");
+        String sql =
+                "INSERT IGNORE INTO pets ("
+                        + String.join(", ", columns)
+                        + ") VALUES ("
+                        + String.join(", ", columns.stream().map(c -> "?").toList())
+                        + ")";
+        try (Connection target = dataSources.get(shard).getConnection()) {
+            target.setAutoCommit(false);
+            try {
+                if (!placed) {
+                    try (PreparedStatement deleteEvents =
+                                    target.prepareStatement(
+                                            "DELETE FROM pet_actions WHERE pet_id = ?");
+                            PreparedStatement delete =
+                                    target.prepareStatement("DELETE FROM pets WHERE id = ?")) {
+                        for (Object[] row : rows) {
+                            deleteEvents.setObject(1, row[idColumn]);
+                            deleteEvents.addBatch();
+                            delete.setObject(1, row[idColumn]);
+                            delete.addBatch();
+                        }
+                        deleteEvents.executeBatch();
+                        delete.executeBatch();
+                    }
+                }
+
+                List<Object[]> inserted = new ArrayList<>(rows.size());
+                try (PreparedStatement insert = target.prepareStatement(sql)) {
+                    for (Object[] row : rows) {
+                        for (int i = 0; i < row.length; i++) insert.setObject(i + 1, row[i]);
+                        if (insert.executeUpdate() > 0) inserted.add(row);
+                    }
+                }
+                copyJournal(target, columns, inserted, events);
+                target.commit();
+            } catch (SQLException | RuntimeException e) {
+                target.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Re-insert the events ({id, pet_id, action, occurred_at}) of the inserted {@code rows}, remap
+     * their {@code journal_seq} and mark pets with unfolded events pending.
+     */
+    private static void copyJournal(
+            Connection target, List<String> columns, List<Object[]> rows, List<Object[]> events)
+            throws SQLException {
+        int idColumn = columns.indexOf("id");
+        int seqColumn = columns.indexOf("journal_seq");
+
+        // How many of each pet's events were already folded into its row
+        Map<Long, Long> foldedSeq = new HashMap<>();
+        for (Object[] row : rows) {
+            foldedSeq.put(((Number) row[idColumn]).longValue(), ((Number) row[seqColumn]).longValue());
+        }
+        List<Object[]> copied =
+                events.stream().filter(event -> foldedSeq.containsKey((Long) event[1])).toList();
+        if (copied.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> foldedCount = new HashMap<>();
+        Set<Long> pending = new HashSet<>();
+        try (PreparedStatement insert =
+                target.prepareStatement(
+                        "INSERT INTO pet_actions (pet_id, action, occurred_at) VALUES (?, ?, ?)")) {
+            for (Object[] event : copied) {
+                long petId = (Long) event[1];
+                if ((Long) event[0] <= foldedSeq.get(petId)) {
+                    foldedCount.merge(petId, 1, Integer::sum);
+                } else {
+                    pending.add(petId);
+                }
+                insert.setLong(1, petId);
+                insert.setInt(2, (Integer) event[2]);
+                insert.setTimestamp(3, (Timestamp) event[3]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        try (PreparedStatement ids =
+                        target.prepareStatement(
+                                "SELECT id FROM pet_actions WHERE pet_id = ? ORDER BY id");
+                PreparedStatement update =
+                        target.prepareStatement("UPDATE pets SET journal_seq = ? WHERE id = ?")) {
+            for (Long petId : foldedSeq.keySet()) {
+                long newSeq = 0;
+                int folded = foldedCount.getOrDefault(petId, 0);
+                if (folded > 0) {
+                    ids.setLong(1, petId);
+                    try (ResultSet rs = ids.executeQuery()) {
+                        for (int i = 0; i < folded && rs.next(); i++) newSeq = rs.getLong(1);
+                    }
+                }
+                update.setLong(1, newSeq);
+                update.setLong(2, petId);
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+
+        if (!pending.isEmpty()) {
+            try (PreparedStatement mark =
+                    target.prepareStatement(
+                            "INSERT IGNORE INTO pet_actions_pending (pet_id) VALUES (?)")) {
+                for (Long petId : pending) {
+                    mark.setLong(1, petId);
+                    mark.addBatch();
+                }
+                mark.executeBatch();
+            }
+        }
+    }
+
+    /** Log the moved pets and the owner on the source, in its moving transaction. */
+    private static void logChanges(Connection source, long userId, Collection<Long> petIds)
+            throws SQLException {
+        if (petIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement insert = source.prepareStatement(LOG_CHANGE)) {
+            for (Long petId : petIds) {
+                insert.setInt(1, ChangeLog.Entity.PET.code());
+                insert.setLong(2, petId);
+                insert.addBatch();
+            }
+            insert.setInt(1, ChangeLog.Entity.USER.code());
+            insert.setLong(2, userId);
+            insert.addBatch();
+            insert.executeBatch();
+        }
+    }
+
+    private static void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted before the shard move fence sweep", e);
+        }
+    }
+}
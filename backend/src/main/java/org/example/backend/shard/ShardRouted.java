@@ -0,0 +1,22 @@
+package org.example.backend.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a service method on the owner's shard (see {@link ShardRoutingAspect}).
+ *
+ * <p>Has no effect unless sharding is enabled.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardRouted {
+
+    /** Run once per shard and concatenate the {@code List} results (admin-style listings). */
+    boolean scatter() default false;
+
+    /** The method creates pets: record the owner's placement and the new pets' owners. */
+    boolean creates() default false;
+}
@@ -0,0 +1,188 @@
+package org.example.backend.shard;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Binds the owner's shard around {@link ShardRouted} service methods.
+ *
+ * <p>Ordered ahead of the transaction advice, so each transaction starts with its shard already
+ * bound and stays on exactly one database:
+ * <ul>
+ *   <li>Owner-keyed calls (by user, pet entity or pet id) run on the owner's shard.</li>
+ *   <li>{@code scatter = true} calls run once per shard (one transaction each) and concatenate.</li>
+ *   <li>Pet ids missing from the directory are looked up on every database and backfilled
+ *       (see {@link #findOwner}); unknown pets run on the primary.</li>
+ *   <li>Called from inside a (primary) transaction, shard work runs in a new transaction of its
+ *       own, since the caller's transaction is already bound to the primary connection.</li>
+ * </ul>
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 3) // after read coalescing and the database guard
+public class ShardRoutingAspect {
+
+    private final ShardDirectory directory;
+    private final ShardDataSources dataSources;
+    private final TransactionTemplate newTransaction;
+    private final Map<Method, KeyParameter> keyParameters = new ConcurrentHashMap<>();
+
+    /** Position and source of a method's {@link ShardKey} parameter. */
+    private record KeyParameter(int index, ShardKey.Source source) {}
+
+    public ShardRoutingAspect(
+            ShardDirectory directory,
+            ShardDataSources dataSources,
+            PlatformTransactionManager transactionManager) {
+        this.directory = directory;
+        this.dataSources = dataSources;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Around("@annotation(org.example.backend.shard.ShardRouted)")
+    public Object route(ProceedingJoinPoint pjp) throws Throwable {
+        if (ShardContext.current() != null) {
+            return pjp.proceed(); // nested call: already on a shard
+        }
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        ShardRouted routed = method.getAnnotation(ShardRouted.class);
+        if (routed.scatter()) {
+            return scatter(pjp);
+        }
+
+        KeyParameter key = keyParameters.computeIfAbsent(method, ShardRoutingAspect::findKeyParameter);
+        Long owner = ownerOf(pjp.getArgs()[key.index()], key.source());
+
+        String shard = (owner == null) ? ShardContext.PRIMARY : directory.shardForUser(owner);
+        if (routed.creates() && owner != null) {
+            directory.place(owner, shard);
+        }
+
+        Object result = proceedOn(pjp, shard);
+
+        if (routed.creates() && owner != null && result instanceof Pet pet && pet.getId() != null) {
+            directory.recordPet(pet.getId(), owner);
+        }
+        return result;
+    }
+
+    // ===== Helpers =====
+
+    private Object scatter(ProceedingJoinPoint pjp) throws Throwable {
+        List<Object> merged = new ArrayList<>();
+        for (String shard : dataSources.names()) {
+            Object part = proceedOn(pjp, shard);
+            if (part instanceof List<?> list) {
+                merged.addAll(list);
+            }
+        }
+        return merged;
+    }
+
+    private Object proceedOn(ProceedingJoinPoint pjp, String shard) throws Throwable {
+        boolean suspendCaller =
+                TransactionSynchronizationManager.isActualTransactionActive()
+                        && !ShardContext.PRIMARY.equals(shard);
+        String previous = ShardContext.bind(shard);
+        try {
+            return suspendCaller ? proceedInNewTransaction(pjp) : pjp.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private Object proceedInNewTransaction(ProceedingJoinPoint pjp) throws Throwable {
+        try {
+            return newTransaction.execute(
+                    status -> {
+                        try {
+                            return pjp.proceed();
+                        } catch (RuntimeException | Error e) {
+                            throw e;
+                        } catch (Throwable t) {
+                            throw new CheckedFailure(t);
+                        }
+                    });
+        } catch (CheckedFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Carries a checked exception out of a {@link TransactionTemplate} callback. */
+    private static final class CheckedFailure extends RuntimeException {
+        CheckedFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    private Long ownerOf(Object arg, ShardKey.Source source) {
+        if (arg == null) {
+            return null;
+        }
+        return switch (source) {
+            case USER_ID -> (Long) arg;
+            case PET_ID -> {
+                Long owner = directory.ownerOfPet((Long) arg);
+                yield (owner != null) ? owner : findOwner((Long) arg);
+            }
+            case ENTITY -> {
+                if (arg instanceof User user) yield user.getId();
+                if (arg instanceof Pet pet && pet.getUser() != null) yield pet.getUser().getId();
+                yield null;
+            }
+        };
+    }
+
+    /**
+     * Directory miss: look the pet up on every database and backfill its entry. The entry is
+     * written after the shard commit, so a failure in between leaves a pet only this finds; the
+     * same goes for pre-sharding pets on the primary.
+     *
+     * @return the pet's owner, or {@code null} for unknown (or ownerless) pets
+     */
+    private Long findOwner(long petId) {
+        for (String shard : dataSources.names()) {
+            List<Long> owners =
+                    new JdbcTemplate(dataSources.get(shard))
+                            .queryForList(
+                                    "SELECT user_id FROM pets WHERE id = ? UNION ALL"
+                                            + " SELECT user_id FROM pets_archive WHERE id = ?",
+                                    Long.class,
+                                    petId,
+                                    petId);
+            if (!owners.isEmpty()) {
+                Long owner = owners.get(0);
+                if (owner != null) directory.recordPet(petId, owner);
+                return owner;
+            }
+        }
+        return null;
+    }
+
+    private static KeyParameter findKeyParameter(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation a : annotations[i]) {
+                if (a instanceof ShardKey key) return new KeyParameter(i, key.value());
+            }
+        }
+        throw new IllegalStateException("@ShardRouted method has no @ShardKey parameter: " + method);
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.backend.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Routes connections to the shard bound in {@link ShardContext}; unbound work (users, directory,
+ * Flyway) goes to the default target, i.e. the regular datasource.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.backend.shard;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings for sharding pets by owner ({@code pixelpets.sharding.*}).
+ *
+ * <p>Bound directly by {@link org.example.backend.config.ShardingConfig}, because the shard pools
+ * are needed before regular beans are created.
+ *
+ * <p>Example:
+ * <pre>
+ * pixelpets.sharding.enabled=true
+ * pixelpets.sharding.ring=s1,s2
+ * pixelpets.sharding.shards.s1.url=jdbc:mysql://shard1/pixel_pets
+ * pixelpets.sharding.shards.s1.id-offset=1000000000000
+ * pixelpets.sharding.shards.s2.url=jdbc:mysql://shard2/pixel_pets
+ * pixelpets.sharding.shards.s2.id-offset=2000000000000
+ * </pre>
+ *
+ * <p>The regular datasource is always addressable as shard {@value ShardContext#PRIMARY}; it
+ * holds the users table, the shard directory and any pets that predate sharding.
+ */
+@Getter
+@Setter
+public class ShardingProperties {
+
+    /** Turns sharding on; when off, everything uses the single primary datasource. */
+    private boolean enabled;
+
+    /** Shards that receive new owners (may include {@value ShardContext#PRIMARY}). */
+    private List<String> ring = List.of(ShardContext.PRIMARY);
+
+    /** Virtual nodes per shard on the hash ring (smooths the distribution). */
+    private int virtualNodes = 128;
+
+    /** How long an owner's placement is cached before re-reading the directory. */
+    private Duration placementCacheTtl = Duration.ofSeconds(5);
+
+    /** Shard datasources by name (the primary is implicit). */
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    /** Connection settings for one shard. */
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+
+        /** First pet id allocated on this shard; ranges must not overlap between shards. */
+        private long idOffset = 1;
+    }
+}
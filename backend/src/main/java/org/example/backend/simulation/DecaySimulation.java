@@ -0,0 +1,231 @@
+package org.example.backend.simulation;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.example.backend.model.Pet;
+import org.example.backend.model.Species;
+import org.example.backend.model.User;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the decay model at N× speed over seeded pets, to measure write volume and CPU over
+ * simulated weeks.
+ *
+ * <p>One run:
+ * <ol>
+ *   <li>Seeds {@code pets} pets, an even mix of every {@link Species}, across fresh owners
+ *       (stored directly, no password hashing).</li>
+ *   <li>Each round advances the {@link SimulatedClock} by {@code step}; every owner checks in with
+ *       {@code checkInProbability} (loading their pets through {@link PetService}, which ticks and
+ *       persists the drift) and feeds/rests/plays with pets whose lowest stat is at or below
+ *       {@code careThreshold}.</li>
+ *   <li>Reports Hibernate's statement/update counts and CPU time for the rounds, then deletes the
+ *       seeded owners.</li>
+ * </ol>
+ *
+ * <p>Everything goes through the regular services, so sharding, the journal and the activity feed
+ * behave as configured. Run it against a scratch database.
+ */
+public class DecaySimulation {
+
+    private static final Logger log = LoggerFactory.getLogger(DecaySimulation.class);
+
+    private static final Species[] SPECIES = Species.values();
+
+    /** What one run did and cost. */
+    public record Report(
+            int pets,
+            long rounds,
+            Duration simulated,
+            Duration wall,
+            long reads,
+            long actions,
+            long petUpdates,
+            long statements,
+            Duration processCpu,
+            Duration simulationThreadCpu) {
+
+        /** Pet row updates per pet per simulated day. */
+        public double updatesPerPetDay() {
+            double days = simulated.toMinutes() / (24.0 * 60);
+            return (pets == 0 || days == 0) ? 0 : petUpdates / (pets * days);
+        }
+
+        public String summary() {
+            return String.format(
+                    "%d pets, %s simulated in %s (%d rounds): %d reads, %d actions,"
+                            + " %d pet updates (%.1f per pet-day), %d statements,"
+                            + " CPU %d ms process / %d ms simulation thread",
+                    pets,
+                    simulated,
+                    wall,
+                    rounds,
+                    reads,
+                    actions,
+                    petUpdates,
+                    updatesPerPetDay(),
+                    statements,
+                    processCpu.toMillis(),
+                    simulationThreadCpu.toMillis());
+        }
+    }
+
+    private final PetService petService;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final SimulatedClock clock;
+    private final SimulationProperties properties;
+    private final Statistics statistics;
+
+    public DecaySimulation(
+            PetService petService,
+            UserService userService,
+            UserRepository userRepository,
+            SimulatedClock clock,
+            SimulationProperties properties,
+            EntityManagerFactory entityManagerFactory) {
+        this.petService = petService;
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.clock = clock;
+        this.properties = properties;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /** Seed, simulate {@code duration} of decay, report, and (by default) clean up. */
+    public Report run() {
+        List<Long> owners = seed();
+        try {
+            Report report = simulate(owners);
+            log.info("Decay simulation: {}", report.summary());
+            return report;
+        } finally {
+            if (properties.isCleanup()) {
+                owners.forEach(userService::deleteUser);
+            }
+        }
+    }
+
+    // ===== Steps =====
+
+    /** Create the owners and their pets; returns the owner ids. */
+    private List<Long> seed() {
+        String tag = Long.toString(System.nanoTime(), 36);
+        int perOwner = Math.max(1, properties.getPetsPerOwner());
+        List<Long> owners = new ArrayList<>();
+        for (int created = 0; created < properties.getPets(); created += perOwner) {
+            String name = "sim-" + tag + "-" + owners.size();
+            // Not a valid hash, so seeded owners can never log in
+            User owner = userRepository.save(new User(name, name + "@simulation.invalid", "!"));
+            for (int i = 0; i < Math.min(perOwner, properties.getPets() - created); i++) {
+                Species species = SPECIES[(created + i) % SPECIES.length]; // even mix
+                petService.createPetForUser("Sim " + (created + i), species.name(), owner);
+            }
+            owners.add(owner.getId());
+        }
+        return owners;
+    }
+
+    private Report simulate(List<Long> owners) {
+        Random random = new Random(properties.getSeed());
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean wasEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        long wallStart = System.nanoTime();
+        long processCpuStart = processCpuNanos();
+        long threadCpuStart = threads.getCurrentThreadCpuTime();
+        Instant start = clock.instant();
+        Instant end = start.plus(properties.getDuration());
+
+        long rounds = 0;
+        long reads = 0;
+        long actions = 0;
+        while (clock.instant().isBefore(end)) {
+            clock.advance(properties.getStep());
+            rounds++;
+            for (Long owner : owners) {
+                if (random.nextDouble() >= properties.getCheckInProbability()) {
+                    continue;
+                }
+                reads++;
+                for (Pet pet : petService.getPetsByUserId(owner)) {
+                    if (care(pet)) actions++;
+                }
+            }
+            pace(wallStart, Duration.between(start, clock.instant()));
+        }
+
+        Report report =
+                new Report(
+                        properties.getPets(),
+                        rounds,
+                        Duration.between(start, clock.instant()),
+                        Duration.ofNanos(System.nanoTime() - wallStart),
+                        reads,
+                        actions,
+                        statistics.getEntityUpdateCount(),
+                        statistics.getPrepareStatementCount(),
+                        Duration.ofNanos(processCpuNanos() - processCpuStart),
+                        Duration.ofNanos(threads.getCurrentThreadCpuTime() - threadCpuStart));
+        statistics.setStatisticsEnabled(wasEnabled);
+        return report;
+    }
+
+    /** Act on the pet's lowest stat if it is at or below the care threshold. */
+    private boolean care(Pet pet) {
+        int fullness = pet.getFullness();
+        int energy = pet.getEnergy();
+        int happiness = pet.getHappiness();
+        int lowest = Math.min(fullness, Math.min(energy, happiness));
+        if (lowest > properties.getCareThreshold()) {
+            return false;
+        }
+        if (lowest == fullness) {
+            petService.feedPet(pet.getId());
+        } else if (lowest == energy) {
+            petService.restPet(pet.getId());
+        } else {
+            petService.playWithPet(pet.getId());
+        }
+        return true;
+    }
+
+    /** With a speed set, sleep until wall time catches up with {@code simulated / speed}. */
+    private void pace(long wallStart, Duration simulated) {
+        if (properties.getSpeed() <= 0) {
+            return;
+        }
+        long dueNanos = wallStart + (long) (simulated.toNanos() / properties.getSpeed());
+        long aheadMillis = (dueNanos - System.nanoTime()) / 1_000_000;
+        if (aheadMillis > 0) {
+            try {
+                Thread.sleep(aheadMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** CPU used by the whole JVM (all threads, including GC), or 0 if the JVM cannot tell. */
+    private static long processCpuNanos() {
+        if (ManagementFactory.getOperatingSystemMXBean()
+                instanceof com.sun.management.OperatingSystemMXBean os) {
+            return Math.max(0, os.getProcessCpuTime());
+        }
+        return 0;
+    }
+}
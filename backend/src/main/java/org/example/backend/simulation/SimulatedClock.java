@@ -0,0 +1,41 @@
+package org.example.backend.simulation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link Clock} that only moves when told to, so {@link DecaySimulation} can run the decay model
+ * over simulated weeks in minutes. Always UTC.
+ */
+public class SimulatedClock extends Clock {
+
+    private final AtomicReference<Instant> now;
+
+    public SimulatedClock(Instant start) {
+        this.now = new AtomicReference<>(start);
+    }
+
+    /** Move simulated time forward by {@code step}. */
+    public Instant advance(Duration step) {
+        return now.updateAndGet(t -> t.plus(step));
+    }
+
+    @Override
+    public Instant instant() {
+        return now.get();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return Clock.fixed(instant(), zone); // snapshot; callers here only ever use UTC instants
+    }
+}
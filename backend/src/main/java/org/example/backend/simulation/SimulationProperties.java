@@ -0,0 +1,51 @@
+package org.example.backend.simulation;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings for the decay simulation ({@code pixelpets.simulation.*}, see {@link DecaySimulation}).
+ *
+ * <p>Example: a week for 1000 pets, checked every 15 simulated minutes, as fast as possible:
+ * <pre>
+ * pixelpets.simulation.pets=1000
+ * pixelpets.simulation.duration=P7D
+ * pixelpets.simulation.step=PT15M
+ * pixelpets.simulation.speed=0
+ * </pre>
+ */
+@Getter
+@Setter
+public class SimulationProperties {
+
+    /** Turns simulation mode on (replaces the application clock). */
+    private boolean enabled = false;
+
+    /** Pets seeded for the run. */
+    private int pets = 200;
+
+    /** Pets per seeded owner. */
+    private int petsPerOwner = 3;
+
+    /** Simulated time covered by one run. */
+    private Duration duration = Duration.ofDays(7);
+
+    /** Simulated time between rounds. */
+    private Duration step = Duration.ofMinutes(15);
+
+    /** Simulated seconds per wall-clock second (e.g. 3600 = an hour per second); 0 = unpaced. */
+    private double speed = 0;
+
+    /** Chance that an owner checks in (loads their pets) in a given round. */
+    private double checkInProbability = 0.25;
+
+    /** On a check-in, owners act on pets whose lowest stat is at or below this. */
+    private int careThreshold = 30;
+
+    /** Seed for owner behaviour, so runs are repeatable. */
+    private long seed = 42;
+
+    /** Delete the seeded owners and pets after the run. */
+    private boolean cleanup = true;
+}
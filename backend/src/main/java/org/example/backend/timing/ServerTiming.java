@@ -0,0 +1,114 @@
+package org.example.backend.timing;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Per-request phase timers, emitted as a {@code Server-Timing} header (see
+ * {@link ServerTimingFilter}).
+ *
+ * <p>A context only exists between {@link #begin()} and {@link #end()}, on the request thread, and
+ * only for requests that asked for timings; everywhere else {@link #current()} is {@code null}
+ * and instrumented code skips all timing work.
+ *
+ * <p>Phases nest (a service calls repositories, a commit flushes inside the service call), and each
+ * phase is charged its <i>own</i> time only: time spent in a nested phase is subtracted from the
+ * enclosing one, so the phases add up to (at most) the total.
+ *
+ * <p>The header is built when the response body starts, so writing the body is not measured.
+ */
+public final class ServerTiming {
+
+    /** Timed phases, in header order. */
+    public enum Phase {
+        /** {@code PetService}/{@code UserService} code: ticking, mapping, validation. */
+        SERVICE("svc", "service"),
+        /** Repository calls: queries and their JDBC round trips. */
+        REPOSITORY("repo", "repository"),
+        /** Transaction commit, including the Hibernate flush of dirty entities. */
+        FLUSH("flush", "flush+commit");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private final long[] totals = new long[Phase.values().length];
+    private long[] frameStarts = new long[8];
+    private long[] frameChildren = new long[8];
+    private int depth;
+
+    private ServerTiming() {}
+
+    /** Start timing the current request. */
+    public static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /** Stop timing the current request. */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /** @return the current request's timings, or {@code null} if it is not being timed */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    // ===== Phases =====
+
+    /** Open a phase frame; close it with {@link #exit}. */
+    public void enter() {
+        if (depth == frameStarts.length) {
+            frameStarts = Arrays.copyOf(frameStarts, depth * 2);
+            frameChildren = Arrays.copyOf(frameChildren, depth * 2);
+        }
+        frameStarts[depth] = System.nanoTime();
+        frameChildren[depth] = 0;
+        depth++;
+    }
+
+    /** Close the innermost frame and charge its own time to {@code phase}. */
+    public void exit(Phase phase) {
+        depth--;
+        long elapsed = System.nanoTime() - frameStarts[depth];
+        totals[phase.ordinal()] += elapsed - frameChildren[depth];
+        if (depth > 0) {
+            frameChildren[depth - 1] += elapsed;
+        }
+    }
+
+    // ===== Header =====
+
+    /**
+     * Build the header value, e.g.
+     * {@code svc;desc="service";dur=0.412, repo;desc="repository";dur=1.870, ..., total;dur=3.020}
+     * (milliseconds).
+     */
+    public String header() {
+        long now = System.nanoTime();
+        StringBuilder header = new StringBuilder(160);
+        for (Phase phase : Phase.values()) {
+            header.append(phase.metric)
+                    .append(";desc=\"")
+                    .append(phase.description)
+                    .append("\";dur=")
+                    .append(millis(totals[phase.ordinal()]))
+                    .append(", ");
+        }
+        return header.append("total;dur=").append(millis(now - startedAt)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
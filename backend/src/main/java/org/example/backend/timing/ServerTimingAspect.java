@@ -0,0 +1,89 @@
+package org.example.backend.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Fills {@link ServerTiming} for timed requests:
+ * <ul>
+ *   <li>{@code PetService}/{@code UserService} public methods are charged to
+ *       {@link ServerTiming.Phase#SERVICE}.</li>
+ *   <li>Repository calls (Spring Data and {@code repository} package beans) to
+ *       {@link ServerTiming.Phase#REPOSITORY}.</li>
+ *   <li>The first repository call in a transaction registers a synchronization that charges the
+ *       commit, and with it the Hibernate flush, to {@link ServerTiming.Phase#FLUSH}.</li>
+ * </ul>
+ *
+ * <p>Ordered after coalescing, the database guard and shard routing but ahead of the transaction advice, so a service
+ * call's time includes its commit (reported separately as flush). Untimed requests cost one
+ * thread-local read per call.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 4) // after read coalescing, the database guard and shard routing
+public class ServerTimingAspect {
+
+    @Around(
+            "execution(public * org.example.backend.service.PetService.*(..))"
+                    + " || execution(public * org.example.backend.service.UserService.*(..))")
+    public Object timeService(ProceedingJoinPoint pjp) throws Throwable {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null) {
+            return pjp.proceed();
+        }
+        timing.enter();
+        try {
+            return pjp.proceed();
+        } finally {
+            timing.exit(ServerTiming.Phase.SERVICE);
+        }
+    }
+
+    @Around(
+            "execution(public * org.springframework.data.repository.Repository+.*(..))"
+                    + " || execution(public * org.example.backend.repository..*.*(..))")
+    public Object timeRepository(ProceedingJoinPoint pjp) throws Throwable {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null) {
+            return pjp.proceed();
+        }
+        timeCommit(timing);
+        timing.enter();
+        try {
+            return pjp.proceed();
+        } finally {
+            timing.exit(ServerTiming.Phase.REPOSITORY);
+        }
+    }
+
+    /** Time the current transaction's commit, once per transaction. */
+    private static void timeCommit(ServerTiming timing) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(timing)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(timing, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    private boolean committing;
+
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        committing = true;
+                        timing.enter();
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(timing);
+                        if (committing) {
+                            timing.exit(ServerTiming.Phase.FLUSH);
+                        }
+                    }
+                });
+    }
+}
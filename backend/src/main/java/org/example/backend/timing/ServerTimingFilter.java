@@ -0,0 +1,120 @@
+package org.example.backend.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import org.example.backend.controller.AdminTokens;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Adds a {@code Server-Timing} header (see {@link ServerTiming}) to requests that carry the
+ * {@value #REQUEST_HEADER} header together with a valid {@code X-Admin-Token}, or to every request
+ * when {@code alwaysOn} is set. Without a configured admin token, only {@code alwaysOn} times
+ * anything: internal timings are not for arbitrary clients.
+ *
+ * <p>Nothing is buffered: the header is set the moment the response starts its body (or errors,
+ * redirects or flushes), while headers can still be changed, so it covers the handler but not
+ * serialization. A response that never touches its body gets the header when the chain returns.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    /** Request header that asks for timings (any value); needs the admin token as well. */
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+
+    public static final String RESPONSE_HEADER = "Server-Timing";
+
+    private final boolean alwaysOn;
+    private final String adminToken;
+
+    /**
+     * @param alwaysOn time every request, whoever sent it (debugging only)
+     * @param adminToken token a {@value #REQUEST_HEADER} request must present; empty disables
+     *     on-request timing
+     */
+    public ServerTimingFilter(boolean alwaysOn, String adminToken) {
+        this.alwaysOn = alwaysOn;
+        this.adminToken = adminToken;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!alwaysOn && !requested(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        TimedResponse timed = new TimedResponse(response, ServerTiming.begin());
+        try {
+            chain.doFilter(request, timed);
+        } finally {
+            ServerTiming.end();
+            timed.stamp();
+        }
+    }
+
+    private boolean requested(HttpServletRequest request) {
+        return request.getHeader(REQUEST_HEADER) != null
+                && AdminTokens.matches(request.getHeader(AdminTokens.HEADER), adminToken);
+    }
+
+    /** Sets the timing header just before anything can commit the response. */
+    private static final class TimedResponse extends HttpServletResponseWrapper {
+
+        private final ServerTiming timing;
+        private boolean stamped;
+
+        TimedResponse(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        void stamp() {
+            if (!stamped && !isCommitted()) {
+                setHeader(RESPONSE_HEADER, timing.header());
+            }
+            stamped = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            stamp();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            stamp();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            stamp();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package org.example.backend.tuning;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.example.backend.model.Species;
+
+/**
+ * One immutable snapshot of the decay model's knobs: per-species rates and caps plus the global
+ * mood effects.
+ *
+ * <p>Snapshots are never modified; {@link DecayTuningRegistry} swaps in a new one on reload, so
+ * a tick that grabbed a snapshot sees one consistent set of numbers.
+ *
+ * <p>A snapshot is always the {@linkplain #defaults() defaults} plus a flat map of overrides:
+ * <pre>
+ * cat.fullness-decay-per-min=0.25
+ * dragon.max-backdated-minutes=7200
+ * happiness-bonus-well-cared-per-min=0.04
+ * </pre>
+ */
+public final class DecayTuning {
+
+    /** Decay rates (per minute) and caps (minutes) for one species. */
+    public record Profile(
+            double fullnessDecayPerMin,
+            double energyDecayPerMin,
+            double happinessDecayPerMin,
+            long maxMinutesPerTick,
+            long maxBackdatedMinutes) {
+
+        static Profile of(Species species) {
+            return new Profile(
+                    species.fullnessDecayPerMin(),
+                    species.energyDecayPerMin(),
+                    species.happinessDecayPerMin(),
+                    species.maxMinutesPerTick(),
+                    species.maxBackdatedMinutes());
+        }
+    }
+
+    // Per-species keys, prefixed with the species name (e.g. "cat.")
+    private static final String FULLNESS_DECAY = "fullness-decay-per-min";
+    private static final String ENERGY_DECAY = "energy-decay-per-min";
+    private static final String HAPPINESS_DECAY = "happiness-decay-per-min";
+    private static final String MAX_MINUTES_PER_TICK = "max-minutes-per-tick";
+    private static final String MAX_BACKDATED_MINUTES = "max-backdated-minutes";
+
+    // Global keys
+    private static final String PENALTY_FULLNESS_LOW = "happiness-penalty-fullness-low-per-min";
+    private static final String PENALTY_ENERGY_LOW = "happiness-penalty-energy-low-per-min";
+    private static final String BONUS_WELL_CARED = "happiness-bonus-well-cared-per-min";
+
+    private static final Set<String> PROFILE_KEYS =
+            Set.of(
+                    FULLNESS_DECAY,
+                    ENERGY_DECAY,
+                    HAPPINESS_DECAY,
+                    MAX_MINUTES_PER_TICK,
+                    MAX_BACKDATED_MINUTES);
+
+    private final long version;
+    private final String source;
+    private final Instant loadedAt;
+    private final Profile[] profiles; // indexed by Species.id()
+    private final double happinessPenaltyFullnessLowPerMin;
+    private final double happinessPenaltyEnergyLowPerMin;
+    private final double happinessBonusWellCaredPerMin;
+
+    private DecayTuning(
+            long version,
+            String source,
+            Instant loadedAt,
+            Profile[] profiles,
+            double happinessPenaltyFullnessLowPerMin,
+            double happinessPenaltyEnergyLowPerMin,
+            double happinessBonusWellCaredPerMin) {
+        this.version = version;
+        this.source = source;
+        this.loadedAt = loadedAt;
+        this.profiles = profiles;
+        this.happinessPenaltyFullnessLowPerMin = happinessPenaltyFullnessLowPerMin;
+        this.happinessPenaltyEnergyLowPerMin = happinessPenaltyEnergyLowPerMin;
+        this.happinessBonusWellCaredPerMin = happinessBonusWellCaredPerMin;
+    }
+
+    /** The built-in model: {@link Species} rates and caps, original mood effects (version 0). */
+    public static DecayTuning defaults() {
+        Profile[] profiles = new Profile[maxSpeciesId() + 1];
+        for (Species species : Species.values()) profiles[species.id()] = Profile.of(species);
+        return new DecayTuning(0, "defaults", Instant.EPOCH, profiles, 0.15, 0.10, 0.05);
+    }
+
+    /**
+     * Build a snapshot from the defaults plus {@code overrides}.
+     *
+     * @throws IllegalArgumentException on an unknown key or a value that is not a finite,
+     *     non-negative number (whole minutes for caps)
+     */
+    static DecayTuning of(
+            Map<String, String> overrides, long version, String source, Instant loadedAt) {
+        DecayTuning base = defaults();
+        Profile[] profiles = base.profiles.clone();
+        double penaltyFullness = base.happinessPenaltyFullnessLowPerMin;
+        double penaltyEnergy = base.happinessPenaltyEnergyLowPerMin;
+        double bonus = base.happinessBonusWellCaredPerMin;
+
+        for (Map.Entry<String, String> entry : overrides.entrySet()) {
+            String key = entry.getKey().trim();
+            String value = entry.getValue().trim();
+            switch (key) {
+                case PENALTY_FULLNESS_LOW -> penaltyFullness = rate(key, value);
+                case PENALTY_ENERGY_LOW -> penaltyEnergy = rate(key, value);
+                case BONUS_WELL_CARED -> bonus = rate(key, value);
+                default -> {
+                    int dot = key.indexOf('.');
+                    String knob = key.substring(dot + 1);
+                    if (dot < 0 || !PROFILE_KEYS.contains(knob)) {
+                        throw new IllegalArgumentException("Unknown decay tuning key: " + key);
+                    }
+                    Species species = Species.fromName(key.substring(0, dot));
+                    profiles[species.id()] = withKnob(profiles[species.id()], knob, key, value);
+                }
+            }
+        }
+        return new DecayTuning(
+                version, source, loadedAt, profiles, penaltyFullness, penaltyEnergy, bonus);
+    }
+
+    private static Profile withKnob(Profile p, String knob, String key, String value) {
+        double fullness = p.fullnessDecayPerMin();
+        double energy = p.energyDecayPerMin();
+        double happiness = p.happinessDecayPerMin();
+        long perTick = p.maxMinutesPerTick();
+        long backdated = p.maxBackdatedMinutes();
+        switch (knob) {
+            case FULLNESS_DECAY -> fullness = rate(key, value);
+            case ENERGY_DECAY -> energy = rate(key, value);
+            case HAPPINESS_DECAY -> happiness = rate(key, value);
+            case MAX_MINUTES_PER_TICK -> perTick = minutes(key, value);
+            default -> backdated = minutes(key, value);
+        }
+        return new Profile(fullness, energy, happiness, perTick, backdated);
+    }
+
+    private static double rate(String key, String value) {
+        double rate;
+        try {
+            rate = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number for " + key + ": " + value);
+        }
+        if (!Double.isFinite(rate) || rate < 0) {
+            throw new IllegalArgumentException(key + " must be a non-negative number: " + value);
+        }
+        return rate;
+    }
+
+    private static long minutes(String key, String value) {
+        long minutes;
+        try {
+            minutes = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a whole number for " + key + ": " + value);
+        }
+        if (minutes < 0) {
+            throw new IllegalArgumentException(key + " must not be negative: " + value);
+        }
+        return minutes;
+    }
+
+    private static int maxSpeciesId() {
+        int max = 0;
+        for (Species species : Species.values()) max = Math.max(max, species.id());
+        return max;
+    }
+
+    // ===== Accessors =====
+
+    /** Increases with every reload on this instance (0 = built-in defaults). */
+    public long version() {
+        return version;
+    }
+
+    /** Where the snapshot came from: {@code defaults}, {@code file:<path>} or {@code admin}. */
+    public String source() {
+        return source;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    /** Rates and caps for one species: an array index, no lookups by name. */
+    public Profile profile(Species species) {
+        return profiles[species.id()];
+    }
+
+    public double happinessPenaltyFullnessLowPerMin() {
+        return happinessPenaltyFullnessLowPerMin;
+    }
+
+    public double happinessPenaltyEnergyLowPerMin() {
+        return happinessPenaltyEnergyLowPerMin;
+    }
+
+    public double happinessBonusWellCaredPerMin() {
+        return happinessBonusWellCaredPerMin;
+    }
+
+    /** Every effective value under its override key (for display). */
+    public Map<String, Object> values() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Species species : Species.values()) {
+            String prefix = species.name().toLowerCase(Locale.ROOT) + ".";
+            Profile p = profile(species);
+            values.put(prefix + FULLNESS_DECAY, p.fullnessDecayPerMin());
+            values.put(prefix + ENERGY_DECAY, p.energyDecayPerMin());
+            values.put(prefix + HAPPINESS_DECAY, p.happinessDecayPerMin());
+            values.put(prefix + MAX_MINUTES_PER_TICK, p.maxMinutesPerTick());
+            values.put(prefix + MAX_BACKDATED_MINUTES, p.maxBackdatedMinutes());
+        }
+        values.put(PENALTY_FULLNESS_LOW, happinessPenaltyFullnessLowPerMin);
+        values.put(PENALTY_ENERGY_LOW, happinessPenaltyEnergyLowPerMin);
+        values.put(BONUS_WELL_CARED, happinessBonusWellCaredPerMin);
+        return values;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.backend.tuning;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reloads decay tuning from a local properties file whenever it changes.
+ *
+ * <p>Watches the file's directory (so editors that replace the file, and mounted config volumes
+ * that swap a symlink, are picked up too) on one daemon thread. Each change re-reads the whole
+ * file and applies it if its contents differ from the last applied ones; a missing file means
+ * "defaults", and a file that fails to parse or validate is logged and ignored, keeping the
+ * previous snapshot.
+ */
+public class DecayTuningFileWatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DecayTuningFileWatcher.class);
+
+    /** Pause after a change event so a write in progress can finish before we read. */
+    private static final long SETTLE_MILLIS = 100;
+
+    private final Path file;
+    private final DecayTuningRegistry registry;
+    private final WatchService watchService;
+    private final Thread watcher;
+    private Map<String, String> lastApplied; // guarded by this
+
+    public DecayTuningFileWatcher(Path file, DecayTuningRegistry registry) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.registry = registry;
+        this.watchService = this.file.getFileSystem().newWatchService();
+        this.file
+                .getParent()
+                .register(
+                        watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+        reload();
+        this.watcher = new Thread(this::watch, "decay-tuning-watcher");
+        this.watcher.setDaemon(true);
+        this.watcher.start();
+    }
+
+    /** Read the file and apply it; keeps the active snapshot on any failure. */
+    public synchronized void reload() {
+        Map<String, String> overrides = new LinkedHashMap<>();
+        try {
+            if (Files.exists(file)) {
+                Properties properties = new Properties();
+                try (Reader reader = Files.newBufferedReader(file)) {
+                    properties.load(reader);
+                }
+                for (String name : properties.stringPropertyNames()) {
+                    overrides.put(name, properties.getProperty(name));
+                }
+            }
+            if (overrides.equals(lastApplied)) {
+                return; // some other file in the directory changed
+            }
+            registry.apply(overrides, "file:" + file);
+            lastApplied = overrides;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring decay tuning file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Thread.sleep(SETTLE_MILLIS);
+                key.pollEvents(); // any change in the directory may be ours (e.g. a symlink swap)
+                key.reset();
+                reload();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed: stop watching
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.backend.tuning;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the active {@link DecayTuning} snapshot.
+ *
+ * <p>Reads are a single volatile load with no locking, so the tick path pays nothing for
+ * reloadability. Reloads (from {@link DecayTuningFileWatcher} or the admin endpoint) build and
+ * validate a complete new snapshot first and then swap the reference, so readers see either the
+ * old or the new set of numbers, never a mix. An invalid reload throws and leaves the active
+ * snapshot in place.
+ *
+ * <p>A swap does not touch stored {@code attention_at} predictions; they follow as each pet is
+ * next written, and {@code AttentionRepredictor} recomputes the rest in the background.
+ *
+ * <p>Gauge: {@code pixelpets.decay.tuning.version}.
+ */
+public class DecayTuningRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(DecayTuningRegistry.class);
+
+    private final Clock clock;
+    private volatile DecayTuning current = DecayTuning.defaults();
+
+    public DecayTuningRegistry(Clock clock, MeterRegistry meterRegistry) {
+        this.clock = clock;
+        Gauge.builder("pixelpets.decay.tuning.version", this, r -> r.current().version())
+                .description("Version of the active decay tuning snapshot")
+                .register(meterRegistry);
+    }
+
+    /** @return the active snapshot (grab it once per batch and use it throughout) */
+    public DecayTuning current() {
+        return current;
+    }
+
+    /**
+     * Replace the active snapshot with the defaults plus {@code overrides}. Stored attention
+     * predictions are updated afterwards, in the background.
+     *
+     * @param source where the overrides came from (reported with the snapshot)
+     * @return the new snapshot
+     * @throws IllegalArgumentException if the overrides are invalid (nothing changes)
+     */
+    public synchronized DecayTuning apply(Map<String, String> overrides, String source) {
+        DecayTuning next =
+                DecayTuning.of(overrides, current.version() + 1, source, clock.instant());
+        current = next;
+        log.info(
+                "Decay tuning v{} active from {} ({} override(s))",
+                next.version(),
+                source,
+                overrides.size());
+        return next;
+    }
+}
@@ -1,29 +1,71 @@
 package org.example.backend.web;
 
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import org.example.backend.dto.HealthDetailsDto;
+import org.example.backend.latency.DbPingProbe;
+import org.example.backend.latency.LatencyRecorder;
+import org.example.backend.mapper.HealthMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
- * Lightweight health/heartbeat endpoint.
+ * Lightweight health/heartbeat endpoints.
  *
  * <p>Useful for uptime checks, load balancer health probes, and quick
  * diagnostics from the frontend or external monitors.
  *
- * <p>Example: GET /api/health → {"status":"UP"}
+ * <p>Examples:
+ * <ul>
+ *   <li>GET /api/health → {"status":"UP"}</li>
+ *   <li>GET /api/health/details → DB ping and per-endpoint p50/p95/p99/max and error rate</li>
+ * </ul>
  */
 @RestController
 @RequestMapping("/api")
 public class HealthController {
 
+    /** Liveness body, built once: probes are answered without touching Jackson or the database. */
+    private static final byte[] UP = "{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8);
+
+    // ===== Dependencies =====
+
+    private final LatencyRecorder latencyRecorder; // null if pixelpets.latency.enabled=false
+    private final DbPingProbe dbPingProbe;
+
+    public HealthController(
+            ObjectProvider<LatencyRecorder> latencyRecorder, ObjectProvider<DbPingProbe> dbPingProbe) {
+        this.latencyRecorder = latencyRecorder.getIfAvailable();
+        this.dbPingProbe = dbPingProbe.getIfAvailable();
+    }
+
     /**
      * Simple liveness check.
      *
      * @return a small JSON payload indicating the service is running
      */
-    @GetMapping("/health")
-    public Map<String, Object> health() {
-        return Map.of("status", "UP");
+    @GetMapping(value = "/health", produces = MediaType.APPLICATION_JSON_VALUE)
+    public byte[] health() {
+        return UP;
+    }
+
+    /**
+     * Detailed health: the cached database ping and request latency per endpoint over the rolling
+     * window (see {@link LatencyRecorder}).
+     *
+     * @return database status and per-endpoint latency percentiles and error rates
+     * @throws ResponseStatusException with 404 if latency tracking is disabled
+     */
+    @GetMapping("/health/details")
+    public HealthDetailsDto details() {
+        if (latencyRecorder == null || dbPingProbe == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Health details are disabled");
+        }
+        return HealthMapper.toHealthDetailsDto(
+                dbPingProbe.ping(), latencyRecorder.window(), latencyRecorder.snapshot());
     }
 }
@@ -0,0 +1,18 @@
+-- ============================
+-- Change log for cross-instance cache invalidation
+-- ============================
+-- PetService/UserService append one row per changed entity in the writing transaction
+-- (changelog/ChangeLog); every instance polls rows above its high-water mark and invalidates its
+-- local caches (changelog/ChangeLogPoller). version is a log-wide sequence: later change, higher
+-- version. Rows are pruned after pixelpets.change-log.retention.
+
+CREATE TABLE IF NOT EXISTS change_log (
+    version    BIGINT      NOT NULL AUTO_INCREMENT,
+    entity     TINYINT     NOT NULL,
+    entity_id  BIGINT      NOT NULL,
+    changed_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (version)
+);
+
+-- Late-commit rescan and pruning
+CREATE INDEX idx_change_log_changed_at ON change_log (changed_at);
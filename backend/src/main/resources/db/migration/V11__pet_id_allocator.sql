@@ -0,0 +1,20 @@
+-- ============================
+-- Pet id allocator
+-- ============================
+-- Pet ids come from id_allocations (Hibernate @TableGenerator on model/Pet, block reservations in
+-- service/UserImporter) instead of AUTO_INCREMENT. Rows inserted with an explicit id (archive
+-- rehydration, pets moved in by shard/ShardRebalancer) then never move the counter: with
+-- AUTO_INCREMENT, a moved-in pet from a higher shard range would push this database's next id
+-- into that shard's range.
+
+CREATE TABLE IF NOT EXISTS id_allocations (
+    name     VARCHAR(64) NOT NULL,
+    last_id  BIGINT      NOT NULL, -- last id handed out
+    PRIMARY KEY (name)
+);
+
+INSERT INTO id_allocations (name, last_id)
+SELECT 'pets', COALESCE(MAX(id), 0)
+FROM (SELECT id FROM pets UNION ALL SELECT id FROM pets_archive) ids;
+
+ALTER TABLE pets MODIFY id BIGINT NOT NULL;
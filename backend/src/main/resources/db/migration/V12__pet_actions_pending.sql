@@ -0,0 +1,16 @@
+-- ============================
+-- Pets with unfolded journal events (event-sourced mode)
+-- ============================
+-- journal/PetActionJournal adds a pet here (INSERT IGNORE) with every append and
+-- PetService#compactJournal removes it once the pet's events are folded, under the pet's
+-- exclusive row lock. Compaction reads this table instead of scanning pet_actions, which keeps
+-- every event as the audit trail and only grows. Appends never rewrite the pet row.
+
+CREATE TABLE IF NOT EXISTS pet_actions_pending (
+    pet_id BIGINT NOT NULL,
+    PRIMARY KEY (pet_id)
+);
+
+INSERT INTO pet_actions_pending (pet_id)
+SELECT DISTINCT a.pet_id FROM pet_actions a JOIN pets p ON p.id = a.pet_id
+WHERE a.id > p.journal_seq;
@@ -0,0 +1,17 @@
+-- ============================
+-- Imported pets still to be written to their shard
+-- ============================
+-- With sharding enabled, service/UserImporter cannot write a chunk's pets in the chunk's primary
+-- transaction. That transaction records one row here per imported user with pets: the input line,
+-- the new user id, the shard and the first of the pet ids reserved there. The pets are written
+-- (INSERT IGNORE, same ids) after the commit and the row is then deleted. A job that stopped in
+-- between writes the pets again from its input when it resumes.
+
+CREATE TABLE IF NOT EXISTS import_pending_pets (
+    job_id       VARCHAR(255) NOT NULL,
+    line         BIGINT       NOT NULL,
+    user_id      BIGINT       NOT NULL,
+    shard        VARCHAR(64)  NOT NULL,
+    first_pet_id BIGINT       NOT NULL,
+    PRIMARY KEY (job_id, line)
+);
@@ -0,0 +1,16 @@
+-- ============================
+-- Species migration follow-up
+-- ============================
+-- V7 mapped every pet type outside the catalog to blob (5) and left DEFAULT 5 on species_id.
+-- pets_species_unmapped keeps the original types it could not map:
+-- repository/UnmappedSpeciesCallback fills it right before V7 runs (it is declared
+-- here too, for databases that were past V7 already).
+-- Without the default, an insert that forgets the species fails instead of creating a blob.
+
+CREATE TABLE IF NOT EXISTS pets_species_unmapped (
+    pet_id BIGINT       NOT NULL,
+    type   VARCHAR(255) NOT NULL,
+    PRIMARY KEY (pet_id)
+);
+
+ALTER TABLE pets ALTER COLUMN species_id DROP DEFAULT;
@@ -0,0 +1,29 @@
+-- ============================
+-- Baseline schema (users + pets)
+-- ============================
+-- Mirrors the tables Hibernate used to create with ddl-auto=update, so existing
+-- databases are baselined at version 1 and only pick up the migrations after it.
+
+CREATE TABLE IF NOT EXISTS users (
+    id        BIGINT       NOT NULL AUTO_INCREMENT,
+    user_name VARCHAR(255) NOT NULL,
+    email     VARCHAR(255) NOT NULL,
+    password  VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_user_name UNIQUE (user_name),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS pets (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    name         VARCHAR(255) NOT NULL,
+    type         VARCHAR(255) NOT NULL,
+    level        INT          NOT NULL,
+    hunger       INT          NOT NULL,
+    happiness    INT          NOT NULL,
+    energy       INT          NOT NULL,
+    last_tick_at DATETIME(6)  NOT NULL,
+    user_id      BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pets_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,11 @@
+-- ============================
+-- Access-path indexes
+-- ============================
+-- pets.user_id      -> PetRepository.findByUserId (dashboard, per-owner reads)
+-- pets.last_tick_at -> decay sweeps that scan for pets not ticked since a cutoff
+--
+-- users.user_name / users.email are already covered by their unique constraints.
+-- MySQL drops the implicit FK index on pets.user_id once idx_pets_user_id exists.
+
+CREATE INDEX idx_pets_user_id ON pets (user_id);
+CREATE INDEX idx_pets_last_tick_at ON pets (last_tick_at);
@@ -0,0 +1,20 @@
+-- ============================
+-- Shard directory (used only when pixelpets.sharding.enabled=true)
+-- ============================
+-- user_shards: where each owner's pets currently live (the ring decides for new owners,
+--              the rebalancer rewrites rows when it moves an owner).
+-- pet_owners:  pet id -> owner id, so pet-id routes (feed/play/rest/get/delete) hit one shard.
+
+CREATE TABLE IF NOT EXISTS user_shards (
+    user_id BIGINT      NOT NULL,
+    shard   VARCHAR(64) NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS pet_owners (
+    pet_id  BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (pet_id)
+);
+
+CREATE INDEX idx_user_shards_shard ON user_shards (shard);
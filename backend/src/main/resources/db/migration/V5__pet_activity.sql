@@ -0,0 +1,17 @@
+-- ============================
+-- Recent activity feed ("fed Mochi")
+-- ============================
+-- Written asynchronously in batches by activity/ActivityFeed; lives on the primary next to users.
+
+CREATE TABLE IF NOT EXISTS pet_activity (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id     BIGINT       NOT NULL,
+    pet_id      BIGINT       NOT NULL,
+    pet_name    VARCHAR(255) NOT NULL,
+    action      TINYINT      NOT NULL,
+    occurred_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Feed lookups: newest events for one user
+CREATE INDEX idx_pet_activity_user_id_id ON pet_activity (user_id, id);
@@ -0,0 +1,10 @@
+-- ============================
+-- Predicted "needs attention" time
+-- ============================
+-- attention_at: when the first stat is predicted to drop to the low threshold (30), computed by
+-- PetService on every write. NULL until a pet is next written (ticked, acted on or saved).
+
+ALTER TABLE pets ADD COLUMN attention_at DATETIME(6) NULL;
+
+-- "Needs attention before X" is a range scan on this index
+CREATE INDEX idx_pets_attention_at ON pets (attention_at);
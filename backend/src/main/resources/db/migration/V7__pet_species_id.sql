@@ -0,0 +1,22 @@
+-- ============================
+-- Species catalog: dictionary-encoded pet type
+-- ============================
+-- pets.type (free-form VARCHAR) becomes pets.species_id (SMALLINT), an id from the in-memory
+-- catalog in model/Species: 1 cat, 2 dog, 3 dragon, 4 bunny, 5 blob.
+-- Types outside the catalog (only possible for pets created before it existed) become blob.
+
+ALTER TABLE pets ADD COLUMN species_id SMALLINT NOT NULL DEFAULT 5;
+
+UPDATE pets
+SET species_id = CASE LOWER(TRIM(type))
+    WHEN 'cat' THEN 1
+    WHEN 'dog' THEN 2
+    WHEN 'dragon' THEN 3
+    WHEN 'bunny' THEN 4
+    ELSE 5
+END;
+
+ALTER TABLE pets DROP COLUMN type;
+
+-- Per-species queries
+CREATE INDEX idx_pets_species_id ON pets (species_id);
@@ -0,0 +1,16 @@
+-- ============================
+-- Bulk import checkpoints
+-- ============================
+-- One row per import job (service/UserImporter): the last input line whose chunk is committed,
+-- plus running totals. Updated in the same transaction as the chunk's users, so a resumed job
+-- skips exactly the lines that are already in.
+
+CREATE TABLE IF NOT EXISTS import_checkpoints (
+    job_id         VARCHAR(255) NOT NULL,
+    last_line      BIGINT       NOT NULL,
+    users_imported BIGINT       NOT NULL,
+    pets_imported  BIGINT       NOT NULL,
+    failed         BIGINT       NOT NULL,
+    updated_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (job_id)
+);
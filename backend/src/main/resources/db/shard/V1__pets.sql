@@ -0,0 +1,21 @@
+-- ============================
+-- Pet shard schema
+-- ============================
+-- Same shape as the primary's pets table, minus the FK: owners live in the primary's users table.
+-- ${idOffset} gives every shard its own id range so pet ids stay globally unique.
+
+CREATE TABLE IF NOT EXISTS pets (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    name         VARCHAR(255) NOT NULL,
+    type         VARCHAR(255) NOT NULL,
+    level        INT          NOT NULL,
+    hunger       INT          NOT NULL,
+    happiness    INT          NOT NULL,
+    energy       INT          NOT NULL,
+    last_tick_at DATETIME(6)  NOT NULL,
+    user_id      BIGINT,
+    PRIMARY KEY (id)
+) AUTO_INCREMENT = ${idOffset};
+
+CREATE INDEX idx_pets_user_id ON pets (user_id);
+CREATE INDEX idx_pets_last_tick_at ON pets (last_tick_at);
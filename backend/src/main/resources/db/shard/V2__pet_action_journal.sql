@@ -0,0 +1,18 @@
+-- ============================
+-- Pet action journal (shard copy of V4__pet_action_journal.sql)
+-- ============================
+-- pet_actions:      append-only feed/play/rest events (also the audit trail)
+-- pets.journal_seq: id of the last event folded into the row (the row is the snapshot)
+
+ALTER TABLE pets ADD COLUMN journal_seq BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS pet_actions (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    pet_id      BIGINT      NOT NULL,
+    action      TINYINT     NOT NULL,
+    occurred_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Fold lookups: events for one pet after its snapshot
+CREATE INDEX idx_pet_actions_pet_id_id ON pet_actions (pet_id, id);
@@ -0,0 +1,25 @@
+-- ============================
+-- Cold archive for dormant pets (shard copy of V8__pets_archive.sql)
+-- ============================
+-- Pets untouched (last_tick_at) for pixelpets.archive.dormant-after are moved here by
+-- service/PetArchiver and moved back on first access (repository/PetArchiveRepository).
+-- Narrower than pets: stats fit in TINYINT, attention_at is recomputed on rehydration, and the
+-- only index is the owner lookup. No FK to users (they live on the primary).
+
+CREATE TABLE IF NOT EXISTS pets_archive (
+    id           BIGINT       NOT NULL,
+    user_id      BIGINT,
+    name         VARCHAR(255) NOT NULL,
+    species_id   SMALLINT     NOT NULL,
+    level        INT          NOT NULL,
+    hunger       TINYINT      NOT NULL,
+    happiness    TINYINT      NOT NULL,
+    energy       TINYINT      NOT NULL,
+    last_tick_at DATETIME(6)  NOT NULL,
+    journal_seq  BIGINT       NOT NULL,
+    archived_at  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Rehydrating an owner's pets
+CREATE INDEX idx_pets_archive_user_id ON pets_archive (user_id);
@@ -0,0 +1,15 @@
+-- ============================
+-- Change log (shard copy of V10__change_log.sql)
+-- ============================
+-- Pet writes on a shard are logged on that shard, in the same transaction; pollers keep one
+-- high-water mark per shard.
+
+CREATE TABLE IF NOT EXISTS change_log (
+    version    BIGINT      NOT NULL AUTO_INCREMENT,
+    entity     TINYINT     NOT NULL,
+    entity_id  BIGINT      NOT NULL,
+    changed_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (version)
+);
+
+CREATE INDEX idx_change_log_changed_at ON change_log (changed_at);
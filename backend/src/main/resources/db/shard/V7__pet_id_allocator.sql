@@ -0,0 +1,17 @@
+-- ============================
+-- Pet id allocator (shard copy of V11__pet_id_allocator.sql)
+-- ============================
+-- The shard's range still starts at ${idOffset}; ids of pets moved in from other shards keep
+-- their own range and no longer move this shard's counter.
+
+CREATE TABLE IF NOT EXISTS id_allocations (
+    name     VARCHAR(64) NOT NULL,
+    last_id  BIGINT      NOT NULL, -- last id handed out
+    PRIMARY KEY (name)
+);
+
+INSERT INTO id_allocations (name, last_id)
+SELECT 'pets', GREATEST(${idOffset} - 1, COALESCE(MAX(id), 0))
+FROM (SELECT id FROM pets UNION ALL SELECT id FROM pets_archive) ids;
+
+ALTER TABLE pets MODIFY id BIGINT NOT NULL;
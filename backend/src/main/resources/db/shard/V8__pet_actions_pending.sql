@@ -0,0 +1,12 @@
+-- ============================
+-- Pets with unfolded journal events (shard copy of V12__pet_actions_pending.sql)
+-- ============================
+
+CREATE TABLE IF NOT EXISTS pet_actions_pending (
+    pet_id BIGINT NOT NULL,
+    PRIMARY KEY (pet_id)
+);
+
+INSERT INTO pet_actions_pending (pet_id)
+SELECT DISTINCT a.pet_id FROM pet_actions a JOIN pets p ON p.id = a.pet_id
+WHERE a.id > p.journal_seq;
@@ -0,0 +1,144 @@
+package org.example.backend.activity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import org.example.backend.changelog.ChangeLog;
+import org.example.backend.model.Pet;
+import org.example.backend.model.PetAction;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ActivityFeedTests {
+
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private DataSource dataSource;
+
+  private ActivityFeed feed(Duration cacheTtl) {
+    return new ActivityFeed(
+        dataSource, new SimpleMeterRegistry(), Clock.systemUTC(), 4096, 100, 20, 100, cacheTtl);
+  }
+
+  private void insertEvent(long userId) {
+    new JdbcTemplate(dataSource)
+        .update(
+            "INSERT INTO pet_activity (user_id, pet_id, pet_name, action, occurred_at)"
+                + " VALUES (?, 1, 'Elsewhere', ?, CURRENT_TIMESTAMP)",
+            userId,
+            PetAction.FEED.code());
+  }
+
+  @Test
+  void ringBufferDeliversEveryElementFromManyProducersAndRejectsWhenFull() throws Exception {
+    MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1 << 16);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> producers = new ArrayList<>();
+      for (int p = 0; p < 4; p++) {
+        int base = p * 10_000;
+        producers.add(pool.submit(() -> {
+          for (int i = 0; i < 10_000; i++) assertThat(buffer.offer(base + i)).isTrue();
+        }));
+      }
+      for (Future<?> f : producers) f.get();
+    } finally {
+      pool.shutdown();
+    }
+
+    Set<Integer> seen = new HashSet<>();
+    Integer next;
+    while ((next = buffer.poll()) != null) seen.add(next);
+    assertThat(seen).hasSize(40_000);
+
+    MpscRingBuffer<Integer> tiny = new MpscRingBuffer<>(2);
+    assertThat(tiny.offer(1)).isTrue();
+    assertThat(tiny.offer(2)).isTrue();
+    assertThat(tiny.offer(3)).isFalse(); // drop-newest
+  }
+
+  @Test
+  void petActionsShowUpInTheUsersFeed() throws Exception {
+    User user = userService.registerNewUser("feed-a", "feed-a@example.com", "password1");
+    Pet pet = petService.createPetForUser("Mochi", "cat", user);
+    assertThat(userService.getRecentActivity(user.getId())).isEmpty(); // cached before the action
+
+    petService.feedPet(pet.getId());
+    petService.playWithPet(pet.getId());
+
+    List<ActivityEvent> events = List.of();
+    for (int i = 0; i < 100 && events.size() < 2; i++) {
+      Thread.sleep(20);
+      events = userService.getRecentActivity(user.getId());
+    }
+    assertThat(events).extracting(ActivityEvent::action).containsExactly(PetAction.PLAY, PetAction.FEED);
+    assertThat(events.get(0).petName()).isEqualTo("Mochi");
+  }
+
+  @Test
+  void gracefulStopWritesEverythingQueued() {
+    ActivityFeed feed = feed(Duration.ofHours(1));
+    feed.start();
+    for (int i = 0; i < 1_000; i++) feed.publish(424242L, i, "Pet" + i, PetAction.REST);
+    feed.stop();
+
+    Integer written =
+        new JdbcTemplate(dataSource)
+            .queryForObject("SELECT COUNT(*) FROM pet_activity WHERE user_id = 424242", Integer.class);
+    assertThat(written).isEqualTo(1_000);
+    assertThat(feed.publish(424242L, 1, "late", PetAction.REST)).isFalse();
+  }
+
+  @Test
+  void cachedFeedIsReloadedAfterItsTtlOrAUserChange() {
+    ActivityFeed cached = feed(Duration.ofHours(1));
+    ActivityFeed expiring = feed(Duration.ZERO);
+    assertThat(cached.recent(525252L)).isEmpty();
+    assertThat(expiring.recent(525252L)).isEmpty();
+
+    insertEvent(525252L); // written by "another instance"
+    assertThat(cached.recent(525252L)).isEmpty();
+    assertThat(expiring.recent(525252L)).hasSize(1);
+
+    cached.invalidate(ChangeLog.Entity.USER, Set.of(525252L));
+    assertThat(cached.recent(525252L)).hasSize(1);
+  }
+
+  @Test
+  void deletedUsersBufferedEventsAreNotWritten() {
+    ActivityFeed feed = feed(Duration.ofHours(1));
+    feed.start();
+    feed.deleteUser(626262L);
+    for (int i = 0; i < 10; i++) feed.publish(626262L, i, "Gone" + i, PetAction.PLAY);
+    feed.publish(626263L, 1, "Kept", PetAction.PLAY);
+    feed.stop();
+
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    assertThat(
+            jdbc.queryForObject(
+                "SELECT COUNT(*) FROM pet_activity WHERE user_id = 626262", Integer.class))
+        .isZero();
+    assertThat(
+            jdbc.queryForObject(
+                "SELECT COUNT(*) FROM pet_activity WHERE user_id = 626263", Integer.class))
+        .isEqualTo(1);
+  }
+}
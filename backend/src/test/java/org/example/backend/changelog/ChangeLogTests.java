@@ -0,0 +1,154 @@
+package org.example.backend.changelog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChangeLogTests {
+
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+  private static final Duration MAX_LAG = Duration.ofSeconds(2);
+
+  @Autowired private DataSource dataSource;
+  @Autowired private PetService petService;
+  @Autowired private UserService userService;
+  @Autowired private ChangeLog changeLog;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private JdbcTemplate jdbc;
+
+  /** Another instance's pet cache: pet id → fullness, filled on read, dropped on invalidation. */
+  private static final class Instance implements ChangeListener {
+    final Map<Long, Integer> pets = new ConcurrentHashMap<>();
+    final ChangeLogPoller poller;
+
+    Instance(DataSource dataSource) {
+      poller =
+          new ChangeLogPoller(
+              Map.of("primary", dataSource),
+              List.of(this),
+              100,
+              Duration.ofSeconds(5),
+              Duration.ofHours(1));
+      poller.poll(); // start at the current end of the log
+    }
+
+    @Override
+    public void invalidate(ChangeLog.Entity entity, Set<Long> ids) {
+      if (entity == ChangeLog.Entity.PET) {
+        pets.keySet().removeAll(ids);
+      }
+    }
+  }
+
+  private static long awaitEvicted(List<Instance> instances, long petId, long startNanos)
+      throws InterruptedException {
+    long deadline = startNanos + MAX_LAG.toNanos();
+    while (instances.stream().anyMatch(i -> i.pets.containsKey(petId))) {
+      assertThat(System.nanoTime())
+          .as("all instances invalidated within %s", MAX_LAG)
+          .isLessThan(deadline);
+      Thread.sleep(5);
+    }
+    return System.nanoTime() - startNanos;
+  }
+
+  @Test
+  void instancesConvergeWithinBoundedLag() throws Exception {
+    User owner =
+        userService.registerNewUser("changelog-a", "changelog-a@example.com", "password1");
+    Pet pet = petService.createPetForUser("Echo", "cat", owner);
+    List<Instance> instances = List.of(new Instance(dataSource), new Instance(dataSource));
+
+    ScheduledExecutorService polling = Executors.newScheduledThreadPool(instances.size());
+    try {
+      for (Instance instance : instances) {
+        polling.scheduleWithFixedDelay(
+            instance.poller::poll, 0, POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+      }
+      for (int round = 0; round < 5; round++) {
+        int fullness = petService.getPetById(pet.getId()).getFullness();
+        instances.forEach(i -> i.pets.put(pet.getId(), fullness));
+
+        long start = System.nanoTime();
+        petService.feedPet(pet.getId()); // "instance A" writes
+        long lag = awaitEvicted(instances, pet.getId(), start);
+
+        assertThat(Duration.ofNanos(lag)).isLessThan(MAX_LAG);
+      }
+    } finally {
+      polling.shutdownNow();
+    }
+  }
+
+  @Test
+  void changesAreLoggedOnlyIfTheTransactionCommits() {
+    long before = jdbc.queryForObject("SELECT COUNT(*) FROM change_log", Long.class);
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+    assertThatThrownBy(
+            () ->
+                tx.executeWithoutResult(
+                    status -> {
+                      changeLog.record(ChangeLog.Entity.PET, 424242L);
+                      throw new IllegalStateException("rollback");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM change_log", Long.class)).isEqualTo(before);
+
+    tx.executeWithoutResult(
+        status -> {
+          changeLog.record(ChangeLog.Entity.PET, 424242L);
+          changeLog.record(ChangeLog.Entity.PET, List.of(424242L, 424243L)); // deduplicated
+        });
+    assertThat(
+            jdbc.queryForObject(
+                "SELECT COUNT(*) FROM change_log WHERE entity_id IN (424242, 424243)", Long.class))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void lateCommitsBelowTheHighWaterMarkAreStillDelivered() {
+    Instance instance = new Instance(dataSource);
+    instance.pets.put(7001L, 1);
+    instance.pets.put(7002L, 1);
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+    // 7001 takes its version first but commits after 7002 has been polled
+    tx.executeWithoutResult(
+        status -> {
+          jdbc.update("INSERT INTO change_log (entity, entity_id) VALUES (1, 7001)");
+          TransactionTemplate other = new TransactionTemplate(transactionManager);
+          other.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+          other.executeWithoutResult(s -> changeLog.record(ChangeLog.Entity.PET, 7002L));
+          CompletableFuture.runAsync(instance.poller::poll).join(); // another connection
+
+          assertThat(instance.pets).containsOnlyKeys(7001L);
+        });
+
+    instance.poller.poll();
+    assertThat(instance.pets).isEmpty();
+  }
+}
@@ -0,0 +1,94 @@
+package org.example.backend.coalesce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SingleFlightTests {
+
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  void concurrentCallersShareOneLoad() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    SingleFlight flight = new SingleFlight("test", registry);
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(
+            pool.submit(
+                () -> {
+                  try {
+                    return flight.run(
+                        "pet:1",
+                        () -> {
+                          loads.incrementAndGet();
+                          release.await(5, TimeUnit.SECONDS);
+                          return "result";
+                        });
+                  } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                  }
+                }));
+      }
+      // Let every caller arrive while the first load is still blocked
+      while (registry.counter("pixelpets.singleflight.coalesced", "name", "test").count() < 7) {
+        Thread.sleep(5);
+      }
+      release.countDown();
+      for (Future<String> result : results) assertThat(result.get()).isEqualTo("result");
+    } finally {
+      pool.shutdown();
+    }
+
+    assertThat(loads).hasValue(1);
+    assertThat(registry.counter("pixelpets.singleflight.loads", "name", "test").count()).isEqualTo(1);
+  }
+
+  @Test
+  void failuresAreSharedAndTheKeyIsFreedAfterwards() throws Throwable {
+    SingleFlight flight = new SingleFlight("test", new SimpleMeterRegistry());
+
+    assertThatThrownBy(() -> flight.run("k", () -> { throw new IllegalStateException("boom"); }))
+        .hasMessage("boom");
+    assertThat(flight.<String>run("k", () -> "ok")).isEqualTo("ok");
+  }
+
+  @Test
+  void petReadsGoThroughTheSingleFlightLayer() {
+    User user = userService.registerNewUser("flight-a", "flight-a@example.com", "password1");
+    Pet pet = petService.createPetForUser("Pip", "cat", user);
+    double before = meterRegistry.counter("pixelpets.singleflight.loads", "name", "pet").count();
+
+    petService.getPetById(pet.getId());
+
+    assertThat(meterRegistry.counter("pixelpets.singleflight.loads", "name", "pet").count())
+        .isEqualTo(before + 1);
+  }
+}
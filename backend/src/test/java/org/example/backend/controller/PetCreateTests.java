@@ -0,0 +1,59 @@
+package org.example.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PetCreateTests {
+
+  @Autowired private MockMvc mvc;
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+
+  @Test
+  void createsPetWithoutId() throws Exception {
+    User user = userService.registerNewUser("create-a", "create-a@example.com", "password1");
+
+    mvc.perform(
+            post("/api/pets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Nova\",\"type\":\"dragon\",\"userId\":" + user.getId() + "}"))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.name").value("Nova"))
+        .andExpect(jsonPath("$.type").value("Dragon"));
+  }
+
+  @Test
+  void rejectsIdInsteadOfOverwritingAnExistingPet() throws Exception {
+    User user = userService.registerNewUser("create-b", "create-b@example.com", "password1");
+    Pet existing = petService.createPetForUser("Keep", "cat", user);
+
+    mvc.perform(
+            post("/api/pets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"id\":" + existing.getId() + ",\"name\":\"Renamed\",\"type\":\"dog\",\"fullness\":5,"
+                        + "\"userId\":" + user.getId() + "}"))
+        .andExpect(status().isBadRequest());
+
+    Pet after = petService.getPetById(existing.getId());
+    assertThat(after.getName()).isEqualTo("Keep");
+    assertThat(after.getFullness()).isEqualTo(80);
+  }
+}
@@ -0,0 +1,117 @@
+package org.example.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "pixelpets.export.admin-token=export-me")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PetExportTests {
+
+  private static final Instant LONG_AGO = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Autowired private MockMvc mvc;
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private JdbcTemplate jdbc;
+  @Autowired private ObjectMapper objectMapper;
+
+  private Pet stalePet(User owner, String name, String type) {
+    Pet pet = petService.createPetForUser(name, type, owner);
+    jdbc.update("UPDATE pets SET last_tick_at = ? WHERE id = ?", Timestamp.from(LONG_AGO), pet.getId());
+    return pet;
+  }
+
+  @Test
+  void streamsNdjsonWithoutTicking() throws Exception {
+    User owner = userService.registerNewUser("export-a", "export-a@example.com", "password1");
+    Pet pet = stalePet(owner, "Rex", "dog");
+
+    byte[] body =
+        mvc.perform(get("/api/admin/export/pets").header("X-Admin-Token", "export-me"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    JsonNode row = null;
+    for (String line : new String(body, StandardCharsets.UTF_8).split("\n")) {
+      JsonNode node = objectMapper.readTree(line);
+      if (node.get("id").asLong() == pet.getId()) row = node;
+    }
+    assertThat(row).isNotNull();
+    assertThat(row.get("username").asText()).isEqualTo("export-a");
+    assertThat(row.get("type").asText()).isEqualTo("Dog");
+    assertThat(row.get("fullness").asInt()).isEqualTo(80); // as stored, not decayed
+    assertThat(row.get("lastTickAt").asText()).isEqualTo(LONG_AGO.toString());
+    assertThat(row.get("archived").asBoolean()).isFalse();
+
+    // Nothing was written back
+    assertThat(jdbc.queryForObject("SELECT last_tick_at FROM pets WHERE id = ?", Timestamp.class, pet.getId()))
+        .isEqualTo(Timestamp.from(LONG_AGO));
+  }
+
+  @Test
+  void streamsGzippedCsvIncludingArchivedPets() throws Exception {
+    User owner = userService.registerNewUser("export-b", "export-b@example.com", "password1");
+    Pet quoted = stalePet(owner, "Salt, \"Pepper\"", "cat");
+    Pet cold = stalePet(owner, "Frost", "blob");
+    petService.archiveDormantPets(LONG_AGO.plusSeconds(1), 1_000);
+
+    byte[] body =
+        mvc.perform(
+                get("/api/admin/export/pets")
+                    .param("format", "csv")
+                    .header("X-Admin-Token", "export-me")
+                    .header("Accept-Encoding", "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+    String csv =
+        new String(
+            new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+
+    assertThat(csv)
+        .startsWith("id,name,type,level,fullness,happiness,energy,lastTickAt,userId,username,archived\r\n")
+        .contains(
+            quoted.getId() + ",\"Salt, \"\"Pepper\"\"\",Cat,1,80,80,80," + LONG_AGO + "," + owner.getId()
+                + ",export-b,true\r\n")
+        .contains(
+            cold.getId() + ",Frost,Blob,1,80,80,80," + LONG_AGO + "," + owner.getId()
+                + ",export-b,true\r\n");
+  }
+
+  @Test
+  void requiresTheAdminTokenAndAKnownFormat() throws Exception {
+    mvc.perform(get("/api/admin/export/pets")).andExpect(status().isForbidden());
+    mvc.perform(get("/api/admin/export/pets").header("X-Admin-Token", "nope"))
+        .andExpect(status().isForbidden());
+    mvc.perform(
+            get("/api/admin/export/pets").param("format", "xml").header("X-Admin-Token", "export-me"))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,52 @@
+package org.example.backend.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PetMultiGetTests {
+
+  @Autowired private MockMvc mvc;
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+
+  @Test
+  void returnsPetsInRequestOrderAndReportsMisses() throws Exception {
+    User user = userService.registerNewUser("multi-a", "multi-a@example.com", "password1");
+    Pet first = petService.createPetForUser("Uno", "cat", user);
+    Pet second = petService.createPetForUser("Dos", "dog", user);
+
+    mvc.perform(get("/api/pets").param("ids", second.getId() + ",999999," + first.getId() + "," + second.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.pets.length()").value(2))
+        .andExpect(jsonPath("$.pets[0].id").value(second.getId()))
+        .andExpect(jsonPath("$.pets[1].id").value(first.getId()))
+        .andExpect(jsonPath("$.missing[0]").value(999999));
+  }
+
+  @Test
+  void rejectsOversizedBatches() throws Exception {
+    String ids =
+        IntStream.rangeClosed(1, PetController.MAX_BATCH_IDS + 1)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.joining(","));
+
+    mvc.perform(get("/api/pets").param("ids", ids)).andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,239 @@
+package org.example.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.sql.DataSource;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * Per-endpoint query budgets: each request is run for an owner with {@value #SMALL} and with
+ * {@value #LARGE} pets, and the number of JDBC statements it prepared must be the same for both and
+ * within the endpoint's budget. An N+1 (lazy loads, merge-per-row, row-by-row deletes) shows up as
+ * a count that grows with N.
+ *
+ * <p>Statements are counted at the {@link DataSource} (see {@link CountingDataSource}), so
+ * {@code JdbcTemplate} work such as the journal and activity reads counts as well as Hibernate's.
+ * Only the test thread is counted; background flushers and schedulers are not.
+ *
+ * <p>"Drifted" cases back-date the owner's pets so the request has to tick and write every one of
+ * them.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTests {
+
+  private static final int SMALL = 1;
+  private static final int LARGE = 25;
+
+  @Autowired private MockMvc mvc;
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private JdbcTemplate jdbc;
+  @Autowired private DataSource dataSource;
+
+  private static final AtomicInteger OWNERS = new AtomicInteger();
+
+  // ===== Harness =====
+
+  @TestConfiguration
+  static class Counting {
+
+    @Bean
+    static BeanPostProcessor countingDataSource() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String name) {
+          return "dataSource".equals(name) ? new CountingDataSource((DataSource) bean) : bean;
+        }
+      };
+    }
+  }
+
+  /** Counts the statements the counting thread prepares on connections from the delegate. */
+  static class CountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENTS =
+        Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private final AtomicLong statements = new AtomicLong();
+    private volatile Thread counting;
+
+    CountingDataSource(DataSource target) {
+      super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      return count(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      return count(super.getConnection(username, password));
+    }
+
+    private Connection count(Connection connection) {
+      return (Connection)
+          Proxy.newProxyInstance(
+              Connection.class.getClassLoader(),
+              new Class<?>[] {Connection.class},
+              (proxy, method, args) -> {
+                if (STATEMENTS.contains(method.getName()) && Thread.currentThread() == counting) {
+                  statements.incrementAndGet();
+                }
+                try {
+                  return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                  throw e.getCause();
+                }
+              });
+    }
+
+    long countDuring(ThrowingRunnable work) throws Exception {
+      statements.set(0);
+      counting = Thread.currentThread();
+      try {
+        work.run();
+      } finally {
+        counting = null;
+      }
+      return statements.get();
+    }
+  }
+
+  interface ThrowingRunnable {
+    void run() throws Exception;
+  }
+
+  /** A fresh owner with {@code pets} pets, optionally last ticked three hours ago. */
+  private User seed(int pets, boolean drifted) {
+    String name = "budget-" + OWNERS.incrementAndGet();
+    User owner = userService.registerNewUser(name, name + "@example.com", "password1");
+    for (int i = 0; i < pets; i++) {
+      petService.createPetForUser("Pet " + i, (i % 2 == 0) ? "cat" : "dog", owner);
+    }
+    if (drifted) {
+      jdbc.update(
+          "UPDATE pets SET last_tick_at = ? WHERE user_id = ?",
+          Timestamp.from(Instant.now().minus(3, ChronoUnit.HOURS)),
+          owner.getId());
+    }
+    return owner;
+  }
+
+  /** Statements prepared while serving {@code request}. */
+  private long statements(RequestBuilder request) throws Exception {
+    return dataSource
+        .unwrap(CountingDataSource.class)
+        .countDuring(() -> mvc.perform(request).andExpect(status().is2xxSuccessful()));
+  }
+
+  private void assertBudget(
+      long budget, boolean drifted, Function<User, RequestBuilder> request) throws Exception {
+    long small = statements(request.apply(seed(SMALL, drifted)));
+    long large = statements(request.apply(seed(LARGE, drifted)));
+    assertThat(large).as("statements for %d pets vs %d", LARGE, SMALL).isEqualTo(small);
+    assertThat(large).as("statement budget").isLessThanOrEqualTo(budget);
+  }
+
+  // ===== Reads =====
+
+  @Test
+  void petsByUser() throws Exception {
+    assertBudget(1, false, owner -> get("/api/pets/user/" + owner.getId()));
+  }
+
+  @Test
+  void dashboard() throws Exception {
+    assertBudget(2, false, owner -> get("/api/users/" + owner.getId() + "/dashboard"));
+  }
+
+  @Test
+  void allPets() throws Exception {
+    assertAllPetsBudget(1);
+  }
+
+  private void assertAllPetsBudget(long budget) throws Exception {
+    statements(get("/api/pets")); // tick whatever earlier tests left behind
+    seed(SMALL, false);
+    long small = statements(get("/api/pets"));
+    seed(LARGE, false);
+    long large = statements(get("/api/pets"));
+    assertThat(large).isEqualTo(small).isLessThanOrEqualTo(budget);
+  }
+
+  // ===== Reads that persist drift =====
+
+  @Test
+  void driftedPetsByUser() throws Exception {
+    assertBudget(2, true, owner -> get("/api/pets/user/" + owner.getId()));
+  }
+
+  @Test
+  void driftedDashboard() throws Exception {
+    assertBudget(3, true, owner -> get("/api/users/" + owner.getId() + "/dashboard"));
+  }
+
+  // ===== Writes =====
+
+  @Test
+  void deleteUser() throws Exception {
+    // user lookup + delete, pets, archived pets, activity, and a change-log row for user and pets
+    assertBudget(7, false, owner -> delete("/api/users/" + owner.getId()));
+  }
+
+  // ===== Event-sourced reads =====
+
+  /** With the journal on, every list read also loads the owners' pending events in one query. */
+  @Nested
+  @TestPropertySource(
+      properties = {"pixelpets.journal.enabled=true", "pixelpets.journal.compact-interval=PT1H"})
+  class Journal {
+
+    @Test
+    void petsByUser() throws Exception {
+      assertBudget(2, false, owner -> get("/api/pets/user/" + owner.getId()));
+    }
+
+    @Test
+    void dashboard() throws Exception {
+      assertBudget(3, false, owner -> get("/api/users/" + owner.getId() + "/dashboard"));
+    }
+
+    @Test
+    void allPets() throws Exception {
+      assertAllPetsBudget(2);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package org.example.backend.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserDashboardTests {
+
+  @Autowired private MockMvc mvc;
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+
+  @Test
+  void dashboardReturnsUserAndPetsInOneResponse() throws Exception {
+    User user = userService.registerNewUser("dash-a", "dash-a@example.com", "password1");
+    petService.createPetForUser("Nori", "cat", user);
+    petService.createPetForUser("Taro", "dog", user);
+
+    mvc.perform(get("/api/users/" + user.getId() + "/dashboard"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.user.username").value("dash-a"))
+        .andExpect(jsonPath("$.pets.length()").value(2))
+        .andExpect(jsonPath("$.pets[0].userId").value(user.getId()));
+  }
+
+  @Test
+  void unknownUserIs404() throws Exception {
+    mvc.perform(get("/api/users/999999/dashboard")).andExpect(status().isNotFound());
+  }
+}
@@ -0,0 +1,73 @@
+package org.example.backend.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.example.backend.model.User;
+import org.example.backend.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Routing against two local H2 databases: the regular test DB as primary and a second in-memory
+ * DB standing in for the replica (no replication, so each side's contents show where a query ran).
+ */
+@SpringBootTest(
+    properties = {
+      "pixelpets.datasource.replica.url=" + ReadWriteRoutingTests.REPLICA_URL,
+      "pixelpets.datasource.replica.driver-class-name=org.h2.Driver",
+      "pixelpets.datasource.replica.username=sa",
+      "pixelpets.datasource.replica.password="
+    })
+@ActiveProfiles("test")
+class ReadWriteRoutingTests {
+
+  static final String REPLICA_URL =
+      "jdbc:h2:mem:pixel_pets_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+  @Autowired private UserService userService;
+
+  private JdbcTemplate replica;
+
+  @BeforeEach
+  void migrateReplica() {
+    Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+  }
+
+  @AfterEach
+  void closePinScope() {
+    PrimaryPin.end();
+  }
+
+  @Test
+  void readOnlyLookupsGoToReplica() {
+    User written = userService.registerNewUser("routing-a", "routing-a@example.com", "password1");
+
+    // Written to the primary only, so the replica lookup misses it ...
+    assertThat(userService.getUserById(written.getId())).isNull();
+
+    // ... and sees rows that only exist on the replica
+    replica.update(
+        "INSERT INTO users (user_name, email, password) VALUES (?, ?, ?)",
+        "replica-only",
+        "replica-only@example.com",
+        "x");
+    assertThat(userService.findByUsername("replica-only")).isNotNull();
+  }
+
+  @Test
+  void readsAfterAWriteInTheSameRequestArePinnedToPrimary() {
+    PrimaryPin.begin();
+
+    User written = userService.registerNewUser("routing-b", "routing-b@example.com", "password1");
+
+    assertThat(userService.getUserById(written.getId())).isNotNull();
+  }
+}
@@ -0,0 +1,161 @@
+package org.example.backend.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyFilterTests {
+
+  private static final IdempotencyStore.StoredResponse DONE =
+      new IdempotencyStore.StoredResponse(200, null, new byte[0]);
+
+  @Autowired private MockMvc mvc;
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+
+  private MockHttpServletResponse postWithKey(String path, String key, String body) throws Exception {
+    var request = post(path).header(IdempotencyFilter.HEADER, key);
+    if (body != null) request.contentType(MediaType.APPLICATION_JSON).content(body);
+    return mvc.perform(request).andReturn().getResponse();
+  }
+
+  @Test
+  void retriedAdoptIsReplayedInsteadOfCreatingASecondPet() throws Exception {
+    User user = userService.registerNewUser("idem-a", "idem-a@example.com", "password1");
+    String body = "{\"userId\":" + user.getId() + ",\"name\":\"Mochi\",\"type\":\"cat\"}";
+
+    MockHttpServletResponse first = postWithKey("/api/pets/adopt", "adopt-1", body);
+    MockHttpServletResponse retry = postWithKey("/api/pets/adopt", "adopt-1", body);
+
+    assertThat(first.getStatus()).isEqualTo(201);
+    assertThat(retry.getStatus()).isEqualTo(201);
+    assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+    assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    assertThat(petService.getPetsByUserId(user.getId())).hasSize(1);
+  }
+
+  @Test
+  void reusedKeyWithADifferentBodyIsRejected() throws Exception {
+    User user = userService.registerNewUser("idem-c", "idem-c@example.com", "password1");
+    String body = "{\"userId\":" + user.getId() + ",\"name\":\"Pip\",\"type\":\"cat\"}";
+    String other = "{\"userId\":" + user.getId() + ",\"name\":\"Pop\",\"type\":\"dog\"}";
+
+    assertThat(postWithKey("/api/pets/adopt", "adopt-2", body).getStatus()).isEqualTo(201);
+    assertThat(postWithKey("/api/pets/adopt", "adopt-2", other).getStatus()).isEqualTo(422);
+    assertThat(petService.getPetsByUserId(user.getId())).hasSize(1);
+  }
+
+  @Test
+  void keysAreScopedToTheClient() throws Exception {
+    User user = userService.registerNewUser("idem-d", "idem-d@example.com", "password1");
+    String body = "{\"userId\":" + user.getId() + ",\"name\":\"Taro\",\"type\":\"cat\"}";
+    var fromElsewhere =
+        post("/api/pets/adopt")
+            .header(IdempotencyFilter.HEADER, "adopt-3")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body)
+            .with(request -> {
+              request.setRemoteAddr("10.0.0.9");
+              return request;
+            });
+
+    assertThat(postWithKey("/api/pets/adopt", "adopt-3", body).getStatus()).isEqualTo(201);
+    MockHttpServletResponse other = mvc.perform(fromElsewhere).andReturn().getResponse();
+    assertThat(other.getStatus()).isEqualTo(201);
+    assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    assertThat(petService.getPetsByUserId(user.getId())).hasSize(2);
+  }
+
+  @Test
+  void concurrentDuplicatesApplyTheActionOnce() throws Exception {
+    User user = userService.registerNewUser("idem-b", "idem-b@example.com", "password1");
+    Pet pet = petService.createPetForUser("Bolt", "dog", user);
+    String path = "/api/pets/" + pet.getId() + "/play";
+
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<MockHttpServletResponse>> results = new ArrayList<>();
+      for (int i = 0; i < 16; i++) results.add(pool.submit(() -> postWithKey(path, "play-1", null)));
+      String expected = results.get(0).get().getContentAsString();
+      for (Future<MockHttpServletResponse> result : results) {
+        assertThat(result.get().getStatus()).isEqualTo(200);
+        assertThat(result.get().getContentAsString()).isEqualTo(expected);
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    // One play: happiness 80 + 15 (a second one would cap at 100)
+    assertThat(petService.getPetById(pet.getId()).getHappiness()).isEqualTo(95);
+    assertThat(postWithKey(path, "play-2", null).getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+  }
+
+  @Test
+  void storeIsBoundedAndDropsOldestCompletedKeys() {
+    IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(1), 2);
+    assertThat(store.claim("a", "fp")).isNull();
+    assertThat(store.claim("b", "fp")).isNull();
+    store.complete("a", DONE);
+    store.complete("b", DONE);
+    assertThat(store.claim("c", "fp")).isNull();
+
+    assertThat(store.size()).isEqualTo(2);
+    assertThat(store.claim("a", "fp")).isNull(); // evicted, so claimable again
+  }
+
+  @Test
+  void inFlightKeysAreNeverEvicted() {
+    IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(1), 2);
+    assertThat(store.claim("a", "fp")).isNull();
+    assertThat(store.claim("b", "fp")).isNull();
+
+    assertThatThrownBy(() -> store.claim("c", "fp"))
+        .isInstanceOf(IdempotencyStore.FullException.class);
+    assertThat(store.claim("a", "fp")).isNotNull(); // still owned by the first request
+
+    store.complete("a", DONE);
+    assertThat(store.claim("c", "fp")).isNull(); // completed "a" makes room
+  }
+
+  @Test
+  void claimingAKeyWithAnotherFingerprintIsRefused() {
+    IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(1), 2);
+    assertThat(store.claim("a", "fp")).isNull();
+
+    assertThatThrownBy(() -> store.claim("a", "other"))
+        .isInstanceOf(IdempotencyStore.MismatchException.class);
+    assertThat(store.claim("a", "fp")).isNotNull();
+  }
+
+  @Test
+  void rejectedRequestIsNotReplayed() throws Exception {
+    String path = "/api/pets/999999999/feed";
+    assertThat(postWithKey(path, "missing-1", null).getStatus()).isEqualTo(404);
+
+    MockHttpServletResponse retry = postWithKey(path, "missing-1", null);
+    assertThat(retry.getStatus()).isEqualTo(404);
+    assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull(); // ran again
+  }
+}
@@ -0,0 +1,130 @@
+package org.example.backend.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Event-sourced mode: actions land in pet_actions and only compaction rewrites the pet row. */
+@SpringBootTest(
+    properties = {"pixelpets.journal.enabled=true", "pixelpets.journal.compact-interval=PT1H"})
+@ActiveProfiles("test")
+class PetActionJournalTests {
+
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private JdbcTemplate jdbc;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private Pet adopt(String name) {
+    User user = userService.registerNewUser(name, name + "@example.com", "password1");
+    return petService.createPetForUser(name + "-pet", "cat", user);
+  }
+
+  private Map<String, Object> row(Pet pet) {
+    return jdbc.queryForMap("SELECT hunger, energy, journal_seq FROM pets WHERE id = ?", pet.getId());
+  }
+
+  private boolean pending(Pet pet) {
+    return jdbc.queryForObject(
+            "SELECT COUNT(*) FROM pet_actions_pending WHERE pet_id = ?", Integer.class, pet.getId())
+        > 0;
+  }
+
+  private int events(Pet pet) {
+    return jdbc.queryForObject(
+        "SELECT COUNT(*) FROM pet_actions WHERE pet_id = ?", Integer.class, pet.getId());
+  }
+
+  @Test
+  void actionsAreJournaledAndFoldedOnCompaction() {
+    Pet pet = adopt("journal-a");
+
+    petService.playWithPet(pet.getId());
+    petService.restPet(pet.getId());
+    Pet afterFeed = petService.feedPet(pet.getId());
+
+    // Row untouched, three events journaled, reads see the folded state
+    assertThat(row(pet)).containsEntry("hunger", 80).containsEntry("journal_seq", 0L);
+    assertThat(events(pet)).isEqualTo(3);
+    Pet projected = petService.getPetById(pet.getId());
+    assertThat(projected.getFullness()).isEqualTo(afterFeed.getFullness()).isEqualTo(85);
+    assertThat(projected.getEnergy()).isEqualTo(95);
+    assertThat(projected.getAttentionAt()).isAfter(projected.getLastTickAt()); // predicted, not copied
+
+    assertThat(pending(pet)).isTrue();
+    assertThat(petService.compactJournal(100)).contains(pet.getId());
+    assertThat(pending(pet)).isFalse();
+
+    // Snapshot now holds the folded stats; events stay as the audit trail
+    assertThat(row(pet)).containsEntry("hunger", 85).containsEntry("energy", 95);
+    assertThat(((Number) row(pet).get("journal_seq")).longValue()).isEqualTo(afterFeed.getJournalSeq());
+    assertThat(events(pet)).isEqualTo(3);
+    assertThat(petService.compactJournal(100)).doesNotContain(pet.getId());
+    assertThat(petService.getPetById(pet.getId()).getFullness()).isEqualTo(85);
+  }
+
+  @Test
+  void ownerListsFoldEveryPetsPendingEvents() {
+    User user = userService.registerNewUser("journal-d", "journal-d@example.com", "password1");
+    Pet first = petService.createPetForUser("First", "cat", user);
+    Pet second = petService.createPetForUser("Second", "dog", user);
+    petService.feedPet(first.getId());
+    petService.restPet(second.getId());
+    petService.restPet(second.getId());
+
+    assertThat(petService.getPetsByUserId(user.getId()))
+        .extracting(Pet::getName, Pet::getFullness, Pet::getEnergy)
+        .containsExactlyInAnyOrder(
+            tuple("First", 100, 80),
+            tuple("Second", 70, 100));
+  }
+
+  @Test
+  void rolledBackActionLeavesNoEvent() {
+    Pet pet = adopt("journal-c");
+
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              petService.feedPet(pet.getId());
+              status.setRollbackOnly();
+            });
+
+    assertThat(events(pet)).isZero();
+    assertThat(petService.getPetById(pet.getId()).getFullness()).isEqualTo(80);
+  }
+
+  @Test
+  void concurrentActionsAreAllJournaled() throws Exception {
+    Pet pet = adopt("journal-b");
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Pet>> results = new ArrayList<>();
+      for (int i = 0; i < 40; i++) results.add(pool.submit(() -> petService.playWithPet(pet.getId())));
+      for (Future<Pet> result : results) result.get();
+    } finally {
+      pool.shutdown();
+    }
+
+    assertThat(events(pet)).isEqualTo(40);
+    assertThat(petService.getPetById(pet.getId()).getFullness()).isZero();
+    assertThat(petService.getPetById(pet.getId()).getHappiness()).isEqualTo(100);
+  }
+}
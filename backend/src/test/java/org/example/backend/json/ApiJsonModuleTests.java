@@ -0,0 +1,58 @@
+package org.example.backend.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
+import java.util.List;
+import org.example.backend.dto.DashboardDto;
+import org.example.backend.dto.PetBatchDto;
+import org.example.backend.dto.PetDto;
+import org.example.backend.dto.UserDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ApiJsonModuleTests {
+
+  /** What the API produced before the module: Jackson's reflective serializers. */
+  private static final ObjectMapper REFLECTIVE = new ObjectMapper();
+
+  @Autowired private ObjectMapper objectMapper;
+
+  private static final List<PetDto> PETS =
+      List.of(
+          new PetDto(1L, "Mochi", "Cat", 1, 80, 75, 60, 7L),
+          new PetDto(null, "Mö\"chi\\\n\t😀 </script>", "Dragon", null, null, 0, 100, null),
+          new PetDto(Long.MAX_VALUE, null, null, Integer.MIN_VALUE, 0, 0, 0, Long.MIN_VALUE));
+
+  private static final List<UserDto> USERS =
+      List.of(new UserDto(7L, "alice", "alice@example.com"), new UserDto(null, "bøb ", null));
+
+  @Test
+  void moduleIsRegisteredWithTheApplicationMapper() {
+    assertThat(objectMapper.getRegisteredModuleIds()).contains("pixelpets-api-json");
+  }
+
+  @Test
+  void outputIsIdenticalToReflectiveSerialization() throws Exception {
+    for (Object value :
+        Arrays.asList(
+            PETS,
+            USERS,
+            PETS.get(1),
+            new PetBatchDto(PETS, List.of(42L)),
+            new DashboardDto(USERS.get(0), PETS))) {
+      assertThat(objectMapper.writeValueAsString(value)).isEqualTo(REFLECTIVE.writeValueAsString(value));
+    }
+  }
+
+  @Test
+  void readingStillAcceptsTheLegacyHungerAlias() throws Exception {
+    PetDto pet = objectMapper.readValue("{\"name\":\"Old\",\"hunger\":42}", PetDto.class);
+    assertThat(pet.getFullness()).isEqualTo(42);
+  }
+}
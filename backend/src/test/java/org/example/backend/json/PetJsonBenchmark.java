@@ -0,0 +1,91 @@
+package org.example.backend.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.example.backend.dto.PetDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH comparison of reflective vs. {@link ApiJsonModule} serialization of a {@code /api/pets}-sized
+ * list.
+ *
+ * <p>Scores are per pet ({@link OperationsPerInvocation}); the GC profiler's
+ * {@code gc.alloc.rate.norm} is bytes allocated per pet. Output goes to a null stream, so neither
+ * side pays for the response buffer. Run {@link #main} from the IDE, or after
+ * {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath \
+ *     -Dmdep.outputFile=/dev/stdout)" org.example.backend.json.PetJsonBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PetJsonBenchmark {
+
+    private static final int PETS = 1_000;
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private List<PetDto> pets;
+    private ObjectWriter reflective;
+    private ObjectWriter streaming;
+
+    @Setup
+    public void setUp() {
+        pets = new ArrayList<>(PETS);
+        for (int i = 0; i < PETS; i++) {
+            pets.add(new PetDto((long) i, "Pet " + i, "Cat", 1 + i % 10, i % 101, 80, 55, (long) i / 3));
+        }
+        // The sink is shared across invocations, so the writers must not close it
+        reflective = new ObjectMapper().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        streaming =
+                new ObjectMapper()
+                        .registerModule(new ApiJsonModule())
+                        .writer()
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PETS)
+    public void reflective() throws IOException {
+        reflective.writeValue(sink, pets);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PETS)
+    public void streaming() throws IOException {
+        streaming.writeValue(sink, pets);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(PetJsonBenchmark.class.getSimpleName())
+                                .addProfiler(GCProfiler.class)
+                                .build())
+                .run();
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.backend.latency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "pixelpets.latency.slice-interval=PT1H")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LatencyRecorderTests {
+
+  @Autowired private MockMvc mvc;
+  @Autowired private LatencyRecorder latencyRecorder;
+
+  @Test
+  void windowRollsOffOldSlices() {
+    LatencyRecorder recorder = new LatencyRecorder(Duration.ofSeconds(10), 2);
+    for (int i = 1; i <= 100; i++) {
+      recorder.record("GET /x", TimeUnit.MILLISECONDS.toNanos(i), i > 95);
+    }
+    assertThat(recorder.snapshot()).isEmpty(); // current slice is still open
+
+    recorder.rotate();
+    LatencyRecorder.Snapshot snapshot = recorder.snapshot().get("GET /x");
+    assertThat(snapshot.count()).isEqualTo(100);
+    assertThat(snapshot.errorRate()).isEqualTo(0.05);
+    assertThat(snapshot.p50Ms()).isBetween(49.0, 51.0);
+    assertThat(snapshot.p99Ms()).isBetween(98.0, 100.0);
+    assertThat(snapshot.maxMs()).isBetween(99.0, 101.0);
+
+    recorder.rotate();
+    assertThat(recorder.snapshot().get("GET /x").count()).isEqualTo(100);
+    recorder.rotate();
+    assertThat(recorder.snapshot()).isEmpty();
+  }
+
+  @Test
+  void detailsReportTimedEndpointsAndDatabase() throws Exception {
+    mvc.perform(get("/api/pets/999999")).andExpect(status().isNotFound());
+    mvc.perform(get("/api/health")).andExpect(status().isOk());
+    latencyRecorder.rotate();
+
+    mvc.perform(get("/api/health/details"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("UP"))
+        .andExpect(jsonPath("$.database.up").value(true))
+        .andExpect(jsonPath("$.endpoints['GET /api/pets/{id}'].count").value(1))
+        .andExpect(jsonPath("$.endpoints['GET /api/pets/{id}'].errorRate").value(0.0))
+        .andExpect(jsonPath("$.endpoints['GET /api/pets/{id}'].p99Ms").isNumber())
+        .andExpect(jsonPath("$.endpoints['GET /api/health']").doesNotExist());
+  }
+
+  @Test
+  void livenessIsAConstantBody() throws Exception {
+    mvc.perform(get("/api/health"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("application/json"))
+        .andExpect(content().json("{\"status\":\"UP\"}", JsonCompareMode.STRICT));
+  }
+}
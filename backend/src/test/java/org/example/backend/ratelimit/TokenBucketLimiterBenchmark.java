@@ -0,0 +1,69 @@
+package org.example.backend.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH throughput of {@link TokenBucketLimiter#tryAcquire} under contention at high key
+ * cardinality: 16 threads over {@value #KEYS} keys, half the traffic on the hottest 1%.
+ *
+ * <p>Run {@link #main} from the IDE, or after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath \
+ *     -Dmdep.outputFile=/dev/stdout)" org.example.backend.ratelimit.TokenBucketLimiterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class TokenBucketLimiterBenchmark {
+
+    private static final int KEYS = 100_000;
+    private static final TokenBucketLimiter.Limit LIMIT = new TokenBucketLimiter.Limit(0.001, 5);
+
+    private TokenBucketLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketLimiter(Duration.ofMinutes(1));
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "k" + i;
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextBoolean() ? random.nextInt(KEYS / 100) : random.nextInt(KEYS);
+        return limiter.tryAcquire(keys[key], LIMIT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(TokenBucketLimiterBenchmark.class.getSimpleName())
+                                .build())
+                .run();
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.backend.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(
+    properties = {
+      "pixelpets.rate-limit.limits.pet-action.rate-per-second=0.01",
+      "pixelpets.rate-limit.limits.pet-action.burst=3"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenBucketLimiterTests {
+
+  private static final TokenBucketLimiter.Limit SLOW = new TokenBucketLimiter.Limit(0.001, 5);
+
+  @Autowired private MockMvc mvc;
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+
+  @Test
+  void burstIsAdmittedThenRejectedWithAWaitTime() {
+    TokenBucketLimiter limiter = new TokenBucketLimiter(Duration.ofMinutes(1));
+    for (int i = 0; i < 5; i++) assertThat(limiter.tryAcquire("a", SLOW)).isZero();
+
+    assertThat(limiter.tryAcquire("a", SLOW)).isPositive();
+    assertThat(limiter.tryAcquire("b", SLOW)).isZero(); // other keys unaffected
+  }
+
+  @Test
+  void hammeredPetActionGets429WithRetryAfter() throws Exception {
+    User user = userService.registerNewUser("limit-a", "limit-a@example.com", "password1");
+    Pet pet = petService.createPetForUser("Zippy", "cat", user);
+
+    List<MockHttpServletResponse> responses = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      responses.add(mvc.perform(post("/api/pets/" + pet.getId() + "/play")).andReturn().getResponse());
+    }
+
+    assertThat(responses).extracting(MockHttpServletResponse::getStatus).containsExactly(200, 200, 200, 429, 429);
+    assertThat(Long.parseLong(responses.get(3).getHeader("Retry-After"))).isPositive();
+  }
+
+  @Test
+  void petBucketRejectionRefundsTheClientToken() throws Exception {
+    User user = userService.registerNewUser("limit-b", "limit-b@example.com", "password1");
+    Pet hot = petService.createPetForUser("Hot", "cat", user);
+    Pet cold = petService.createPetForUser("Cold", "dog", user);
+
+    for (int i = 0; i < 3; i++) assertThat(play(hot, "10.0.0.1")).isEqualTo(200); // drains hot's bucket
+    assertThat(play(hot, "10.0.0.2")).isEqualTo(429); // rejected by the pet bucket
+
+    // 10.0.0.2 still has its whole burst for other pets
+    for (int i = 0; i < 3; i++) assertThat(play(cold, "10.0.0.2")).isEqualTo(200);
+  }
+
+  /** Many threads over many keys must never admit more than a bucket's burst. */
+  @Test
+  void neverAdmitsMoreThanTheBurstUnderContention() throws Exception {
+    int keys = 10_000;
+    int threads = 8;
+    int opsPerThread = 50_000;
+    TokenBucketLimiter limiter = new TokenBucketLimiter(Duration.ofMinutes(1));
+    AtomicIntegerArray admitted = new AtomicIntegerArray(keys);
+
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> done = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        done.add(
+            pool.submit(
+                () -> {
+                  ThreadLocalRandom random = ThreadLocalRandom.current();
+                  for (int i = 0; i < opsPerThread; i++) {
+                    // Skewed: half the traffic goes to the first 1% of keys
+                    int key = random.nextBoolean() ? random.nextInt(keys / 100) : random.nextInt(keys);
+                    if (limiter.tryAcquire("k" + key, SLOW) == 0) admitted.incrementAndGet(key);
+                  }
+                }));
+      }
+      for (Future<?> f : done) f.get();
+    } finally {
+      pool.shutdown();
+    }
+
+    for (int k = 0; k < keys; k++) assertThat(admitted.get(k)).isLessThanOrEqualTo(SLOW.burst());
+    assertThat(admitted.get(0)).isEqualTo(SLOW.burst());
+  }
+
+  private int play(Pet pet, String client) throws Exception {
+    return mvc.perform(
+            post("/api/pets/" + pet.getId() + "/play")
+                .with(
+                    request -> {
+                      request.setRemoteAddr(client);
+                      return request;
+                    }))
+        .andReturn()
+        .getResponse()
+        .getStatus();
+  }
+}
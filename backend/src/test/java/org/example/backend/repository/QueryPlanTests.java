@@ -0,0 +1,71 @@
+package org.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import org.example.backend.config.ClockConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs {@code EXPLAIN} on the key access paths against the Flyway-built schema and checks that
+ * each one is served by an index rather than a table scan.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ClockConfig.class) // Pet's entity listener takes the application clock
+class QueryPlanTests {
+
+  @Autowired private JdbcTemplate jdbc;
+
+  private String explain(String sql, Object... args) {
+    return jdbc.queryForObject("EXPLAIN " + sql, String.class, args).toLowerCase();
+  }
+
+  @Test
+  void findByUserIdUsesOwnerIndex() {
+    // H2 keeps its own FK index next to idx_pets_user_id (MySQL drops it), so accept either
+    String plan = explain("SELECT * FROM pets WHERE user_id = ?", 1L);
+    assertThat(plan).doesNotContain("tablescan").contains(": user_id = ");
+  }
+
+  @Test
+  void decaySweepUsesLastTickIndex() {
+    String plan =
+        explain("SELECT id FROM pets WHERE last_tick_at < ?", Timestamp.valueOf("2020-01-01 00:00:00"));
+    assertThat(plan).contains("idx_pets_last_tick_at");
+  }
+
+  @Test
+  void attentionLookupUsesAttentionIndex() {
+    String plan =
+        explain(
+            "SELECT id FROM pets WHERE attention_at <= ? ORDER BY attention_at",
+            Timestamp.valueOf("2020-01-01 00:00:00"));
+    assertThat(plan).contains("idx_pets_attention_at");
+  }
+
+  @Test
+  void speciesLookupUsesSpeciesIndex() {
+    String plan = explain("SELECT id FROM pets WHERE species_id = ?", 3);
+    assertThat(plan).contains("idx_pets_species_id");
+  }
+
+  @Test
+  void usernameLookupUsesUniqueIndex() {
+    String plan = explain("SELECT * FROM users WHERE user_name = ?", "alice");
+    assertThat(plan).contains("uk_users_user_name");
+  }
+
+  @Test
+  void emailLookupUsesUniqueIndex() {
+    String plan = explain("SELECT * FROM users WHERE email = ?", "alice@example.com");
+    assertThat(plan).contains("uk_users_email");
+  }
+}
@@ -0,0 +1,56 @@
+package org.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/** Runs the real primary migrations on a scratch H2 database with pets from before V7. */
+class UnmappedSpeciesCallbackTests {
+
+  private final DriverManagerDataSource dataSource =
+      new DriverManagerDataSource(
+          "jdbc:h2:mem:species_callback;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+          "sa",
+          "");
+  private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+  private FluentConfiguration flyway() {
+    return Flyway.configure()
+        .dataSource(dataSource)
+        .locations("classpath:db/migration")
+        .callbacks(new UnmappedSpeciesCallback());
+  }
+
+  @Test
+  void unmappedTypesAreKeptAndTheDefaultIsGone() {
+    flyway().target("6").load().migrate();
+    jdbc.update(
+        "INSERT INTO users (id, user_name, email, password) VALUES (1, 'sp', 'sp@x', 'pw')");
+    String insert =
+        "INSERT INTO pets (id, name, type, level, hunger, happiness, energy, last_tick_at, user_id)"
+            + " VALUES (?, ?, ?, 1, 80, 80, 80, CURRENT_TIMESTAMP, 1)";
+    jdbc.update(insert, 1, "Mochi", " Cat ");
+    jdbc.update(insert, 2, "Gus", "Griffin");
+    jdbc.update(insert, 3, "Goo", "blob");
+
+    flyway().load().migrate();
+
+    assertThat(jdbc.queryForList("SELECT pet_id, type FROM pets_species_unmapped"))
+        .containsExactly(Map.of("pet_id", 2L, "type", "Griffin"));
+    assertThat(jdbc.queryForList("SELECT species_id FROM pets ORDER BY id", Integer.class))
+        .containsExactly(1, 5, 5);
+    String insertSpecies =
+        "INSERT INTO pets (id, name, %s level, hunger, happiness, energy, last_tick_at,"
+            + " journal_seq, user_id) VALUES (?, 'Pip', %s 1, 80, 80, 80, CURRENT_TIMESTAMP, 0, 1)";
+    jdbc.update(insertSpecies.formatted("species_id,", "2,"), 4);
+    assertThatThrownBy(() -> jdbc.update(insertSpecies.formatted("", ""), 5))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+}
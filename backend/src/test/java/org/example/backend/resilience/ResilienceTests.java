@@ -0,0 +1,205 @@
+package org.example.backend.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.example.backend.changelog.ChangeLog;
+import org.example.backend.changelog.ChangeLogPoller;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(
+    properties = {
+      "pixelpets.resilience.breaker.window-size=4",
+      "pixelpets.resilience.breaker.minimum-calls=2",
+      "pixelpets.resilience.breaker.open-duration=PT2S",
+      "pixelpets.resilience.breaker.half-open-calls=1"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResilienceTests {
+
+  private static final AtomicInteger OWNERS = new AtomicInteger();
+
+  @Autowired private MockMvc mvc;
+  @Autowired private PetService petService;
+  @Autowired private UserService userService;
+  @Autowired private CircuitBreaker breaker;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private ChangeLogPoller changeLogPoller;
+  @Autowired private JdbcTemplate jdbc;
+
+  /** Let an open breaker (from an earlier test) time out and close it with one trial call. */
+  @BeforeEach
+  void closeBreaker() throws InterruptedException {
+    Thread.sleep(breaker.remainingOpen().toMillis() + 1);
+    if (breaker.state() != CircuitBreaker.State.CLOSED && breaker.tryAcquire()) {
+      breaker.onSuccess();
+    }
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  private void openBreaker() {
+    for (int i = 0; i < 2; i++) {
+      assertThat(breaker.tryAcquire()).isTrue();
+      breaker.onFailure();
+    }
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  private User newOwner() {
+    String name = "resilience-" + OWNERS.incrementAndGet();
+    return userService.registerNewUser(name, name + "@example.com", "password1");
+  }
+
+  @Test
+  void breakerOpensHalfOpensAndCloses() {
+    AtomicLong now = new AtomicLong();
+    CircuitBreaker cb = new CircuitBreaker(4, 2, 0.5, Duration.ofSeconds(10), 2, now::get);
+
+    cb.tryAcquire();
+    cb.onSuccess();
+    cb.tryAcquire();
+    cb.onFailure(); // 1 of 2 failed: at the threshold
+    assertThat(cb.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(cb.tryAcquire()).isFalse();
+    assertThat(cb.remainingOpen()).isEqualTo(Duration.ofSeconds(10));
+
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+    assertThat(cb.tryAcquire()).isTrue();
+    assertThat(cb.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(cb.tryAcquire()).isTrue();
+    assertThat(cb.tryAcquire()).isFalse(); // only two trials
+    cb.onFailure();
+    assertThat(cb.state()).isEqualTo(CircuitBreaker.State.OPEN); // a failed trial reopens
+
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+    cb.tryAcquire();
+    cb.tryAcquire();
+    cb.onSuccess();
+    cb.onSuccess();
+    assertThat(cb.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void openBreakerServesCachedReadsStaleAndFailsWrites() throws Exception {
+    User owner = newOwner();
+    Pet pet = petService.createPetForUser("Mochi", "cat", owner);
+    User uncached = newOwner();
+    changeLogPoller.poll(); // deliver the creates before caching
+
+    mvc.perform(get("/api/pets/" + pet.getId()))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(StaleReadAspect.STALE_HEADER));
+    mvc.perform(get("/api/pets/user/" + owner.getId())).andExpect(status().isOk());
+
+    openBreaker();
+
+    mvc.perform(get("/api/pets/" + pet.getId()))
+        .andExpect(status().isOk())
+        .andExpect(header().string(StaleReadAspect.STALE_HEADER, "true"))
+        .andExpect(jsonPath("$.name").value("Mochi"));
+    mvc.perform(get("/api/pets/user/" + owner.getId()))
+        .andExpect(status().isOk())
+        .andExpect(header().string(StaleReadAspect.STALE_HEADER, "true"))
+        .andExpect(jsonPath("$[0].id").value(pet.getId()));
+
+    mvc.perform(get("/api/pets/user/" + uncached.getId()))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().exists("Retry-After"));
+    mvc.perform(post("/api/pets/" + pet.getId() + "/feed"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().exists("Retry-After"));
+    mvc.perform(get("/api/health")).andExpect(status().isOk());
+
+    assertThat(meterRegistry.get("pixelpets.db.breaker.state").gauge().value()).isEqualTo(1.0);
+    assertThat(meterRegistry.get("pixelpets.db.stale.served").counter().count()).isPositive();
+  }
+
+  @Test
+  void passwordWritesAreStillGuardedAfterHashing() {
+    openBreaker();
+
+    assertThatThrownBy(() -> newOwner()).isInstanceOf(DatabaseUnavailableException.class);
+    assertThatThrownBy(() -> userService.updateUser(1L, null, null, "password2"))
+        .isInstanceOf(DatabaseUnavailableException.class);
+  }
+
+  @Test
+  void batchWorkIsStillRejectedWhileTheBreakerIsOpen() {
+    openBreaker();
+    assertThatThrownBy(() -> petService.compactJournal(10)).isInstanceOf(DatabaseUnavailableException.class);
+  }
+
+  @Test
+  void readDriftDoesNotInvalidateTheReadersOwnCache() throws Exception {
+    User owner = newOwner();
+    Pet pet = petService.createPetForUser("Tofu", "dog", owner);
+    changeLogPoller.poll(); // deliver the create before caching
+    jdbc.update(
+        "UPDATE pets SET last_tick_at = TIMESTAMPADD(MINUTE, -30, last_tick_at) WHERE id = ?",
+        pet.getId());
+
+    mvc.perform(get("/api/pets/" + pet.getId())).andExpect(status().isOk()); // ticks and persists
+    Thread.sleep(1500); // past a scheduled change log poll
+    changeLogPoller.poll();
+
+    openBreaker();
+
+    mvc.perform(get("/api/pets/" + pet.getId()))
+        .andExpect(status().isOk())
+        .andExpect(header().string(StaleReadAspect.STALE_HEADER, "true"))
+        .andExpect(jsonPath("$.name").value("Tofu"));
+  }
+
+  @Test
+  void changeLogInvalidationDropsCachedState() {
+    PetStateCache cache = new PetStateCache(10);
+    User owner = new User();
+    owner.setId(7L);
+    Pet first = new Pet();
+    first.setId(1L);
+    first.setUser(owner);
+    Pet second = new Pet();
+    second.setId(2L);
+    second.setUser(owner);
+    Pet other = new Pet();
+    other.setId(3L);
+
+    cache.putOwner(7L, List.of(first, second));
+    cache.put(other);
+    assertThat(cache.getOwner(7L)).extracting(Pet::getId).containsExactly(1L, 2L);
+
+    cache.invalidate(ChangeLog.Entity.PET, Set.of(3L));
+    assertThat(cache.get(3L)).isNull();
+
+    cache.invalidate(ChangeLog.Entity.PET, Set.of(2L));
+    assertThat(cache.getOwner(7L)).isNull(); // incomplete list is not served
+    assertThat(cache.get(1L)).isNotNull();
+
+    cache.invalidate(ChangeLog.Entity.USER, Set.of(7L));
+    assertThat(cache.get(1L)).isNull();
+    assertThat(cache.size()).isZero();
+  }
+}
@@ -0,0 +1,142 @@
+package org.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.example.backend.model.Pet;
+import org.example.backend.model.Species;
+import org.example.backend.model.User;
+import org.example.backend.repository.PetRepository;
+import org.example.backend.tuning.DecayTuning;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AttentionPredictionTests {
+
+  private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private PetRepository petRepository;
+  @Autowired private JdbcTemplate jdbc;
+
+  private static Instant predict(Pet pet) {
+    return PetService.predictAttentionAt(pet, DecayTuning.defaults());
+  }
+
+  private static Pet pet(int fullness, int energy, int happiness) {
+    return pet(Species.CAT, fullness, energy, happiness);
+  }
+
+  private static Pet pet(Species species, int fullness, int energy, int happiness) {
+    Pet pet = new Pet("P", species);
+    pet.setFullness(fullness);
+    pet.setEnergy(energy);
+    pet.setHappiness(happiness);
+    pet.setLastTickAt(T0);
+    return pet;
+  }
+
+  @Test
+  void predictionMatchesTheDecayModel() {
+    // Fresh pet (80/80/80): fullness hits 30 after 250 min; happiness holds until fullness leaves
+    // the well-cared band (50 min) and then needs 1000 more minutes.
+    assertThat(predict(pet(80, 80, 80))).isEqualTo(T0.plus(Duration.ofMinutes(250)));
+
+    // Energy is the limiting stat: (40 - 30) / 0.10 = 100 min
+    assertThat(predict(pet(100, 40, 90))).isEqualTo(T0.plus(Duration.ofMinutes(100)));
+
+    // Happiness limits: (35 - 30) / 0.05 = 100 min, no well-cared hold (energy <= 70)
+    assertThat(predict(pet(100, 60, 35))).isEqualTo(T0.plus(Duration.ofMinutes(100)));
+
+    // Already low: needs attention now
+    assertThat(predict(pet(20, 80, 80))).isEqualTo(T0);
+  }
+
+  @Test
+  void predictionUsesEachSpeciesDecayProfile() {
+    // Dog: fullness (80 - 30) / 0.25 = 200 min
+    assertThat(predict(pet(Species.DOG, 80, 80, 80))).isEqualTo(T0.plus(Duration.ofMinutes(200)));
+
+    // Blob: fullness (80 - 30) / 0.10 = 500 min
+    assertThat(predict(pet(Species.BLOB, 80, 80, 80))).isEqualTo(T0.plus(Duration.ofMinutes(500)));
+
+    // Dragon: happiness still falls while well cared for (0.06 - 0.05 = 0.01/min):
+    // (31 - 30) / 0.01 = 100 min, before fullness leaves the band at 200 min
+    assertThat(predict(pet(Species.DRAGON, 100, 100, 31))).isEqualTo(T0.plus(Duration.ofMinutes(100)));
+  }
+
+  @Test
+  void speciesAreDictionaryEncoded() {
+    User user = userService.registerNewUser("attn-species", "attn-species@example.com", "password1");
+    Pet dragon = petService.createPetForUser("Ember", "DrAgOn", user);
+
+    assertThat(petRepository.findById(dragon.getId()).orElseThrow().getSpecies()).isEqualTo(Species.DRAGON);
+    assertThat(Species.fromId(Species.DRAGON.id())).isSameAs(Species.DRAGON);
+    assertThatThrownBy(() -> petService.createPetForUser("Slimy", "slime", user))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("Unknown pet type");
+  }
+
+  @Test
+  void rangeLookupFindsPetsAboutToGetLow() {
+    User user = userService.registerNewUser("attn-a", "attn-a@example.com", "password1");
+    Pet hungry = petService.createPetForUser("Soon", "cat", user);
+    Pet fed = petService.createPetForUser("Later", "cat", user);
+    petService.feedPet(fed.getId()); // 100 fullness: ~350 min away
+
+    Pet stored = petRepository.findById(hungry.getId()).orElseThrow();
+    stored.setFullness(40); // ~50 min away
+    petService.savePet(stored);
+
+    Instant now = Instant.now();
+    List<Pet> withinHour =
+        petService.getPetsNeedingAttentionForUser(user.getId(), now, now.plus(Duration.ofHours(1)));
+    assertThat(withinHour).extracting(Pet::getId).containsExactly(hungry.getId());
+
+    List<Pet> withinDay = petService.getPetsNeedingAttention(now, now.plus(Duration.ofDays(1)), 1000);
+    assertThat(withinDay).extracting(Pet::getId).contains(hungry.getId(), fed.getId());
+  }
+
+  @Test
+  void abandonedPetsAreLeftOutAndReadsDoNotPersistDrift() {
+    User user = userService.registerNewUser("attn-b", "attn-b@example.com", "password1");
+    Pet abandoned = petService.createPetForUser("Gone", "cat", user);
+    Pet hungry = petService.createPetForUser("Soon", "cat", user);
+    Instant now = Instant.now();
+
+    Timestamp lowSince = Timestamp.from(now.minus(Duration.ofDays(3)));
+    jdbc.update(
+        "UPDATE pets SET hunger = 10, last_tick_at = ?, attention_at = ? WHERE id = ?",
+        lowSince,
+        lowSince,
+        abandoned.getId());
+    Instant lastTick = petRepository.findById(abandoned.getId()).orElseThrow().getLastTickAt();
+    Pet stored = petRepository.findById(hungry.getId()).orElseThrow();
+    stored.setFullness(40);
+    petService.savePet(stored);
+
+    List<Pet> sinceYesterday =
+        petService.getPetsNeedingAttentionForUser(
+            user.getId(), now.minus(Duration.ofDays(1)), now.plus(Duration.ofHours(1)));
+    assertThat(sinceYesterday).extracting(Pet::getId).containsExactly(hungry.getId());
+
+    List<Pet> sinceLastWeek =
+        petService.getPetsNeedingAttentionForUser(
+            user.getId(), now.minus(Duration.ofDays(7)), now.plus(Duration.ofHours(1)));
+    assertThat(sinceLastWeek).extracting(Pet::getId).containsExactly(abandoned.getId(), hungry.getId());
+    assertThat(sinceLastWeek.get(0).getLastTickAt()).isAfter(lastTick); // ticked for the response
+    assertThat(petRepository.findById(abandoned.getId()).orElseThrow().getLastTickAt())
+        .isEqualTo(lastTick); // but not written back
+  }
+}
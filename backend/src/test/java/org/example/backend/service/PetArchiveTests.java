@@ -0,0 +1,88 @@
+package org.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/** Cold archive: dormant pets leave the hot table and come back on first access. */
+@SpringBootTest(properties = {"pixelpets.archive.enabled=true", "pixelpets.archive.interval=PT1H"})
+@ActiveProfiles("test")
+class PetArchiveTests {
+
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private PetArchiver petArchiver;
+  @Autowired private JdbcTemplate jdbc;
+  @Autowired private Clock clock;
+
+  /** Adopt a pet and pretend it was last ticked {@code idle} ago. */
+  private Pet dormantPet(String name, Duration idle) {
+    User user = userService.registerNewUser(name, name + "@example.com", "password1");
+    Pet pet = petService.createPetForUser(name + "-pet", "dog", user);
+    jdbc.update(
+        "UPDATE pets SET last_tick_at = ? WHERE id = ?",
+        Timestamp.from(clock.instant().minus(idle)),
+        pet.getId());
+    return pet;
+  }
+
+  private int count(String table, Pet pet) {
+    return jdbc.queryForObject(
+        "SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, pet.getId());
+  }
+
+  @Test
+  void dormantPetsAreArchivedAndRehydratedById() {
+    Pet dormant = dormantPet("archive-a", Duration.ofDays(120));
+    Pet recent = dormantPet("archive-b", Duration.ofDays(10));
+
+    petArchiver.archive();
+
+    assertThat(count("pets", dormant)).isZero();
+    assertThat(count("pets_archive", dormant)).isEqualTo(1);
+    assertThat(count("pets", recent)).isEqualTo(1);
+    assertThat(count("pets_archive", recent)).isZero();
+
+    // First access moves it back and applies the capped backdated decay
+    Pet rehydrated = petService.getPetById(dormant.getId());
+    assertThat(rehydrated).isNotNull();
+    assertThat(rehydrated.getName()).isEqualTo("archive-a-pet");
+    assertThat(rehydrated.getFullness()).isLessThan(80);
+    assertThat(rehydrated.getLastTickAt()).isAfter(clock.instant().minus(Duration.ofMinutes(1)));
+    assertThat(rehydrated.getAttentionAt()).isNotNull();
+    assertThat(count("pets", dormant)).isEqualTo(1);
+    assertThat(count("pets_archive", dormant)).isZero();
+  }
+
+  @Test
+  void ownerListingsActionsAndDeletesSeeArchivedPets() {
+    Pet listed = dormantPet("archive-c", Duration.ofDays(200));
+    Pet fed = dormantPet("archive-d", Duration.ofDays(200));
+    Pet deleted = dormantPet("archive-e", Duration.ofDays(200));
+    petArchiver.archive();
+    for (Pet pet : List.of(listed, fed, deleted)) {
+      assertThat(count("pets_archive", pet)).isEqualTo(1);
+    }
+
+    List<Pet> pets = petService.getPetsByUserId(listed.getUser().getId());
+    assertThat(pets).extracting(Pet::getId).containsExactly(listed.getId());
+
+    assertThat(petService.feedPet(fed.getId()).getId()).isEqualTo(fed.getId());
+    assertThat(count("pets", fed)).isEqualTo(1);
+
+    petService.deletePet(deleted.getId());
+    assertThat(count("pets_archive", deleted)).isZero();
+    assertThat(petService.getPetById(deleted.getId())).isNull();
+  }
+}
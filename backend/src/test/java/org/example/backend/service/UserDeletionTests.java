@@ -0,0 +1,47 @@
+package org.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserDeletionTests {
+
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private JdbcTemplate jdbc;
+
+  private int count(String sql, long id) {
+    return jdbc.queryForObject(sql, Integer.class, id);
+  }
+
+  @Test
+  void petsAreDeletedInTheUsersTransaction() {
+    User user = userService.registerNewUser("delete-a", "delete-a@example.com", "password1");
+    Pet pet = petService.createPetForUser("Pip", "cat", user);
+
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    tx.executeWithoutResult(
+        status -> {
+          userService.deleteUser(user.getId());
+          status.setRollbackOnly(); // e.g. a later step of the deletion failed
+        });
+
+    assertThat(count("SELECT COUNT(*) FROM users WHERE id = ?", user.getId())).isEqualTo(1);
+    assertThat(count("SELECT COUNT(*) FROM pets WHERE id = ?", pet.getId())).isEqualTo(1);
+
+    userService.deleteUser(user.getId());
+    assertThat(count("SELECT COUNT(*) FROM users WHERE id = ?", user.getId())).isZero();
+    assertThat(count("SELECT COUNT(*) FROM pets WHERE id = ?", pet.getId())).isZero();
+  }
+}
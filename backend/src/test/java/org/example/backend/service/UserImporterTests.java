@@ -0,0 +1,130 @@
+package org.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+import org.example.backend.model.Pet;
+import org.example.backend.model.Species;
+import org.example.backend.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** Bulk NDJSON import: validation, batching across chunks, and resuming from the checkpoint. */
+@SpringBootTest(
+    properties = {"pixelpets.import.batch-size=2", "pixelpets.import.admin-token=import-me"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserImporterTests {
+
+  @Autowired private UserImporter importer;
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private PasswordEncoder passwordEncoder;
+  @Autowired private MockMvc mvc;
+
+  private static BufferedReader lines(String... lines) {
+    return new BufferedReader(new StringReader(String.join("\n", lines) + "\n"));
+  }
+
+  private static String user(String name, String pets) {
+    return "{\"username\":\" " + name.toUpperCase() + "\",\"email\":\"" + name + "@example.com\","
+        + "\"password\":\"pw-" + name + "\",\"pets\":" + pets + "}";
+  }
+
+  @Test
+  void importsValidLinesAndReportsTheRest() throws Exception {
+    userService.registerNewUser("imp-taken", "imp-taken@example.com", "password1");
+
+    UserImporter.Report report =
+        importer.importNdjson(
+            "import-a",
+            lines(
+                user("imp-a1", "[{\"name\":\"Mochi\",\"type\":\"cat\",\"fullness\":65}]"),
+                "{not json",
+                user(
+                    "imp-a2",
+                    "[{\"name\":\"Rex\",\"type\":\"Dog\"},{\"name\":\"Ember\",\"type\":\"dragon\"}]"),
+                "",
+                user("imp-a1", "[]"), // repeated in the input
+                user("imp-taken", "[]"), // already registered
+                user("imp-a3", "[{\"name\":\"Nessie\",\"type\":\"kraken\"}]"), // unknown species
+                "{\"username\":\"imp-a4\",\"email\":\"imp-a4@example.com\"}")); // no password
+
+    assertThat(report.usersImported()).isEqualTo(2);
+    assertThat(report.petsImported()).isEqualTo(3);
+    assertThat(report.failed()).isEqualTo(5);
+    assertThat(report.errors())
+        .extracting(UserImporter.LineError::line)
+        .containsExactlyInAnyOrder(2L, 5L, 6L, 7L, 8L);
+    assertThat(report.total().lastLine()).isEqualTo(8);
+
+    User a1 = userService.findByUsername("imp-a1");
+    assertThat(a1.getEmail()).isEqualTo("imp-a1@example.com");
+    assertThat(passwordEncoder.matches("pw-imp-a1", a1.getPassword())).isTrue();
+    List<Pet> pets = petService.getPetsByUserId(a1.getId());
+    assertThat(pets).singleElement().satisfies(p -> {
+      assertThat(p.getName()).isEqualTo("Mochi");
+      assertThat(p.getSpecies()).isEqualTo(Species.CAT);
+      assertThat(p.getFullness()).isEqualTo(65);
+      assertThat(p.getAttentionAt()).isNotNull();
+    });
+    assertThat(petService.getPetsByUserId(userService.findByUsername("imp-a2").getId()))
+        .extracting(Pet::getSpecies)
+        .containsExactlyInAnyOrder(Species.DOG, Species.DRAGON);
+  }
+
+  @Test
+  void rerunningAJobResumesAfterItsCheckpoint() throws Exception {
+    String[] input = {
+      user("imp-b1", "[]"), user("imp-b2", "[]"), user("imp-b3", "[]"), user("imp-b4", "[]")
+    };
+    // First run is cut short after the first chunk (two lines)
+    importer.importNdjson("import-b", lines(input[0], input[1]));
+    assertThat(importer.checkpoint("import-b"))
+        .get()
+        .extracting(UserImporter.Checkpoint::lastLine)
+        .isEqualTo(2L);
+
+    UserImporter.Report resumed = importer.importNdjson("import-b", lines(input));
+
+    assertThat(resumed.skipped()).isEqualTo(2);
+    assertThat(resumed.usersImported()).isEqualTo(2);
+    assertThat(resumed.failed()).isZero(); // b1/b2 were not retried as duplicates
+    assertThat(resumed.total().usersImported()).isEqualTo(4);
+    assertThat(userService.findByUsername("imp-b4")).isNotNull();
+  }
+
+  @Test
+  void endpointImportsTheBodyBehindTheAdminToken() throws Exception {
+    String body = user("imp-c1", "[{\"name\":\"Blobby\",\"type\":\"blob\"}]") + "\n";
+
+    mvc.perform(post("/api/admin/import/users").content(body)).andExpect(status().isForbidden());
+    mvc.perform(
+            post("/api/admin/import/users")
+                .param("jobId", "import-c")
+                .header("X-Admin-Token", "import-me")
+                .content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.usersImported").value(1))
+        .andExpect(jsonPath("$.petsImported").value(1));
+    mvc.perform(get("/api/admin/import/import-c").header("X-Admin-Token", "import-me"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.lastLine").value(1));
+    mvc.perform(
+            post("/api/admin/import/users")
+                .param("file", "../etc/passwd")
+                .header("X-Admin-Token", "import-me"))
+        .andExpect(status().isBadRequest());
+  }
+}
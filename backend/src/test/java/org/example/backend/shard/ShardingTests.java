@@ -0,0 +1,246 @@
+package org.example.backend.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserImporter;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/** Two local in-memory H2 databases stand in for the pet shards. */
+@SpringBootTest(
+    properties = {
+      "pixelpets.sharding.enabled=true",
+      "pixelpets.sharding.ring=s1,s2",
+      "pixelpets.sharding.shards.s1.url=jdbc:h2:mem:pixel_pets_s1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+      "pixelpets.sharding.shards.s1.driver-class-name=org.h2.Driver",
+      "pixelpets.sharding.shards.s1.username=sa",
+      "pixelpets.sharding.shards.s1.id-offset=1000000",
+      "pixelpets.sharding.shards.s2.url=jdbc:h2:mem:pixel_pets_s2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+      "pixelpets.sharding.shards.s2.driver-class-name=org.h2.Driver",
+      "pixelpets.sharding.shards.s2.username=sa",
+      "pixelpets.sharding.shards.s2.id-offset=2000000"
+    })
+@ActiveProfiles("test")
+class ShardingTests {
+
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private ShardMap shardMap;
+  @Autowired private ShardDirectory shardDirectory;
+  @Autowired private ShardDataSources shardDataSources;
+  @Autowired private UserImporter userImporter;
+
+  private int countOn(String shard, String where, Object arg) {
+    return new JdbcTemplate(shardDataSources.get(shard))
+        .queryForObject("SELECT COUNT(*) FROM pets WHERE " + where, Integer.class, arg);
+  }
+
+  private List<Pet> adoptOnePetEach(String prefix, int owners) {
+    List<Pet> pets = new ArrayList<>();
+    for (int i = 0; i < owners; i++) {
+      User user = userService.registerNewUser(prefix + i, prefix + i + "@example.com", "password1");
+      pets.add(petService.createPetForUser("Pet" + i, "cat", user));
+    }
+    return pets;
+  }
+
+  @Test
+  void ownerKeyedAccessHitsOnlyTheOwnersShard() {
+    List<Pet> pets = adoptOnePetEach("shard-a", 12);
+
+    for (Pet pet : pets) {
+      long ownerId = pet.getUser().getId();
+      String home = shardMap.shardFor(ownerId);
+      String other = home.equals("s1") ? "s2" : "s1";
+
+      assertThat(countOn(home, "id = ?", pet.getId())).isEqualTo(1);
+      assertThat(countOn(other, "id = ?", pet.getId())).isZero();
+      assertThat(pet.getId()).isGreaterThanOrEqualTo(home.equals("s1") ? 1_000_000L : 2_000_000L);
+
+      assertThat(petService.getPetsByUserId(ownerId)).extracting(Pet::getId).containsExactly(pet.getId());
+      assertThat(userService.getDashboard(ownerId).pets()).extracting(Pet::getId).containsExactly(pet.getId());
+      assertThat(petService.feedPet(pet.getId()).getId()).isEqualTo(pet.getId());
+      assertThat(petService.getPetById(pet.getId())).isNotNull();
+    }
+
+    assertThat(petService.getAllPets()).extracting(Pet::getId).containsAll(pets.stream().map(Pet::getId).toList());
+  }
+
+  @Test
+  void importedPetsLandOnTheirOwnersShard() throws Exception {
+    StringBuilder input = new StringBuilder();
+    for (int i = 0; i < 6; i++) {
+      input.append("{\"username\":\"shard-imp").append(i).append("\",\"email\":\"shard-imp").append(i)
+          .append("@example.com\",\"password\":\"pw\",\"pets\":[{\"name\":\"Imp\",\"type\":\"bunny\"}]}\n");
+    }
+    assertThat(userImporter.importNdjson("shard-import", new BufferedReader(new StringReader(input.toString())))
+            .petsImported())
+        .isEqualTo(6);
+
+    for (int i = 0; i < 6; i++) {
+      long ownerId = userService.findByUsername("shard-imp" + i).getId();
+      String home = shardMap.shardFor(ownerId);
+      assertThat(countOn(home, "user_id = ?", ownerId)).isEqualTo(1);
+      Pet pet = petService.getPetsByUserId(ownerId).get(0);
+      assertThat(shardDirectory.ownerOfPet(pet.getId())).isEqualTo(ownerId);
+      assertThat(petService.feedPet(pet.getId()).getId()).isEqualTo(pet.getId());
+    }
+  }
+
+  @Test
+  void resumedImportWritesShardPetsLeftOverFromACommittedChunk() throws Exception {
+    String input =
+        "{\"username\":\"shard-res\",\"email\":\"shard-res@example.com\",\"password\":\"pw\","
+            + "\"pets\":[{\"name\":\"Res\",\"type\":\"cat\"},{\"name\":\"Ume\",\"type\":\"dog\"}]}\n";
+    userImporter.importNdjson("shard-resume", new BufferedReader(new StringReader(input)));
+    long ownerId = userService.findByUsername("shard-res").getId();
+    String home = shardMap.shardFor(ownerId);
+    List<Long> ids =
+        new JdbcTemplate(shardDataSources.get(home))
+            .queryForList("SELECT id FROM pets WHERE user_id = ? ORDER BY id", Long.class, ownerId);
+
+    // Stopped after the chunk committed, before its pets reached the shard
+    new JdbcTemplate(shardDataSources.get(home)).update("DELETE FROM pets WHERE id = ?", ids.get(1));
+    primary().update(
+        "INSERT INTO import_pending_pets (job_id, line, user_id, shard, first_pet_id) VALUES (?, 1, ?, ?, ?)",
+        "shard-resume", ownerId, home, ids.get(0));
+    userImporter.importNdjson("shard-resume", new BufferedReader(new StringReader(input)));
+
+    assertThat(petService.getPetsByUserId(ownerId)).extracting(Pet::getId).containsExactlyElementsOf(ids);
+    assertThat(shardDirectory.ownerOfPet(ids.get(1))).isEqualTo(ownerId);
+    assertThat(primary().queryForObject("SELECT COUNT(*) FROM import_pending_pets", Integer.class)).isZero();
+  }
+
+  @Test
+  void petMissingFromTheDirectoryIsFoundAndBackfilled() {
+    User owner = userService.registerNewUser("shard-f", "shard-f@example.com", "password1");
+    shardDirectory.place(owner.getId(), "s2");
+    // Committed on the shard, but the directory write after it never happened
+    new JdbcTemplate(shardDataSources.get("s2")).update(
+        "INSERT INTO pets (id, name, species_id, level, hunger, happiness, energy, last_tick_at, journal_seq, user_id)"
+            + " VALUES (2500000, 'Orphan', 1, 1, 80, 80, 80, CURRENT_TIMESTAMP, 0, ?)",
+        owner.getId());
+
+    assertThat(petService.getPetById(2_500_000L).getName()).isEqualTo("Orphan");
+    assertThat(primary().queryForObject("SELECT user_id FROM pet_owners WHERE pet_id = 2500000", Long.class))
+        .isEqualTo(owner.getId());
+  }
+
+  @Test
+  void rebalancerMovesOwnersToTheirNewShard() {
+    List<Pet> pets = adoptOnePetEach("shard-b", 8);
+
+    // Shrink the ring to s2 only: every owner on s1 has to move
+    rebalancer(List.of("s2"), Duration.ZERO).rebalance();
+
+    for (Pet pet : pets) {
+      long ownerId = pet.getUser().getId();
+      assertThat(countOn("s1", "user_id = ?", ownerId)).isZero();
+      assertThat(countOn("s2", "user_id = ?", ownerId)).isEqualTo(1);
+
+      assertThat(petService.getPetsByUserId(ownerId)).extracting(Pet::getId).containsExactly(pet.getId());
+      assertThat(shardDirectory.ownerOfPet(pet.getId())).isEqualTo(ownerId);
+      assertThat(petService.feedPet(pet.getId()).getId()).isEqualTo(pet.getId());
+    }
+  }
+
+  @Test
+  void movedPetsDoNotPushTheTargetsIdsIntoAnotherRange() {
+    User owner = userService.registerNewUser("shard-c", "shard-c@example.com", "password1");
+    shardDirectory.place(owner.getId(), "s2");
+    Pet high = petService.createPetForUser("High", "dog", owner);
+
+    assertThat(new ShardRebalancer(shardDataSources, shardDirectory, shardMap).moveUser(owner.getId(), "s2", "s1"))
+        .isEqualTo(1);
+    assertThat(petService.getPetsByUserId(owner.getId())).extracting(Pet::getId).containsExactly(high.getId());
+
+    // s1 keeps allocating below s2's range, so later creates on either shard cannot collide
+    User neighbour = userService.registerNewUser("shard-c2", "shard-c2@example.com", "password1");
+    shardDirectory.place(neighbour.getId(), "s1");
+    assertThat(petService.createPetForUser("Low", "cat", neighbour).getId()).isBetween(1_000_000L, 1_999_999L);
+  }
+
+  @Test
+  void rerunOfAnInterruptedMoveConverges() {
+    User owner = userService.registerNewUser("shard-e", "shard-e@example.com", "password1");
+    shardDirectory.place(owner.getId(), "s1");
+    Pet pet = petService.createPetForUser("Fresh", "cat", owner);
+
+    // An earlier attempt copied a stale version to s2 and died before the source delete
+    new JdbcTemplate(shardDataSources.get("s2")).update(
+        "INSERT INTO pets (id, name, species_id, level, hunger, happiness, energy, last_tick_at, journal_seq, user_id)"
+            + " VALUES (?, 'Stale', 1, 1, 80, 80, 80, CURRENT_TIMESTAMP, 0, ?)",
+        pet.getId(), owner.getId());
+
+    ShardRebalancer rebalancer = new ShardRebalancer(shardDataSources, shardDirectory, shardMap);
+    assertThat(rebalancer.moveUser(owner.getId(), "s1", "s2")).isEqualTo(1);
+    assertThat(rebalancer.moveUser(owner.getId(), "s1", "s2")).isZero();
+
+    assertThat(countOn("s1", "user_id = ?", owner.getId())).isZero();
+    assertThat(countOn("s2", "user_id = ?", owner.getId())).isEqualTo(1);
+    assertThat(petService.getPetsByUserId(owner.getId())).extracting(Pet::getName).containsExactly("Fresh");
+  }
+
+  @Test
+  void unclaimedLegacyOwnerStaysOnThePrimary() {
+    User owner = userService.registerNewUser("shard-legacy", "shard-legacy@example.com", "password1");
+    primary().update(
+        "INSERT INTO pets (id, name, species_id, level, hunger, happiness, energy, last_tick_at, journal_seq, user_id)"
+            + " VALUES (900000, 'Old', 1, 1, 80, 80, 80, CURRENT_TIMESTAMP, 0, ?)",
+        owner.getId());
+
+    assertThat(petService.getPetsByUserId(owner.getId())).extracting(Pet::getName).containsExactly("Old");
+    petService.createPetForUser("New", "cat", owner);
+
+    assertThat(primary().queryForObject("SELECT shard FROM user_shards WHERE user_id = ?", String.class, owner.getId()))
+        .isEqualTo(ShardContext.PRIMARY);
+    assertThat(petService.getPetsByUserId(owner.getId())).extracting(Pet::getName).containsExactlyInAnyOrder("Old", "New");
+  }
+
+  @Test
+  void createOnTheOldShardDuringAMoveIsSwept() throws Exception {
+    User owner = null;
+    for (int i = 0; owner == null || !shardMap.shardFor(owner.getId()).equals("s1"); i++) {
+      owner = userService.registerNewUser("shard-d" + i, "shard-d" + i + "@example.com", "password1");
+    }
+    long ownerId = owner.getId();
+    petService.createPetForUser("Before", "cat", owner);
+
+    CompletableFuture<Integer> rebalance =
+        CompletableFuture.supplyAsync(() -> rebalancer(List.of("s2"), Duration.ofSeconds(2)).rebalance());
+    while (!"s2".equals(primary().queryForObject("SELECT shard FROM user_shards WHERE user_id = ?", String.class, ownerId))) {
+      Thread.sleep(5);
+    }
+    // An instance with a stale placement cache still creates on s1 after the move
+    new JdbcTemplate(shardDataSources.get("s1")).update(
+        "INSERT INTO pets (id, name, species_id, level, hunger, happiness, energy, last_tick_at, journal_seq, user_id)"
+            + " VALUES (1500000, 'Late', 1, 1, 80, 80, 80, CURRENT_TIMESTAMP, 0, ?)",
+        ownerId);
+    rebalance.get(30, TimeUnit.SECONDS);
+
+    assertThat(countOn("s1", "user_id = ?", ownerId)).isZero();
+    assertThat(petService.getPetsByUserId(ownerId)).extracting(Pet::getName).containsExactlyInAnyOrder("Before", "Late");
+  }
+
+  private ShardRebalancer rebalancer(List<String> ring, Duration fenceDelay) {
+    return new ShardRebalancer(shardDataSources, shardDirectory, new ShardMap(ring, 128), fenceDelay);
+  }
+
+  private JdbcTemplate primary() {
+    return new JdbcTemplate(shardDataSources.primary());
+  }
+}
@@ -0,0 +1,74 @@
+package org.example.backend.simulation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.example.backend.model.Pet;
+import org.example.backend.model.Species;
+import org.example.backend.model.User;
+import org.example.backend.repository.PetRepository;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+    properties = {
+      "pixelpets.simulation.enabled=true",
+      "pixelpets.simulation.pets=12",
+      "pixelpets.simulation.pets-per-owner=4",
+      "pixelpets.simulation.duration=P2D",
+      "pixelpets.simulation.step=PT30M",
+      "pixelpets.simulation.check-in-probability=0.5"
+    })
+@ActiveProfiles("test")
+class DecaySimulationTests {
+
+  @Autowired private Clock clock;
+  @Autowired private SimulatedClock simulatedClock;
+  @Autowired private DecaySimulation simulation;
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private PetRepository petRepository;
+
+  @Test
+  void petModelRunsOnTheInjectedClock() {
+    assertThat(clock).isSameAs(simulatedClock);
+
+    User user = userService.registerNewUser("sim-clock", "sim-clock@example.com", "password1");
+    Pet created = petService.createPetForUser("Tock", "cat", user);
+    assertThat(created.getLastTickAt()).isEqualTo(simulatedClock.instant());
+
+    // Entity listener stamps new rows from the same clock
+    Pet raw = new Pet("Raw", Species.CAT);
+    raw.setUser(user);
+    assertThat(petRepository.save(raw).getLastTickAt()).isEqualTo(simulatedClock.instant());
+
+    // Three simulated hours of decay: fullness 80 - 0.2 * 180 = 44
+    Instant later = simulatedClock.advance(Duration.ofHours(3));
+    Pet ticked = petService.getPetById(created.getId());
+    assertThat(ticked.getLastTickAt()).isEqualTo(later);
+    assertThat(ticked.getFullness()).isEqualTo(44);
+  }
+
+  @Test
+  void runReportsWritesOverSimulatedDays() {
+    Instant before = simulatedClock.instant();
+    long petsBefore = petRepository.count();
+
+    DecaySimulation.Report report = simulation.run();
+
+    assertThat(report.rounds()).isEqualTo(96); // 2 days / 30 min
+    assertThat(report.simulated()).isEqualTo(Duration.ofDays(2));
+    assertThat(simulatedClock.instant()).isEqualTo(before.plus(Duration.ofDays(2)));
+    assertThat(report.reads()).isPositive();
+    assertThat(report.actions()).isPositive(); // pets got low and were cared for
+    assertThat(report.petUpdates()).isPositive();
+    assertThat(report.updatesPerPetDay()).isPositive();
+    assertThat(petRepository.count()).isEqualTo(petsBefore); // seeded pets cleaned up
+  }
+}
@@ -0,0 +1,107 @@
+package org.example.backend.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.example.backend.model.Pet;
+import org.example.backend.model.User;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "pixelpets.server-timing.admin-token=" + ServerTimingTests.TOKEN)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ServerTimingTests {
+
+  static final String TOKEN = "timing-token";
+
+  private static final Pattern METRIC =
+      Pattern.compile("(\\w+);(?:desc=\"[^\"]*\";)?dur=([0-9.]+)");
+
+  @Autowired private MockMvc mvc;
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+
+  private static Map<String, Double> parse(String header) {
+    Map<String, Double> metrics = new LinkedHashMap<>();
+    Matcher m = METRIC.matcher(header);
+    while (m.find()) {
+      metrics.put(m.group(1), Double.parseDouble(m.group(2)));
+    }
+    return metrics;
+  }
+
+  @Test
+  void requestedTimingsBreakDownAPetAction() throws Exception {
+    User owner = userService.registerNewUser("timing-a", "timing-a@example.com", "password1");
+    Pet pet = petService.createPetForUser("Tempo", "cat", owner);
+
+    String header =
+        mvc.perform(
+                post("/api/pets/" + pet.getId() + "/feed")
+                    .header("X-Server-Timing", "1")
+                    .header("X-Admin-Token", TOKEN))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(pet.getId()))
+            .andReturn()
+            .getResponse()
+            .getHeader("Server-Timing");
+
+    Map<String, Double> metrics = parse(header);
+    assertThat(metrics).containsOnlyKeys("svc", "repo", "flush", "total");
+    assertThat(metrics.get("repo")).isPositive();
+    assertThat(metrics.get("flush")).isPositive();
+    assertThat(metrics.get("svc")).isPositive();
+    double phases = metrics.get("svc") + metrics.get("repo") + metrics.get("flush");
+    assertThat(phases).isLessThanOrEqualTo(metrics.get("total") + 0.01);
+  }
+
+  @Test
+  void untimedRequestsGetNoHeader() throws Exception {
+    User owner = userService.registerNewUser("timing-b", "timing-b@example.com", "password1");
+
+    mvc.perform(get("/api/users/" + owner.getId()))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("Server-Timing"));
+    assertThat(ServerTiming.current()).isNull();
+  }
+
+  @Test
+  void timingsNeedTheAdminToken() throws Exception {
+    User owner = userService.registerNewUser("timing-c", "timing-c@example.com", "password1");
+
+    mvc.perform(get("/api/users/" + owner.getId()).header("X-Server-Timing", "1"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("Server-Timing"));
+    mvc.perform(
+            get("/api/users/" + owner.getId())
+                .header("X-Server-Timing", "1")
+                .header("X-Admin-Token", "guess"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("Server-Timing"));
+  }
+
+  @Test
+  void errorResponsesAreTimedToo() throws Exception {
+    mvc.perform(
+            get("/api/users/999999999")
+                .header("X-Server-Timing", "1")
+                .header("X-Admin-Token", TOKEN))
+        .andExpect(status().isNotFound())
+        .andExpect(header().exists("Server-Timing"));
+  }
+}
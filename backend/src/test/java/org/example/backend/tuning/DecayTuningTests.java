@@ -0,0 +1,155 @@
+package org.example.backend.tuning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Map;
+import org.example.backend.model.Pet;
+import org.example.backend.model.Species;
+import org.example.backend.model.User;
+import org.example.backend.service.AttentionRepredictor;
+import org.example.backend.service.PetService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "pixelpets.tuning.admin-token=let-me-in")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DecayTuningTests {
+
+  private static final Path TUNING_FILE;
+
+  static {
+    try {
+      TUNING_FILE = Files.createTempDirectory("decay-tuning").resolve("decay-tuning.properties");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @DynamicPropertySource
+  static void tuningFile(DynamicPropertyRegistry registry) {
+    registry.add("pixelpets.tuning.file", TUNING_FILE::toString);
+  }
+
+  @Autowired private MockMvc mvc;
+  @Autowired private DecayTuningRegistry registry;
+  @Autowired private UserService userService;
+  @Autowired private PetService petService;
+  @Autowired private AttentionRepredictor repredictor;
+  @Autowired private JdbcTemplate jdbc;
+
+  private MockHttpServletResponse putTuning(String token, String body) throws Exception {
+    var request = put("/api/admin/decay-tuning").contentType(MediaType.APPLICATION_JSON).content(body);
+    if (token != null) request.header("X-Admin-Token", token);
+    return mvc.perform(request).andReturn().getResponse();
+  }
+
+  @Test
+  void invalidOverridesKeepTheActiveSnapshot() {
+    DecayTuning before = registry.apply(Map.of("dog.energy-decay-per-min", "0.2"), "test");
+
+    assertThatThrownBy(() -> registry.apply(Map.of("dog.energy-decay-per-min", "-1"), "test"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> registry.apply(Map.of("dog.wag-rate", "1"), "test"))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(registry.current()).isSameAs(before);
+    assertThat(before.profile(Species.DOG).energyDecayPerMin()).isEqualTo(0.2);
+    assertThat(before.profile(Species.CAT).energyDecayPerMin()).isEqualTo(0.10); // default kept
+  }
+
+  @Test
+  void adminEndpointSwapsTheSnapshotUsedByTicks() throws Exception {
+    assertThat(putTuning(null, "{}").getStatus()).isEqualTo(403);
+    assertThat(putTuning("wrong", "{}").getStatus()).isEqualTo(403);
+    assertThat(putTuning("let-me-in", "{\"cat.nap-rate\": 1}").getStatus()).isEqualTo(400);
+
+    long before = registry.current().version();
+    MockHttpServletResponse ok = putTuning("let-me-in", "{\"cat.fullness-decay-per-min\": 0.5}");
+    assertThat(ok.getStatus()).isEqualTo(200);
+    assertThat(registry.current().version()).isEqualTo(before + 1);
+    assertThat(registry.current().source()).isEqualTo("admin");
+
+    String shown = mvc.perform(get("/api/admin/decay-tuning")).andReturn().getResponse().getContentAsString();
+    assertThat(shown).contains("\"version\":" + (before + 1)).contains("\"cat.fullness-decay-per-min\":0.5");
+
+    // New pets are predicted with the new rate: (80 - 30) / 0.5 = 100 min
+    User user = userService.registerNewUser("tuning-a", "tuning-a@example.com", "password1");
+    Pet pet = petService.createPetForUser("Quick", "cat", user);
+    assertThat(pet.getAttentionAt()).isEqualTo(pet.getLastTickAt().plus(Duration.ofMinutes(100)));
+
+    putTuning("let-me-in", "{}"); // back to defaults
+    assertThat(registry.current().profile(Species.CAT).fullnessDecayPerMin()).isEqualTo(0.20);
+  }
+
+  @Test
+  void storedPredictionsAreRecomputedAfterATuningChange() {
+    User user = userService.registerNewUser("tuning-b", "tuning-b@example.com", "password1");
+    Pet pet = petService.createPetForUser("Steady", "cat", user);
+    // Defaults: (80 - 30) / 0.20 = 250 min
+    assertThat(storedAttentionIn(pet)).isEqualTo(Duration.ofMinutes(250));
+
+    registry.apply(Map.of("cat.fullness-decay-per-min", "0.5"), "test");
+    try {
+      assertThat(storedAttentionIn(pet)).isEqualTo(Duration.ofMinutes(250));
+      assertThat(repredictor.repredict()).isPositive();
+      assertThat(storedAttentionIn(pet)).isEqualTo(Duration.ofMinutes(100));
+      assertThat(repredictor.repredict()).isZero(); // already current
+    } finally {
+      registry.apply(Map.of(), "test");
+    }
+  }
+
+  /** Stored prediction, relative to the stored last tick. */
+  private Duration storedAttentionIn(Pet pet) {
+    Map<String, Object> row =
+        jdbc.queryForMap("SELECT last_tick_at, attention_at FROM pets WHERE id = ?", pet.getId());
+    return Duration.between(
+        ((Timestamp) row.get("last_tick_at")).toInstant(),
+        ((Timestamp) row.get("attention_at")).toInstant());
+  }
+
+  @Test
+  void watchedFileChangesAreApplied() throws Exception {
+    Files.writeString(TUNING_FILE, "blob.max-backdated-minutes=60\n");
+    awaitBlobCap(60);
+
+    // A broken file is ignored and the previous snapshot stays active
+    Files.writeString(TUNING_FILE, "blob.max-backdated-minutes=soon\n");
+    Thread.sleep(1_000);
+    assertThat(registry.current().profile(Species.BLOB).maxBackdatedMinutes()).isEqualTo(60);
+
+    Files.delete(TUNING_FILE); // no file = defaults
+    awaitBlobCap(Species.BLOB.maxBackdatedMinutes());
+    assertThat(registry.current().source()).startsWith("file:");
+  }
+
+  /** File watching is asynchronous (and polled on some platforms): wait up to 15 s. */
+  private void awaitBlobCap(long expected) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+    while (registry.current().profile(Species.BLOB).maxBackdatedMinutes() != expected
+        && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+    }
+    assertThat(registry.current().profile(Species.BLOB).maxBackdatedMinutes()).isEqualTo(expected);
+  }
+}
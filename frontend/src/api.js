@@ -90,6 +90,22 @@ export async function getUserProfile(userId) {
   return request(`/api/users/${userId}`);
 }
 
+/**
+ * GET /api/users/:userId/dashboard
+ * Fetch a user's profile and pets in one request (DTO: { user, pets }).
+ */
+export async function getDashboard(userId) {
+  return request(`/api/users/${userId}/dashboard`);
+}
+
+/**
+ * GET /api/users/:userId/activity
+ * Recent pet actions for a user, newest first ([{ petId, petName, action, occurredAt }]).
+ */
+export async function getActivity(userId) {
+  return request(`/api/users/${userId}/activity`);
+}
+
 /**
  * PUT /api/users/:id
  * Accepts a partial update object, e.g. { username, email } or { password }.
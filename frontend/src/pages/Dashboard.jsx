@@ -1,13 +1,13 @@
 // src/pages/Dashboard.jsx
 // Player dashboard:
-// - Loads current user's profile + pets
+// - Loads current user's profile + pets, and their recent pet actions
 // - Lets users adopt new pets and navigate to pet profiles
 // - Shows inline empty state, loading state, and toast notices
 
 import { useEffect, useState, useRef } from 'react';
 import { useNavigate, Link } from 'react-router-dom';
 
-import { getPetsByUser, getUserProfile } from '../api';
+import { getDashboard, getActivity } from '../api';
 import AppLayout from '../components/AppLayout';
 import PetSprite from '../components/PetSprite';
 import AdoptForm from '../components/AdoptForm';
@@ -18,6 +18,13 @@ import { useNotice } from '../hooks/useNotice';
 import { getStoredUserId, clearStoredUserId } from '../utils/auth';
 import { Brand } from '../utils/brandText';
 
+// How each pet action reads in the activity list ("Mochi was fed")
+const ACTIVITY_LABELS = {
+  FEED: 'was fed',
+  PLAY: 'played',
+  REST: 'took a nap',
+};
+
 export default function Dashboard() {
   const navigate = useNavigate();
   const { notify } = useNotice();
@@ -26,14 +33,14 @@ export default function Dashboard() {
 
   const [pets, setPets] = useState([]);
   const [userProfile, setUserProfile] = useState(null); // { id, username, email }
+  const [activity, setActivity] = useState([]); // [{ petId, petName, action, occurredAt }]
   const [loading, setLoading] = useState(true);
 
   // Highlight + scroll to Adopt panel when empty state button is clicked
   const adoptPanelRef = useRef(null);
   const [adoptHighlight, setAdoptHighlight] = useState(false);
 
-  // Load profile + pets when the page mounts / user changes
-  // Load profile + pets when the page mounts / user changes
+  // Load profile + pets (one request) when the page mounts / user changes
   useEffect(() => {
     if (userId == null) {
       navigate('/login');
@@ -43,27 +50,23 @@ export default function Dashboard() {
     let isActive = true;
 
     (async () => {
-      const [profileRes, petsRes] = await Promise.all([
-        getUserProfile(Number(userId)),
-        getPetsByUser(userId),
+      const [res, activityRes] = await Promise.all([
+        getDashboard(Number(userId)),
+        getActivity(Number(userId)),
       ]);
 
       if (!isActive) return;
 
-      // Profile
-      if (!profileRes.ok) {
+      // Activity is a nice-to-have: on failure the panel just shows its empty state
+      setActivity(activityRes.ok && Array.isArray(activityRes.data) ? activityRes.data : []);
+
+      if (!res.ok) {
         // Short, fun toast
         notify.error(Brand.toasts.profileLoadFailed);
-      } else {
-        setUserProfile(profileRes.data || null);
-      }
-
-      // Pets
-      if (!petsRes.ok) {
-        notify.error(Brand.toasts.petsLoadFailed);
         setPets([]); // always keep an array
       } else {
-        const list = Array.isArray(petsRes.data) ? petsRes.data : [];
+        setUserProfile(res.data?.user || null);
+        const list = Array.isArray(res.data?.pets) ? res.data.pets : [];
         setPets(list);
       }
 
@@ -162,6 +165,32 @@ export default function Dashboard() {
         </div>
       </section>
 
+      {/* Recent activity panel (the feed is written asynchronously, so it may lag a moment) */}
+      <section className="panel panel--full">
+        <header className="panel__header">
+          <h2 className="panel__title">Recent Activity</h2>
+        </header>
+
+        <div className="panel__body">
+          {activity.length === 0 ? (
+            <p>{Brand.emptyStates.activity}</p>
+          ) : (
+            <ul className="u-stack-sm">
+              {activity.map((entry, i) => (
+                <li key={`${entry.petId}-${entry.occurredAt}-${i}`}>
+                  <Link to={`/pets/${entry.petId}`}>{entry.petName}</Link>{' '}
+                  {ACTIVITY_LABELS[entry.action] || entry.action}
+                  {' · '}
+                  <time dateTime={entry.occurredAt}>
+                    {new Date(entry.occurredAt).toLocaleString()}
+                  </time>
+                </li>
+              ))}
+            </ul>
+          )}
+        </div>
+      </section>
+
       {/* Pets grid panel */}
       <section className="panel panel--full">
         <header className="panel__header">
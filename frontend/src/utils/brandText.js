@@ -193,6 +193,7 @@ export const Brand = {
   // Empty-state filler text
   emptyStates: {
     pets: 'No pets yet. Adopt your first pixel pal!',
+    activity: 'Nothing yet. Feed, play or rest with a pet and it shows up here.',
   },
 
   // Small helper hints / tips